@@ -10,8 +10,16 @@ SET NAMES utf8mb4;
 SET FOREIGN_KEY_CHECKS = 0;
 
 -- Drop tables in order of dependency
+DROP TABLE IF EXISTS change_versions;
+DROP TABLE IF EXISTS booking_departures;
+DROP TABLE IF EXISTS booking_events;
+DROP TABLE IF EXISTS rollup_dirty_days;
+DROP TABLE IF EXISTS daily_service_rollup;
+DROP TABLE IF EXISTS daily_booking_rollup;
 DROP TABLE IF EXISTS booking_details;
 DROP TABLE IF EXISTS bookings;
+DROP TABLE IF EXISTS staff_roster;
+DROP TABLE IF EXISTS schedule_overrides;
 DROP TABLE IF EXISTS staff_schedule;
 DROP TABLE IF EXISTS shift_types;
 DROP TABLE IF EXISTS pets;
@@ -90,6 +98,35 @@ CREATE TABLE staff_schedule (
     UNIQUE KEY unique_schedule (staff_id, day_of_week, shift_type_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Bảng Schedule Overrides: Nghỉ phép / tăng ca cho một ngày cụ thể
+CREATE TABLE schedule_overrides (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    staff_id BIGINT NOT NULL,
+    shift_type_id INT,            -- NULL + LEAVE = nghỉ cả ngày
+    work_date DATE NOT NULL,
+    type VARCHAR(20) NOT NULL,    -- 'LEAVE', 'EXTRA_SHIFT'
+    note TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (staff_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (shift_type_id) REFERENCES shift_types(id) ON DELETE CASCADE,
+    KEY idx_override_staff_date (staff_id, work_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Bảng Staff Roster: Lịch làm việc theo ngày, sinh ra từ staff_schedule + schedule_overrides
+CREATE TABLE staff_roster (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    staff_id BIGINT NOT NULL,
+    shift_type_id INT NOT NULL,
+    work_date DATE NOT NULL,
+    start_time TIME NOT NULL,     -- Sao chép từ shift_types để tra cứu nhanh
+    end_time TIME NOT NULL,
+    source VARCHAR(20) NOT NULL,  -- 'TEMPLATE', 'OVERRIDE'
+    FOREIGN KEY (staff_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (shift_type_id) REFERENCES shift_types(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_roster (staff_id, work_date, shift_type_id),
+    KEY idx_roster_date_staff (work_date, staff_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- Bảng Bookings
 CREATE TABLE bookings (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -104,7 +141,9 @@ CREATE TABLE bookings (
     
     total_price DECIMAL(10, 2) DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    change_stamp BIGINT NOT NULL DEFAULT 0, -- Version của lần thay đổi cuối (đồng bộ theo delta)
     
+    INDEX idx_booking_date_stamp (booking_date, change_stamp),
     FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE,
     FOREIGN KEY (pet_id) REFERENCES pets(id) ON DELETE CASCADE,
     FOREIGN KEY (staff_id) REFERENCES users(id) ON DELETE SET NULL
@@ -121,6 +160,72 @@ CREATE TABLE booking_details (
     FOREIGN KEY (service_id) REFERENCES services(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Bảng Rollup: Số liệu tổng hợp theo ngày cho báo cáo (do RollupJob cập nhật)
+CREATE TABLE daily_booking_rollup (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    rollup_date DATE NOT NULL,
+    staff_id BIGINT,               -- NULL = chưa phân công
+    species VARCHAR(50) NOT NULL,  -- '' nếu không rõ
+    status VARCHAR(20) NOT NULL,
+    booking_count BIGINT NOT NULL,
+    revenue DECIMAL(14, 2) NOT NULL,
+    KEY idx_booking_rollup_date (rollup_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE daily_service_rollup (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    rollup_date DATE NOT NULL,
+    service_id BIGINT NOT NULL,
+    species VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    line_count BIGINT NOT NULL,
+    revenue DECIMAL(14, 2) NOT NULL,
+    KEY idx_service_rollup_date (rollup_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Ngày có thay đổi booking, chờ RollupJob tính lại
+CREATE TABLE rollup_dirty_days (
+    rollup_date DATE PRIMARY KEY,
+    marked_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Bảng Booking Events: NHẬT KÝ THAY ĐỔI LỊCH HẸN (chỉ thêm, không sửa/xóa)
+-- id là vị trí trong nhật ký; không dùng khóa ngoại để giữ lịch sử khi lịch hẹn bị xóa
+CREATE TABLE booking_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    booking_id BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL, -- 'CREATED', 'STATUS_CHANGED', 'CANCELLED', 'RESCHEDULED'
+    from_status VARCHAR(20),
+    to_status VARCHAR(20),
+    from_staff_id BIGINT,
+    to_staff_id BIGINT,
+    booking_date DATE,
+    booking_time TIME,
+    detail TEXT, -- Lý do hủy hoặc mô tả thay đổi
+    actor_id BIGINT, -- Người thực hiện (NULL nếu do hệ thống)
+    occurred_at TIMESTAMP NOT NULL,
+    INDEX idx_event_booking (booking_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Bảng Change Versions: Bộ đếm thay đổi theo vùng dữ liệu, dùng chung giữa các máy
+-- Mỗi lần ghi tăng version; các máy khác thấy version đổi thì xóa cache của vùng đó
+CREATE TABLE change_versions (
+    region VARCHAR(30) PRIMARY KEY, -- 'BOOKINGS', 'CUSTOMERS', 'PETS', 'SERVICES', 'USERS', 'SCHEDULES'
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Bảng Booking Departures: Lịch hẹn rời khỏi một ngày / nhân viên (đổi lịch hoặc bị xóa)
+-- Dùng cho đồng bộ delta của màn hình theo ngày; dữ liệu cũ được xóa hằng đêm
+CREATE TABLE booking_departures (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    booking_id BIGINT NOT NULL,
+    from_date DATE NOT NULL,
+    from_staff_id BIGINT,
+    change_stamp BIGINT NOT NULL,
+    INDEX idx_departure_date_stamp (from_date, change_stamp)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- 3. SEED DATA
 -- ---------------------------------------------------------------------------------
 
@@ -161,4 +266,12 @@ INSERT INTO bookings (customer_id, pet_id, staff_id, booking_date, booking_time,
 
 INSERT INTO booking_details (booking_id, service_id, price) VALUES 
 (1, 1, 150000), 
-(1, 2, 300000);
\ No newline at end of file
+(1, 2, 300000);
+
+-- Tính rollup cho dữ liệu mẫu
+INSERT INTO rollup_dirty_days (rollup_date) SELECT DISTINCT booking_date FROM bookings;
+
+-- Khởi tạo bộ đếm thay đổi
+INSERT INTO change_versions (region, version, updated_at) VALUES
+('BOOKINGS', 0, NOW()), ('CUSTOMERS', 0, NOW()), ('PETS', 0, NOW()),
+('SERVICES', 0, NOW()), ('USERS', 0, NOW()), ('SCHEDULES', 0, NOW());
@@ -0,0 +1,31 @@
+package com.petspa.benchmark;
+
+import com.petspa.SpringBootApp;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the Spring context against an in-memory H2 database in MySQL mode,
+ * without JavaFX, for benchmarks that need real services and repositories.
+ *
+ * Spring command-line arguments (e.g. --spring.datasource.url=jdbc:mysql://...)
+ * override the H2 defaults.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(SpringBootApp.class)
+                .headless(true)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run(args);
+    }
+}
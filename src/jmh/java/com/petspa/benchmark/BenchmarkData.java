@@ -0,0 +1,148 @@
+package com.petspa.benchmark;
+
+import com.petspa.model.*;
+import com.petspa.repository.*;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data for the benchmarks.
+ *
+ * Detached entity graphs are built in memory for the mapping and serialization
+ * benchmarks; populate() writes a generated dataset to the embedded database.
+ */
+public final class BenchmarkData {
+
+    private static final String[] SPECIES = {"Dog", "Cat", "Bird", "Rabbit"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds a booking with the given number of services, fully wired like a loaded entity.
+     */
+    public static Booking booking(long id, int services) {
+        Customer customer = customer(id, 2);
+        User staff = User.builder().id(id).email("staff" + id + "@petspa.com").fullName("Nhân Viên " + id)
+                .role(User.Role.STAFF).build();
+        Booking booking = Booking.builder()
+                .id(id)
+                .customer(customer)
+                .pet(customer.getPets().get(0))
+                .staff(staff)
+                .bookingDate(LocalDate.of(2025, 1, 1).plusDays(id % 365))
+                .bookingTime(LocalTime.of(8 + (int) (id % 9), 30))
+                .status(Booking.BookingStatus.CONFIRMED)
+                .createdAt(LocalDateTime.of(2024, 12, 1, 9, 0))
+                .build();
+        for (int i = 0; i < services; i++) {
+            com.petspa.model.Service service = com.petspa.model.Service.builder()
+                    .id((long) i + 1)
+                    .name("Dịch vụ " + (i + 1))
+                    .price(BigDecimal.valueOf(50_000L * (i + 1)))
+                    .durationMinutes(30 + 15 * (i % 4))
+                    .build();
+            booking.addBookingDetail(BookingDetail.builder().id(id * 100 + i).service(service).price(service.getPrice()).build());
+        }
+        return booking;
+    }
+
+    /**
+     * Builds a customer with the given number of pets.
+     */
+    public static Customer customer(long id, int pets) {
+        Customer customer = Customer.builder()
+                .id(id)
+                .fullName("Khách Hàng " + id)
+                .phoneNumber(String.format("09%08d", id))
+                .email("customer" + id + "@mail.com")
+                .address(id + " Nguyễn Văn Linh, Đà Nẵng")
+                .createdAt(LocalDateTime.of(2024, 6, 1, 10, 0))
+                .build();
+        for (int i = 0; i < pets; i++) {
+            customer.getPets().add(Pet.builder()
+                    .id(id * 10 + i)
+                    .owner(customer)
+                    .name("Pet " + id + "-" + i)
+                    .species(SPECIES[(int) ((id + i) % SPECIES.length)])
+                    .breed("Mixed")
+                    .age(1 + i)
+                    .weight(4.5f + i)
+                    .build());
+        }
+        return customer;
+    }
+
+    /**
+     * Writes staff, two shifts, weekly schedules, customers, pets and bookings
+     * for the next days to the database.
+     *
+     * @return the generated staff
+     */
+    public static List<User> populate(ApplicationContext context, int staffCount, int days, int bookingsPerStaffPerDay) {
+        Random random = new Random(42);
+
+        ShiftTypeRepository shiftTypes = context.getBean(ShiftTypeRepository.class);
+        ShiftType morning = shiftTypes.save(ShiftType.builder().name("Morning")
+                .startTime(LocalTime.of(8, 0)).endTime(LocalTime.of(12, 0)).build());
+        ShiftType afternoon = shiftTypes.save(ShiftType.builder().name("Afternoon")
+                .startTime(LocalTime.of(13, 0)).endTime(LocalTime.of(17, 0)).build());
+
+        List<User> staff = new ArrayList<>();
+        for (int i = 0; i < staffCount; i++) {
+            staff.add(User.builder().email("staff" + i + "@petspa.com").password("123456")
+                    .fullName("Nhân Viên " + i).role(User.Role.STAFF).build());
+        }
+        staff = context.getBean(UserRepository.class).saveAll(staff);
+
+        List<StaffSchedule> schedules = new ArrayList<>();
+        for (User member : staff) {
+            for (int day = 1; day <= 7; day++) {
+                if (random.nextInt(7) < 5) {
+                    schedules.add(StaffSchedule.builder().staff(member).shiftType(morning).dayOfWeek(day).build());
+                }
+                if (random.nextInt(7) < 4) {
+                    schedules.add(StaffSchedule.builder().staff(member).shiftType(afternoon).dayOfWeek(day).build());
+                }
+            }
+        }
+        context.getBean(StaffScheduleRepository.class).saveAll(schedules);
+
+        List<com.petspa.model.Service> services = context.getBean(ServiceRepository.class).saveAll(List.of(
+                com.petspa.model.Service.builder().name("Tắm").price(new BigDecimal("150000")).durationMinutes(45).build(),
+                com.petspa.model.Service.builder().name("Cắt tỉa").price(new BigDecimal("300000")).durationMinutes(90).build(),
+                com.petspa.model.Service.builder().name("Cắt móng").price(new BigDecimal("50000")).durationMinutes(15).build()));
+
+        Customer customer = context.getBean(CustomerRepository.class).save(Customer.builder()
+                .fullName("Khách Hàng").phoneNumber("0900000000").build());
+        Pet pet = context.getBean(PetRepository.class).save(Pet.builder()
+                .owner(customer).name("Milu").species("Dog").build());
+
+        List<Booking> bookings = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int d = 0; d < days; d++) {
+            for (User member : staff) {
+                for (int b = 0; b < bookingsPerStaffPerDay; b++) {
+                    Booking booking = Booking.builder()
+                            .customer(customer).pet(pet).staff(member)
+                            .bookingDate(today.plusDays(d))
+                            .bookingTime(LocalTime.of(8 + 2 * b, 0))
+                            .status(Booking.BookingStatus.CONFIRMED)
+                            .build();
+                    com.petspa.model.Service service = services.get(random.nextInt(services.size()));
+                    booking.addBookingDetail(BookingDetail.builder().service(service).price(service.getPrice()).build());
+                    bookings.add(booking);
+                }
+            }
+        }
+        context.getBean(BookingRepository.class).saveAll(bookings);
+        return staff;
+    }
+}
@@ -0,0 +1,42 @@
+package com.petspa.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.awt.GraphicsEnvironment;
+
+/**
+ * Entry point for the JMH benchmarks (run by "mvn -Pbenchmark verify").
+ *
+ * Arguments: [include regex] [result file]. Results are written as JSON so runs
+ * of different versions can be compared, e.g. with jmh.morethan.io.
+ * The GC profiler adds the bytes allocated per operation (gc.alloc.rate.norm).
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Benchmarks that start JavaFX and therefore need a display.
+     */
+    private static final String DISPLAY_BENCHMARKS = "MarshallingBenchmark";
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+        String result = args.length > 1 ? args[1] : "target/benchmark/jmh-result.json";
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true);
+        if (GraphicsEnvironment.isHeadless()) {
+            System.out.println("No display, skipping " + DISPLAY_BENCHMARKS);
+            options.exclude(DISPLAY_BENCHMARKS);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,318 @@
+package com.petspa.benchmark;
+
+import com.petspa.model.Booking;
+import com.petspa.service.RollupService;
+import com.petspa.service.RosterService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic data generator for production-sized volumes.
+ *
+ * Writes staff with weekly schedules, services, customers with pets and several
+ * years of bookings with details using JDBC batch inserts. IDs are assigned here
+ * (continuing after the current maximum) so no generated keys are read back.
+ * The same sizes and seed always produce the same data.
+ *
+ * Standalone: mvn -Pbenchmark test-compile exec:exec@generate -Dgenerate.args="customers=100000 years=3"
+ * Add --spring.datasource.url=... (plus username/password) to the arguments to target
+ * MySQL instead of the in-memory H2; rewriteBatchedStatements=true on the URL speeds
+ * MySQL batches up considerably.
+ */
+public final class DataGenerator {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final LocalTime OPENING = LocalTime.of(8, 0);
+    private static final int SLOT_MINUTES = 90;
+    private static final int SLOTS_PER_DAY = 6;
+
+    private static final String[] FAMILY_NAMES = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ", "Đặng"};
+    private static final String[] GIVEN_NAMES = {"An", "Bình", "Chi", "Dũng", "Giang", "Hà", "Khánh", "Linh", "Minh", "Nam", "Phương", "Quân", "Thảo", "Trang", "Vy"};
+    private static final String[] SPECIES = {"Dog", "Dog", "Dog", "Cat", "Cat", "Bird", "Rabbit"};
+    private static final String[] BREEDS = {"Poodle", "Corgi", "Husky", "Phốc sóc", "Mèo Anh lông ngắn", "Mèo ta", "Mixed"};
+    private static final String[] PET_NAMES = {"Milu", "Lu", "Bông", "Mướp", "Vàng", "Mực", "Bơ", "Sữa", "Kem", "Tôm"};
+
+    /**
+     * Generator sizes.
+     *
+     * @param bookingsPerDay average bookings per day; the actual count varies by +-25%
+     * @param futureDays days after today that also get (pending/confirmed) bookings
+     */
+    public record Sizes(int customers, int maxPetsPerCustomer, int staff, int years, int futureDays,
+                        int bookingsPerDay, long seed) {
+
+        public static Sizes from(Args args) {
+            return new Sizes(
+                    args.getInt("customers", 100_000),
+                    args.getInt("maxPets", 3),
+                    args.getInt("staff", 20),
+                    args.getInt("years", 3),
+                    args.getInt("futureDays", 30),
+                    args.getInt("bookingsPerDay", 120),
+                    args.getLong("seed", 42L));
+        }
+    }
+
+    /**
+     * What was generated, for drivers that need to pick existing rows.
+     */
+    public record Generated(long firstCustomerId, int customers, long firstBookingId, int bookings,
+                            List<Long> staffIds, List<Long> serviceIds, LocalDate firstDate, LocalDate lastDate) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationContext context;
+    private final Sizes sizes;
+    private final Random random;
+
+    public DataGenerator(ApplicationContext context, Sizes sizes) {
+        this.context = context;
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.sizes = sizes;
+        this.random = new Random(sizes.seed());
+    }
+
+    public static void main(String[] argv) {
+        Args args = new Args(argv);
+        try (ConfigurableApplicationContext context = BenchmarkContext.start(argv)) {
+            new DataGenerator(context, Sizes.from(args)).generate();
+        }
+    }
+
+    /**
+     * Generates the whole dataset, then queues the rollups and refreshes the roster.
+     */
+    public Generated generate() {
+        long started = System.nanoTime();
+
+        List<Integer> shiftIds = shiftTypes();
+        List<Long> staffIds = staff(shiftIds);
+        List<Long> serviceIds = new ArrayList<>();
+        List<BigDecimal> servicePrices = new ArrayList<>();
+        services(serviceIds, servicePrices);
+
+        long firstCustomerId = nextId("customers");
+        List<long[]> petsByCustomer = customersAndPets(firstCustomerId);
+
+        LocalDate lastDate = LocalDate.now().plusDays(sizes.futureDays());
+        LocalDate firstDate = LocalDate.now().minusYears(sizes.years());
+        long firstBookingId = nextId("bookings");
+        int bookings = bookings(firstBookingId, firstCustomerId, petsByCustomer, staffIds,
+                serviceIds, servicePrices, firstDate, lastDate);
+
+        context.getBean(RollupService.class).markRangeDirty(firstDate.toString(), lastDate.toString());
+        context.getBean(RosterService.class).refreshAll();
+
+        System.out.printf("Generated %d customers, %d bookings in %.1f s%n",
+                sizes.customers(), bookings, (System.nanoTime() - started) / 1e9);
+        return new Generated(firstCustomerId, sizes.customers(), firstBookingId, bookings,
+                staffIds, serviceIds, firstDate, lastDate);
+    }
+
+    private List<Integer> shiftTypes() {
+        List<Integer> ids = jdbcTemplate.queryForList("SELECT id FROM shift_types ORDER BY id", Integer.class);
+        if (!ids.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO shift_types (name, start_time, end_time) VALUES (?, ?, ?)", List.of(
+                new Object[] {"Ca Sáng", LocalTime.of(8, 0), LocalTime.of(12, 0)},
+                new Object[] {"Ca Chiều", LocalTime.of(13, 0), LocalTime.of(17, 0)},
+                new Object[] {"Ca Tối", LocalTime.of(17, 0), LocalTime.of(21, 0)}));
+        return jdbcTemplate.queryForList("SELECT id FROM shift_types ORDER BY id", Integer.class);
+    }
+
+    private List<Long> staff(List<Integer> shiftIds) {
+        long firstId = nextId("users");
+        List<Long> ids = new ArrayList<>();
+        Batch users = new Batch("INSERT INTO users (id, email, password, full_name, phone_number, role, is_active, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        Batch schedules = new Batch("INSERT INTO staff_schedule (staff_id, shift_type_id, day_of_week) VALUES (?, ?, ?)", users);
+        for (int i = 0; i < sizes.staff(); i++) {
+            long id = firstId + i;
+            ids.add(id);
+            users.add(id, "gen.staff" + id + "@petspa.com", "123456", "Nhân Viên " + personName(),
+                    phone(900_000_000L + id), "STAFF", true, LocalDateTime.now());
+        }
+        for (long id : ids) {
+            for (int day = 1; day <= 7; day++) {
+                for (Integer shiftId : shiftIds) {
+                    if (random.nextInt(10) < 6) {
+                        schedules.add(id, shiftId, day);
+                    }
+                }
+            }
+        }
+        schedules.flush();
+        return ids;
+    }
+
+    private void services(List<Long> ids, List<BigDecimal> prices) {
+        jdbcTemplate.query("SELECT id, price FROM services WHERE is_active = TRUE ORDER BY id", rs -> {
+            ids.add(rs.getLong(1));
+            prices.add(rs.getBigDecimal(2));
+        });
+        if (!ids.isEmpty()) {
+            return;
+        }
+        String[] names = {"Tắm gội", "Cắt tỉa lông", "Cắt móng", "Vệ sinh tai", "Spa trọn gói", "Nhuộm lông"};
+        long firstId = nextId("services");
+        Batch batch = new Batch("INSERT INTO services (id, name, description, price, duration_minutes, is_active) " +
+                "VALUES (?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < names.length; i++) {
+            BigDecimal price = BigDecimal.valueOf(50_000L * (i + 1));
+            batch.add(firstId + i, names[i], null, price, 15 * (i + 1), true);
+            ids.add(firstId + i);
+            prices.add(price);
+        }
+        batch.flush();
+    }
+
+    /**
+     * @return the pet IDs of each customer, indexed by (customerId - firstCustomerId)
+     */
+    private List<long[]> customersAndPets(long firstCustomerId) {
+        long nextPetId = nextId("pets");
+        List<long[]> petsByCustomer = new ArrayList<>(sizes.customers());
+        Batch customers = new Batch("INSERT INTO customers (id, full_name, phone_number, email, address, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)");
+        Batch pets = new Batch("INSERT INTO pets (id, owner_id, name, species, breed, age, weight, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", customers);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < sizes.customers(); i++) {
+            long id = firstCustomerId + i;
+            customers.add(id, personName(), customerPhone(id),
+                    random.nextInt(3) == 0 ? "kh" + id + "@mail.com" : null,
+                    (random.nextInt(200) + 1) + " Nguyễn Văn Linh, Đà Nẵng",
+                    now.minusDays(random.nextInt(365 * Math.max(1, sizes.years()))));
+            long[] petIds = new long[1 + random.nextInt(Math.max(1, sizes.maxPetsPerCustomer()))];
+            for (int p = 0; p < petIds.length; p++) {
+                petIds[p] = nextPetId++;
+                pets.add(petIds[p], id, pick(PET_NAMES), pick(SPECIES), pick(BREEDS),
+                        1 + random.nextInt(14), 2.0f + random.nextInt(300) / 10.0f, now);
+            }
+            petsByCustomer.add(petIds);
+        }
+        pets.flush();
+        return petsByCustomer;
+    }
+
+    private int bookings(long firstBookingId, long firstCustomerId, List<long[]> petsByCustomer, List<Long> staffIds,
+                         List<Long> serviceIds, List<BigDecimal> servicePrices, LocalDate firstDate, LocalDate lastDate) {
+        Batch bookings = new Batch("INSERT INTO bookings (id, customer_id, pet_id, staff_id, booking_date, booking_time, " +
+                "status, cancel_reason, total_price, created_at, change_stamp) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)");
+        Batch details = new Batch("INSERT INTO booking_details (booking_id, service_id, price) VALUES (?, ?, ?)", bookings);
+        LocalDate today = LocalDate.now();
+        long id = firstBookingId;
+
+        for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            int count = sizes.bookingsPerDay() * 3 / 4 + random.nextInt(sizes.bookingsPerDay() / 2 + 1);
+            for (int b = 0; b < count; b++) {
+                int customer = random.nextInt(sizes.customers());
+                long[] pets = petsByCustomer.get(customer);
+
+                // Staff get non-overlapping 90-minute slots; overflow bookings stay unassigned
+                int slot = b / Math.max(1, staffIds.size());
+                Long staffId = slot < SLOTS_PER_DAY && !staffIds.isEmpty() ? staffIds.get(b % staffIds.size()) : null;
+                LocalTime time = OPENING.plusMinutes((long) (slot % SLOTS_PER_DAY) * SLOT_MINUTES);
+
+                Booking.BookingStatus status = status(date, today);
+                int lines = Math.min(1 + random.nextInt(3), serviceIds.size());
+                int first = random.nextInt(serviceIds.size());
+                BigDecimal total = BigDecimal.ZERO;
+                for (int l = 0; l < lines; l++) {
+                    total = total.add(servicePrices.get((first + l) % serviceIds.size()));
+                }
+                bookings.add(id, firstCustomerId + customer, pets[random.nextInt(pets.length)], staffId, date, time,
+                        status.name(), status == Booking.BookingStatus.CANCELLED ? "Khách báo bận" : null,
+                        total, date.minusDays(random.nextInt(14)).atTime(9, 0));
+                for (int l = 0; l < lines; l++) {
+                    int service = (first + l) % serviceIds.size();
+                    details.add(id, serviceIds.get(service), servicePrices.get(service));
+                }
+                id++;
+            }
+        }
+        details.flush();
+        return (int) (id - firstBookingId);
+    }
+
+    private Booking.BookingStatus status(LocalDate date, LocalDate today) {
+        int roll = random.nextInt(100);
+        if (date.isBefore(today)) {
+            return roll < 8 ? Booking.BookingStatus.CANCELLED : Booking.BookingStatus.COMPLETED;
+        }
+        if (roll < 5) {
+            return Booking.BookingStatus.CANCELLED;
+        }
+        return roll < 50 ? Booking.BookingStatus.PENDING : Booking.BookingStatus.CONFIRMED;
+    }
+
+    /**
+     * Phone number of a generated customer; used by the load driver to search.
+     */
+    public static String customerPhone(long customerId) {
+        return phone(300_000_000L + customerId);
+    }
+
+    private static String phone(long number) {
+        return String.format("0%09d", number % 1_000_000_000L);
+    }
+
+    private String personName() {
+        return pick(FAMILY_NAMES) + " " + pick(GIVEN_NAMES) + " " + pick(GIVEN_NAMES);
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max + 1 : 1;
+    }
+
+    /**
+     * Buffers rows for one INSERT statement and writes them in JDBC batches.
+     * A batch with a parent flushes the parent first, so foreign keys always resolve.
+     */
+    private final class Batch {
+
+        private final String sql;
+        private final Batch parent;
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+
+        Batch(String sql) {
+            this(sql, null);
+        }
+
+        Batch(String sql, Batch parent) {
+            this.sql = sql;
+            this.parent = parent;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
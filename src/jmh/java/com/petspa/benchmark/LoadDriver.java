@@ -0,0 +1,252 @@
+package com.petspa.benchmark;
+
+import com.petspa.dto.BookingDTO;
+import com.petspa.dto.BookingDetailDTO;
+import com.petspa.service.BookingService;
+import com.petspa.service.CustomerService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless load driver: replays a front-desk workload mix against the service beans
+ * from several threads (one per simulated terminal) and reports throughput and
+ * latency percentiles per operation.
+ *
+ * mvn -Pbenchmark test-compile exec:exec@load -Dload.args="threads=8 seconds=60 customers=20000 years=1"
+ *
+ * With generate=true (the default) the database is first filled by DataGenerator,
+ * which takes the same size arguments.
+ */
+public final class LoadDriver {
+
+    /**
+     * Operations of the workload mix with their relative weights.
+     */
+    enum Operation {
+        SEARCH_BY_PHONE(30),
+        DAY_VIEW(30),
+        CUSTOMER_HISTORY(10),
+        CREATE_BOOKING(15),
+        UPDATE_STATUS(15);
+
+        final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final BookingService bookingService;
+    private final CustomerService customerService;
+    private final DataGenerator.Generated data;
+    private final List<Long> petIds;
+    private final int[] mix;
+
+    private LoadDriver(ConfigurableApplicationContext context, DataGenerator.Generated data) {
+        this.bookingService = context.getBean(BookingService.class);
+        this.customerService = context.getBean(CustomerService.class);
+        this.data = data;
+        this.petIds = context.getBean(JdbcTemplate.class).queryForList(
+                "SELECT MIN(id) FROM pets WHERE owner_id >= ? GROUP BY owner_id ORDER BY owner_id",
+                Long.class, data.firstCustomerId());
+        this.mix = buildMix();
+    }
+
+    public static void main(String[] argv) throws InterruptedException {
+        Args args = new Args(argv);
+        int threads = args.getInt("threads", 8);
+        int warmupSeconds = args.getInt("warmup", 10);
+        int seconds = args.getInt("seconds", 60);
+
+        try (ConfigurableApplicationContext context = BenchmarkContext.start(argv)) {
+            DataGenerator.Generated data = args.getBoolean("generate", true)
+                    ? new DataGenerator(context, DataGenerator.Sizes.from(args)).generate()
+                    : existingData(context);
+            LoadDriver driver = new LoadDriver(context, data);
+
+            System.out.printf("Warming up for %d s with %d threads...%n", warmupSeconds, threads);
+            driver.run(threads, warmupSeconds);
+            System.out.printf("Measuring for %d s with %d threads...%n", seconds, threads);
+            driver.run(threads, seconds).print(seconds);
+        }
+    }
+
+    /**
+     * Describes data already in the database (generate=false).
+     */
+    private static DataGenerator.Generated existingData(ConfigurableApplicationContext context) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        long firstCustomer = jdbc.queryForObject("SELECT MIN(id) FROM customers", Long.class);
+        long customers = jdbc.queryForObject("SELECT MAX(id) FROM customers", Long.class) - firstCustomer + 1;
+        long firstBooking = jdbc.queryForObject("SELECT MIN(id) FROM bookings", Long.class);
+        long bookings = jdbc.queryForObject("SELECT MAX(id) FROM bookings", Long.class) - firstBooking + 1;
+        return new DataGenerator.Generated(firstCustomer, (int) customers, firstBooking, (int) bookings,
+                jdbc.queryForList("SELECT id FROM users WHERE role = 'STAFF' AND is_active = TRUE", Long.class),
+                jdbc.queryForList("SELECT id FROM services WHERE is_active = TRUE", Long.class),
+                jdbc.queryForObject("SELECT MIN(booking_date) FROM bookings", LocalDate.class),
+                jdbc.queryForObject("SELECT MAX(booking_date) FROM bookings", LocalDate.class));
+    }
+
+    private Report run(int threads, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Recorder> recorders = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            Recorder recorder = new Recorder();
+            recorders.add(recorder);
+            pool.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    Operation operation = Operation.values()[mix[ThreadLocalRandom.current().nextInt(mix.length)]];
+                    long started = System.nanoTime();
+                    try {
+                        execute(operation);
+                        recorder.record(operation, System.nanoTime() - started);
+                    } catch (Exception e) {
+                        recorder.error(operation, e);
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        return new Report(recorders);
+    }
+
+    private void execute(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case SEARCH_BY_PHONE -> customerService.searchByPhone(
+                    DataGenerator.customerPhone(data.firstCustomerId() + random.nextInt(data.customers())));
+            case DAY_VIEW -> bookingService.getBookingsByDate(
+                    LocalDate.now().plusDays(random.nextInt(-7, 8)).toString());
+            case CUSTOMER_HISTORY -> bookingService.getBookingsByCustomer(
+                    data.firstCustomerId() + random.nextInt(data.customers()));
+            case CREATE_BOOKING -> createBooking(random);
+            case UPDATE_STATUS -> bookingService.updateStatus(
+                    data.firstBookingId() + random.nextInt(data.bookings()),
+                    random.nextBoolean() ? "CONFIRMED" : "COMPLETED");
+        }
+    }
+
+    private void createBooking(ThreadLocalRandom random) {
+        int customer = random.nextInt(petIds.size());
+        BookingDTO dto = BookingDTO.builder()
+                .customerId(data.firstCustomerId() + customer)
+                .petId(petIds.get(customer))
+                .staffId(data.staffIds().isEmpty() ? null : data.staffIds().get(random.nextInt(data.staffIds().size())))
+                .bookingDate(LocalDate.now().plusDays(random.nextInt(1, 31)))
+                .bookingTime(LocalTime.of(8 + random.nextInt(10), random.nextBoolean() ? 0 : 30))
+                .services(List.of(BookingDetailDTO.builder()
+                        .serviceId(data.serviceIds().get(random.nextInt(data.serviceIds().size())))
+                        .build()))
+                .build();
+        bookingService.createBooking(dto);
+    }
+
+    private static int[] buildMix() {
+        List<Integer> slots = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            for (int i = 0; i < operation.weight; i++) {
+                slots.add(operation.ordinal());
+            }
+        }
+        return slots.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Per-thread latency samples (nanoseconds) and error counts.
+     */
+    private static final class Recorder {
+
+        private final Map<Operation, long[]> samples = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> errors = new EnumMap<>(Operation.class);
+        private final Map<Operation, String> firstErrors = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long nanos) {
+            int count = counts.getOrDefault(operation, 0);
+            long[] values = samples.computeIfAbsent(operation, op -> new long[1024]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                samples.put(operation, values);
+            }
+            values[count] = nanos;
+            counts.put(operation, count + 1);
+        }
+
+        void error(Operation operation, Exception e) {
+            errors.merge(operation, 1, Integer::sum);
+            firstErrors.putIfAbsent(operation, e.toString());
+        }
+    }
+
+    /**
+     * Merged samples of all threads.
+     */
+    private static final class Report {
+
+        private final List<Recorder> recorders;
+
+        Report(List<Recorder> recorders) {
+            this.recorders = recorders;
+        }
+
+        void print(int seconds) {
+            System.out.printf("%-18s %9s %7s %9s %9s %9s %9s %9s%n",
+                    "operation", "ops", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+            long totalOps = 0;
+            for (Operation operation : Operation.values()) {
+                long[] merged = merge(operation);
+                int errors = recorders.stream().mapToInt(r -> r.errors.getOrDefault(operation, 0)).sum();
+                totalOps += merged.length;
+                System.out.printf("%-18s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                        operation, merged.length, errors, merged.length / (double) seconds,
+                        percentile(merged, 50), percentile(merged, 90), percentile(merged, 99),
+                        merged.length > 0 ? merged[merged.length - 1] / 1e6 : 0.0);
+            }
+            System.out.printf("%-18s %9d %7s %9.1f%n", "TOTAL", totalOps, "", totalOps / (double) seconds);
+
+            // Overlap rejections of CREATE_BOOKING are expected under load and show up here too
+            Map<Operation, String> firstErrors = new EnumMap<>(Operation.class);
+            for (Recorder recorder : recorders) {
+                recorder.firstErrors.forEach(firstErrors::putIfAbsent);
+            }
+            firstErrors.forEach((operation, message) -> System.out.println(operation + ": " + message));
+        }
+
+        private long[] merge(Operation operation) {
+            int size = recorders.stream().mapToInt(r -> r.counts.getOrDefault(operation, 0)).sum();
+            long[] merged = new long[size];
+            int offset = 0;
+            for (Recorder recorder : recorders) {
+                int count = recorder.counts.getOrDefault(operation, 0);
+                if (count > 0) {
+                    System.arraycopy(recorder.samples.get(operation), 0, merged, offset, count);
+                    offset += count;
+                }
+            }
+            Arrays.sort(merged);
+            return merged;
+        }
+
+        private static double percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
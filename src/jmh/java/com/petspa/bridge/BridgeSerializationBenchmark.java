@@ -0,0 +1,110 @@
+package com.petspa.bridge;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.petspa.benchmark.BenchmarkData;
+import com.petspa.config.AppConfig;
+import com.petspa.dto.BookingDTO;
+import com.petspa.dto.BookingDetailDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of encoding JavaBridge responses with the application's Gson
+ * (pretty printing, null serialization and java.time adapters),
+ * and of decoding the booking JSON sent by the UI.
+ *
+ * encodeTree and encodeAndParse are the Java side of JsMarshaller.write's two
+ * ways of sizing a response: building a Gson tree first, or encoding the JSON
+ * string once and parsing it back only when it is short enough to send directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BridgeSerializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int bookings;
+
+    private Gson gson;
+    private List<BookingDTO> bookingList;
+    private String bookingJson;
+
+    @Setup
+    public void setUp() {
+        gson = new AppConfig().gson();
+        bookingList = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            bookingList.add(toDTO(BenchmarkData.booking(i + 1, 3)));
+        }
+        bookingJson = gson.toJson(bookingList.get(0));
+    }
+
+    @Benchmark
+    public String encodeBookingList() {
+        return gson.toJson(new JavaBridge.ApiResponse(true, "Success", bookingList));
+    }
+
+    /**
+     * Builds the Gson tree, then encodes the string from it.
+     */
+    @Benchmark
+    public String encodeTree() {
+        JsonElement tree = gson.toJsonTree(new JavaBridge.ApiResponse(true, "Success", bookingList));
+        return gson.toJson(tree);
+    }
+
+    /**
+     * Encodes the string, then parses it back into a tree (the direct path's extra work).
+     */
+    @Benchmark
+    public JsonElement encodeAndParse() {
+        return JsonParser.parseString(gson.toJson(new JavaBridge.ApiResponse(true, "Success", bookingList)));
+    }
+
+    @Benchmark
+    public String encodeError() {
+        return gson.toJson(new JavaBridge.ApiResponse(false, "Booking not found: 42", null));
+    }
+
+    @Benchmark
+    public BookingDTO decodeBooking() {
+        return gson.fromJson(bookingJson, BookingDTO.class);
+    }
+
+    static BookingDTO toDTO(com.petspa.model.Booking booking) {
+        List<BookingDetailDTO> details = new ArrayList<>();
+        booking.getBookingDetails().forEach(detail -> details.add(BookingDetailDTO.builder()
+                .id(detail.getId())
+                .bookingId(booking.getId())
+                .serviceId(detail.getService().getId())
+                .serviceName(detail.getService().getName())
+                .price(detail.getPrice())
+                .durationMinutes(detail.getService().getDurationMinutes())
+                .build()));
+        return BookingDTO.builder()
+                .id(booking.getId())
+                .customerId(booking.getCustomer().getId())
+                .customerName(booking.getCustomer().getFullName())
+                .customerPhone(booking.getCustomer().getPhoneNumber())
+                .petId(booking.getPet().getId())
+                .petName(booking.getPet().getName())
+                .petSpecies(booking.getPet().getSpecies())
+                .staffId(booking.getStaff().getId())
+                .staffName(booking.getStaff().getFullName())
+                .bookingDate(booking.getBookingDate())
+                .bookingTime(booking.getBookingTime())
+                .status(booking.getStatus().name())
+                .totalPrice(booking.getTotalPrice())
+                .createdAt(booking.getCreatedAt())
+                .services(details)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.petspa.bridge;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.petspa.benchmark.BenchmarkData;
+import com.petspa.config.AppConfig;
+import com.petspa.dto.BookingDTO;
+import javafx.application.Platform;
+import javafx.scene.web.WebEngine;
+import netscape.javascript.JSObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON vs direct (JSObject) marshalling of bridge responses and arguments,
+ * measured inside a real WebEngine. Every operation runs on the JavaFX thread,
+ * like bridge calls do, and includes the JS side: JSON.parse for the JSON path,
+ * JSON.stringify for reading a JSON argument.
+ *
+ * The crossover (payload size where JSON starts winning) is what
+ * JsMarshaller.DEFAULT_DIRECT_LIMIT, a JSON length, is based on. The response
+ * JSON is 76 characters for 0 bookings, 1,133 for 1, 2,206 for 2, 3,281 for 3
+ * and 10,803 for 10. Needs a display for JavaFX; BenchmarkRunner skips it on
+ * headless machines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarshallingBenchmark {
+
+    private static final Type BOOKING_LIST = new TypeToken<List<BookingDTO>>() {}.getType();
+
+    /**
+     * Bookings in the response and argument; 0 sends an error response and an empty list.
+     */
+    @Param({"0", "1", "2", "3", "10", "100"})
+    public int bookings;
+
+    private Gson gson;
+    private JsMarshaller direct;
+    private JSObject json;
+    private JavaBridge.ApiResponse response;
+    private Object bookingArgument;
+
+    @Setup
+    public void setUp() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException alreadyStarted) {
+            started.countDown();
+        }
+        started.await();
+
+        gson = new AppConfig().gson();
+        direct = new JsMarshaller(gson, Integer.MAX_VALUE);
+
+        List<BookingDTO> bookingList = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            bookingList.add(BridgeSerializationBenchmark.toDTO(BenchmarkData.booking(i + 1, 3)));
+        }
+        response = bookings == 0
+                ? new JavaBridge.ApiResponse(false, "Booking not found: 42", null)
+                : new JavaBridge.ApiResponse(true, "Success", bookingList);
+
+        onFxThread(() -> {
+            WebEngine engine = new WebEngine();
+            JSObject window = (JSObject) engine.executeScript("window");
+            direct.attach(window);
+            json = (JSObject) engine.executeScript("JSON");
+            bookingArgument = json.call("parse", gson.toJson(bookingList));
+            return null;
+        });
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        onFxThread(() -> {
+            direct.attach(null);
+            return null;
+        });
+    }
+
+    /**
+     * Today's path: Gson string, parsed by JSON.parse in the page.
+     */
+    @Benchmark
+    public Object writeJson() throws Exception {
+        return onFxThread(() -> json.call("parse", gson.toJson(response)));
+    }
+
+    /**
+     * JS objects and arrays built member by member through JSObject.
+     */
+    @Benchmark
+    public Object writeDirect() throws Exception {
+        return onFxThread(() -> direct.write(response));
+    }
+
+    /**
+     * A JS array argument sent as a string: JSON.stringify in the page, then Gson.
+     */
+    @Benchmark
+    public List<BookingDTO> readJson() throws Exception {
+        return onFxThread(() -> gson.fromJson((String) json.call("stringify", bookingArgument), BOOKING_LIST));
+    }
+
+    /**
+     * A JS array argument read member by member through JSObject.
+     */
+    @Benchmark
+    public List<BookingDTO> readDirect() throws Exception {
+        return onFxThread(() -> direct.read(bookingArgument, BOOKING_LIST));
+    }
+
+    private static <T> T onFxThread(Callable<T> task) throws Exception {
+        FutureTask<T> future = new FutureTask<>(task);
+        Platform.runLater(future);
+        return future.get();
+    }
+}
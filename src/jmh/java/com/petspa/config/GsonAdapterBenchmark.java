@@ -0,0 +1,67 @@
+package com.petspa.config;
+
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the java.time type adapters registered on the application's Gson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GsonAdapterBenchmark {
+
+    private Gson gson;
+    private final LocalDate date = LocalDate.of(2025, 3, 14);
+    private final LocalTime time = LocalTime.of(14, 30);
+    private final LocalDateTime dateTime = LocalDateTime.of(2025, 3, 14, 14, 30, 5);
+    private String dateJson;
+    private String timeJson;
+    private String dateTimeJson;
+
+    @Setup
+    public void setUp() {
+        gson = new AppConfig().gson();
+        dateJson = gson.toJson(date);
+        timeJson = gson.toJson(time);
+        dateTimeJson = gson.toJson(dateTime);
+    }
+
+    @Benchmark
+    public String writeLocalDate() {
+        return gson.toJson(date);
+    }
+
+    @Benchmark
+    public String writeLocalTime() {
+        return gson.toJson(time);
+    }
+
+    @Benchmark
+    public String writeLocalDateTime() {
+        return gson.toJson(dateTime);
+    }
+
+    @Benchmark
+    public LocalDate readLocalDate() {
+        return gson.fromJson(dateJson, LocalDate.class);
+    }
+
+    @Benchmark
+    public LocalTime readLocalTime() {
+        return gson.fromJson(timeJson, LocalTime.class);
+    }
+
+    @Benchmark
+    public LocalDateTime readLocalDateTime() {
+        return gson.fromJson(dateTimeJson, LocalDateTime.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.petspa.service;
+
+import com.petspa.benchmark.BenchmarkContext;
+import com.petspa.benchmark.BenchmarkData;
+import com.petspa.dto.UserDTO;
+import com.petspa.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Staff-availability lookups against an embedded database with generated
+ * staff, weekly schedules, a materialized roster and two weeks of bookings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    private static final int DAYS = 14;
+    private static final int BOOKINGS_PER_STAFF_PER_DAY = 4;
+
+    @Param({"10", "100"})
+    public int staffCount;
+
+    private ConfigurableApplicationContext context;
+    private ScheduleService scheduleService;
+    private BookingIntervalIndex intervalIndex;
+    private List<User> staff;
+    private String rosterDate;
+    private String templateDate;
+    private LocalDate bookedDate;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        staff = BenchmarkData.populate(context, staffCount, DAYS, BOOKINGS_PER_STAFF_PER_DAY);
+        context.getBean(RosterService.class).refreshAll();
+
+        scheduleService = context.getBean(ScheduleService.class);
+        intervalIndex = context.getBean(BookingIntervalIndex.class);
+        rosterDate = LocalDate.now().plusDays(3).toString();
+        templateDate = LocalDate.now().plusDays(RosterService.HORIZON_DAYS + 7).toString();
+        bookedDate = LocalDate.now().plusDays(3);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Dates inside the horizon are answered from the materialized roster.
+     */
+    @Benchmark
+    public List<UserDTO> availableStaffFromRoster() {
+        return scheduleService.getAvailableStaff(rosterDate, "09:30");
+    }
+
+    /**
+     * Dates beyond the horizon fall back to the weekly templates.
+     */
+    @Benchmark
+    public List<UserDTO> availableStaffFromTemplates() {
+        return scheduleService.getAvailableStaff(templateDate, "09:30");
+    }
+
+    /**
+     * Overlap check on a warm interval index, as done by createBooking.
+     */
+    @Benchmark
+    public int conflictChecks() {
+        int conflicts = 0;
+        for (User member : staff) {
+            if (intervalIndex.findConflict(member.getId(), bookedDate, LocalTime.of(9, 0), 45, null) != null) {
+                conflicts++;
+            }
+        }
+        return conflicts;
+    }
+}
@@ -0,0 +1,65 @@
+package com.petspa.service;
+
+import com.petspa.benchmark.BenchmarkContext;
+import com.petspa.benchmark.BenchmarkData;
+import com.petspa.dto.BookingDTO;
+import com.petspa.dto.CustomerDTO;
+import com.petspa.model.Booking;
+import com.petspa.model.Customer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of entity-to-DTO mapping in BookingService and CustomerService,
+ * and of Booking.recalculateTotalPrice, on detached in-memory entities.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int lines;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private CustomerService customerService;
+    private Booking booking;
+    private Customer customer;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        bookingService = context.getBean(BookingService.class);
+        customerService = context.getBean(CustomerService.class);
+        booking = BenchmarkData.booking(1, lines);
+        customer = BenchmarkData.customer(1, lines);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingDTO bookingToDTO() {
+        return bookingService.toDTO(booking);
+    }
+
+    @Benchmark
+    public CustomerDTO customerToDTO() {
+        return customerService.toDTO(customer);
+    }
+
+    @Benchmark
+    public BigDecimal recalculateTotalPrice() {
+        booking.recalculateTotalPrice();
+        return booking.getTotalPrice();
+    }
+}
@@ -0,0 +1,96 @@
+package com.petspa.service;
+
+import com.petspa.benchmark.BenchmarkContext;
+import com.petspa.benchmark.DataGenerator;
+import com.petspa.dto.BookingDTO;
+import com.petspa.model.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Day-view loads and booking-edit flushes with long TEXT columns (addresses, pet
+ * notes, service descriptions, cancel reasons), for comparing builds with and
+ * without Hibernate bytecode enhancement.
+ *
+ * - dayView: the day list the dashboards load; lazy TEXT attributes are left out
+ *   of the query, which shows as fewer bytes per operation (gc.alloc.rate.norm).
+ * - flushEdit: one changed booking flushed from a persistence context holding a
+ *   whole day; with in-line dirty tracking the flush skips the unchanged entities.
+ *
+ * Baseline: mvn clean -Pbenchmark verify -Dbenchmark.include=EntityEnhancement -Dhibernate-enhance.phase=none
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityEnhancementBenchmark {
+
+    private static final int CUSTOMERS = 2_000;
+    private static final int TEXT_LENGTH = 1_000;
+
+    @Param({"120", "480"})
+    public int bookingsPerDay;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private String today;
+
+    private EntityManager entityManager;
+    private List<Booking> managedDay;
+    private int edits;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        new DataGenerator(context, new DataGenerator.Sizes(CUSTOMERS, 3, 20, 0, 0, bookingsPerDay, 42L)).generate();
+
+        String text = "x".repeat(TEXT_LENGTH);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("UPDATE customers SET address = ?", text);
+        jdbcTemplate.update("UPDATE pets SET notes = ?", text);
+        jdbcTemplate.update("UPDATE services SET description = ?", text);
+        jdbcTemplate.update("UPDATE bookings SET cancel_reason = ? WHERE cancel_reason IS NOT NULL", text);
+
+        bookingService = context.getBean(BookingService.class);
+        today = LocalDate.now().toString();
+
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        entityManager.getTransaction().begin();
+        managedDay = entityManager.createQuery("""
+                        SELECT DISTINCT b FROM Booking b
+                        JOIN FETCH b.customer JOIN FETCH b.pet LEFT JOIN FETCH b.staff
+                        LEFT JOIN FETCH b.bookingDetails d LEFT JOIN FETCH d.service
+                        WHERE b.bookingDate = :date""", Booking.class)
+                .setParameter("date", LocalDate.now())
+                .getResultList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.getTransaction().rollback();
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDTO> dayView() {
+        return bookingService.getBookingsByDate(today);
+    }
+
+    @Benchmark
+    public Booking flushEdit() {
+        Booking booking = managedDay.get(edits++ % managedDay.size());
+        booking.setBookingTime(booking.getBookingTime().plusMinutes(edits % 2 == 0 ? 15 : -15));
+        entityManager.flush();
+        return booking;
+    }
+}
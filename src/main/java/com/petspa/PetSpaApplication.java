@@ -1,6 +1,8 @@
 package com.petspa;
 
+import com.petspa.bridge.RemoteBridge;
 import com.petspa.config.SpringContext;
+import com.petspa.controller.MainController;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.stage.Stage;
@@ -19,10 +21,15 @@ import org.springframework.context.ConfigurableApplicationContext;
  * 2. init() method starts the Spring Boot context
  * 3. start() method creates the JavaFX Stage with WebView
  * 4. JavaScript in WebView communicates with Java via JavaBridge
+ * 
+ * With -Dpetspa.remote.url=http://host:8085 (or PETSPA_REMOTE_URL) no local Spring
+ * context is started; the WebView talks to a shared PetSpaServer through RemoteBridge.
+ * petspa.remote.token / PETSPA_REMOTE_TOKEN supplies the server's shared secret.
  */
 public class PetSpaApplication extends Application {
 
     private ConfigurableApplicationContext springContext;
+    private String remoteUrl;
 
     /**
      * Main entry point - launches JavaFX application
@@ -36,6 +43,11 @@ public class PetSpaApplication extends Application {
      */
     @Override
     public void init() throws Exception {
+        remoteUrl = setting("petspa.remote.url", "PETSPA_REMOTE_URL");
+        if (remoteUrl != null) {
+            return;
+        }
+
         // Start Spring Boot with headless mode disabled for JavaFX compatibility
         springContext = new SpringApplicationBuilder(SpringBootApp.class)
                 .headless(false)
@@ -50,9 +62,10 @@ public class PetSpaApplication extends Application {
      */
     @Override
     public void start(Stage primaryStage) throws Exception {
-        // Get the MainController from Spring context to load the WebView
-        com.petspa.controller.MainController mainController = 
-                springContext.getBean(com.petspa.controller.MainController.class);
+        // Get the MainController (from Spring context, or a remote one) to load the WebView
+        MainController mainController = remoteUrl != null
+                ? new MainController(new RemoteBridge(remoteUrl, setting("petspa.remote.token", "PETSPA_REMOTE_TOKEN")))
+                : springContext.getBean(MainController.class);
         
         // Initialize and show the main window
         mainController.initializeStage(primaryStage);
@@ -69,4 +82,15 @@ public class PetSpaApplication extends Application {
         }
         Platform.exit();
     }
+
+    /**
+     * Reads a setting from a system property, falling back to an environment variable.
+     */
+    private static String setting(String property, String environmentVariable) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(environmentVariable);
+        }
+        return value != null && !value.isBlank() ? value : null;
+    }
 }
@@ -0,0 +1,25 @@
+package com.petspa;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Entry point for headless server mode.
+ * 
+ * Starts the same Spring Boot backend without JavaFX and serves the JavaBridge
+ * operations over HTTP (see BridgeHttpServer). Desktop terminals started with
+ * -Dpetspa.remote.url=http://host:8085 then use this backend instead of
+ * connecting to MySQL themselves.
+ * 
+ * Settings: petspa.server.port (default 8085), petspa.server.address (default
+ * 127.0.0.1; any other address needs a token),
+ * petspa.server.token (shared secret terminals must send).
+ */
+public class PetSpaServer {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(SpringBootApp.class)
+                .headless(true)
+                .properties("petspa.server.enabled=true")
+                .run(args);
+    }
+}
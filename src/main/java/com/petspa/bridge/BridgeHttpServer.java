@@ -0,0 +1,314 @@
+package com.petspa.bridge;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bridge HTTP Server - Serves the JavaBridge operations over HTTP/JSON in server mode.
+ *
+ * One headless backend (see PetSpaServer) can then serve many front-desk terminals
+ * with one set of caches and one connection pool. Each request runs on its own
+ * virtual thread.
+ *
+ * Protocol: POST /bridge/{method} with a JSON array of the method's arguments.
+ * The response body is the JavaBridge result (an ApiResponse JSON string; server-side
+ * bridges have no page attached, so they always answer in JSON).
+ * Every terminal sends a session ID header and gets its own JavaBridge instance,
+ * so login state stays per terminal; calls of one session run one at a time,
+ * like they do on the JavaFX thread. A session is only created by a successful
+ * login and is dropped on logout; without one, only the operations in
+ * PUBLIC_OPERATIONS are answered. ADMIN_OPERATIONS also need an admin login.
+ *
+ * Enabled with petspa.server.enabled=true. Listens on the loopback address unless
+ * petspa.server.address says otherwise; any other address needs petspa.server.token.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "petspa.server.enabled", havingValue = "true")
+public class BridgeHttpServer {
+
+    public static final String SESSION_HEADER = "X-Petspa-Session";
+    public static final String TOKEN_HEADER = "X-Petspa-Token";
+    public static final String PATH_PREFIX = "/bridge/";
+
+    /**
+     * Operations a session may call before it has logged in.
+     */
+    private static final Set<String> PUBLIC_OPERATIONS = Set.of("login", "logout", "getCurrentUser");
+
+    /**
+     * Operations only an admin may call: the admin pages' writes and diagnostics.
+     */
+    private static final Set<String> ADMIN_OPERATIONS = Set.of(
+            "getAllUsers", "createUser", "updateUser", "deactivateUser",
+            "createService",
+            "createPricingRule", "updatePricingRule", "deletePricingRule",
+            "bulkUpdateBookingStatus",
+            "reconcileRollups", "rebuildRollups",
+            "assignShift", "saveWeeklyGrid", "updateShiftType", "addScheduleOverride", "removeScheduleOverride",
+            "startFlightRecording", "dumpFlightRecording", "stopFlightRecording", "getFlightRecordingStatus",
+            "getDiagnostics", "resetDiagnostics");
+
+    /**
+     * Sessions idle for longer than this are dropped.
+     */
+    private static final long SESSION_IDLE_MILLIS = 12 * 60 * 60 * 1000L;
+
+    private final AutowireCapableBeanFactory beanFactory;
+    private final Gson gson;
+
+    @Value("${petspa.server.address:127.0.0.1}")
+    private String address;
+
+    @Value("${petspa.server.port:8085}")
+    private int port;
+
+    /**
+     * Shared secret terminals must send; empty disables the check, which is only
+     * allowed on the loopback address.
+     */
+    @Value("${petspa.server.token:}")
+    private String token;
+
+    private final Map<String, Method> methods = new HashMap<>();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public BridgeHttpServer(AutowireCapableBeanFactory beanFactory, Gson gson) {
+        this.beanFactory = beanFactory;
+        this.gson = gson;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        InetAddress bindAddress = InetAddress.getByName(address);
+        if (token.isEmpty() && !bindAddress.isLoopbackAddress()) {
+            throw new IllegalStateException("Refusing to listen on " + address
+                    + " without petspa.server.token; set a token or use a loopback address");
+        }
+
+        for (Method method : JavaBridge.class.getDeclaredMethods()) {
+            // navigateTo and attachPage drive the local WebView and are handled by the client
+            if (Modifier.isPublic(method.getModifiers()) && method.getReturnType() == Object.class) {
+                methods.put(method.getName(), method);
+            }
+        }
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        server.setExecutor(executor);
+        server.createContext(PATH_PREFIX, this::handle);
+        server.start();
+        log.info("Bridge HTTP server listening on {}:{} ({} operations)", address, port, methods.size());
+    }
+
+    @PreDestroy
+    void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Drops sessions of terminals that have gone away.
+     */
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public void purgeIdleSessions() {
+        long cutoff = System.currentTimeMillis() - SESSION_IDLE_MILLIS;
+        sessions.values().removeIf(session -> session.lastSeen < cutoff);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, error("Use POST"));
+                return;
+            }
+            if (!token.isEmpty() && !tokenMatches(exchange.getRequestHeaders().getFirst(TOKEN_HEADER))) {
+                send(exchange, 401, error("Invalid token"));
+                return;
+            }
+            String sessionId = exchange.getRequestHeaders().getFirst(SESSION_HEADER);
+            if (sessionId == null || sessionId.isBlank()) {
+                send(exchange, 400, error("Missing " + SESSION_HEADER + " header"));
+                return;
+            }
+            String name = exchange.getRequestURI().getPath().substring(PATH_PREFIX.length());
+            Method method = methods.get(name);
+            if (method == null) {
+                send(exchange, 404, error("Unknown operation: " + name));
+                return;
+            }
+
+            Object[] args;
+            try (InputStream body = exchange.getRequestBody()) {
+                args = arguments(method, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (RuntimeException e) {
+                send(exchange, 400, error("Invalid arguments for " + name + ": " + e.getMessage()));
+                return;
+            }
+
+            Reply reply = switch (name) {
+                case "login" -> login(sessionId, method, args);
+                case "logout" -> logout(sessionId, method, args);
+                default -> {
+                    Session session = sessions.get(sessionId);
+                    if (session != null) {
+                        yield session.invoke(method, args);
+                    }
+                    // Answered without a bridge, so callers without a login allocate nothing
+                    yield "getCurrentUser".equals(name)
+                            ? new Reply(200, error("No user logged in"))
+                            : new Reply(401, error("Not logged in"));
+                }
+            };
+            send(exchange, reply.status(), reply.body());
+        }
+    }
+
+    /**
+     * Logs a terminal in. A new session is only kept if the login succeeds.
+     */
+    private Reply login(String sessionId, Method method, Object[] args) {
+        Session session = sessions.get(sessionId);
+        if (session != null) {
+            return session.invoke(method, args);
+        }
+        session = new Session(beanFactory.createBean(JavaBridge.class));
+        Reply reply = session.invoke(method, args);
+        if (session.bridge.currentUserId() != null) {
+            sessions.put(sessionId, session);
+        } else {
+            beanFactory.destroyBean(session.bridge);
+        }
+        return reply;
+    }
+
+    /**
+     * Logs a terminal out and drops its session.
+     */
+    private Reply logout(String sessionId, Method method, Object[] args) {
+        Session session = sessions.remove(sessionId);
+        if (session == null) {
+            return new Reply(200, gson.toJson(new JavaBridge.ApiResponse(true, "Success", "Logged out successfully")));
+        }
+        Reply reply = session.invoke(method, args);
+        beanFactory.destroyBean(session.bridge);
+        return reply;
+    }
+
+    /**
+     * Compares the sent token in constant time.
+     */
+    private boolean tokenMatches(String sent) {
+        return sent != null && MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), sent.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Object[] arguments(Method method, String body) {
+        Class<?>[] types = method.getParameterTypes();
+        JsonArray json = body.isBlank() ? new JsonArray() : JsonParser.parseString(body).getAsJsonArray();
+        if (json.size() > types.length) {
+            throw new IllegalArgumentException("expected " + types.length + " arguments, got " + json.size());
+        }
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if (i < json.size() && !json.get(i).isJsonNull()) {
+                // Object parameters take a DTO and read the parsed tree themselves
+                args[i] = types[i] == Object.class ? json.get(i) : gson.fromJson(json.get(i), types[i]);
+            } else if (types[i].isPrimitive()) {
+                throw new IllegalArgumentException("argument " + (i + 1) + " is required");
+            }
+        }
+        return args;
+    }
+
+    private void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String error(String message) {
+        return gson.toJson(new JavaBridge.ApiResponse(false, message, null));
+    }
+
+    /**
+     * HTTP status and JSON body of one answer.
+     */
+    private record Reply(int status, String body) {}
+
+    /**
+     * One terminal's bridge.
+     */
+    private final class Session {
+
+        private final JavaBridge bridge;
+        // A lock rather than synchronized, so waiting virtual threads do not pin their carrier
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long lastSeen = System.currentTimeMillis();
+
+        Session(JavaBridge bridge) {
+            this.bridge = bridge;
+        }
+
+        /**
+         * Runs one operation, refusing it if it needs a login or an admin the session lacks.
+         */
+        Reply invoke(Method method, Object[] args) {
+            lastSeen = System.currentTimeMillis();
+            lock.lock();
+            try {
+                // Checked under the lock so a concurrent logout or login cannot slip in between
+                String name = method.getName();
+                if (bridge.currentUserId() == null && !PUBLIC_OPERATIONS.contains(name)) {
+                    return new Reply(401, error("Not logged in"));
+                }
+                if (ADMIN_OPERATIONS.contains(name) && !bridge.isAdmin()) {
+                    return new Reply(403, error("Only an admin may call " + name));
+                }
+                // The bridge records this terminal's user as the actor of its journal events
+                return new Reply(200, (String) method.invoke(bridge, args));
+            } catch (InvocationTargetException e) {
+                return new Reply(200, error("Failed to run " + method.getName() + ": " + e.getCause().getMessage()));
+            } catch (Exception e) {
+                return new Reply(200, error("Failed to run " + method.getName() + ": " + e.getMessage()));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
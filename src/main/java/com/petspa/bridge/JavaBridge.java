@@ -1,12 +1,16 @@
 package com.petspa.bridge;
 
 import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 import com.petspa.config.SpringContext;
 import com.petspa.dto.*;
 import com.petspa.service.*;
 import javafx.application.Platform;
+import netscape.javascript.JSObject;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * JavaBridge - The communication bridge between JavaScript (WebView) and Java.
  * 
@@ -20,12 +24,13 @@ import org.springframework.stereotype.Component;
  * Important Notes:
  * - All methods called from JS run on the JavaFX Application Thread
  * - Long-running operations should be executed asynchronously
- * - Results are returned as JSON strings via callback functions
+ * - Results are returned as JSON strings, or as JS objects for small responses
+ *   once a page is attached (see JsMarshaller)
  */
 @Component
 public class JavaBridge {
 
-    private final Gson gson;
+    private final JsMarshaller marshaller;
     
     // Services - Injected via Spring
     private final AuthService authService;
@@ -33,8 +38,19 @@ public class JavaBridge {
     private final CustomerService customerService;
     private final PetService petService;
     private final ServiceService serviceService;
+    private final PricingRuleService pricingRuleService;
     private final BookingService bookingService;
     private final ScheduleService scheduleService;
+    private final RosterService rosterService;
+    private final DashboardMetricsService metricsService;
+    private final BookingStatusQueues statusQueues;
+    private final ReportService reportService;
+    private final RollupService rollupService;
+    private final AnalyticsService analyticsService;
+    private final BookingEventJournal eventJournal;
+    private final ScreenPrefetcher prefetcher;
+    private final FlightRecorderService flightRecorderService;
+    private final DiagnosticsService diagnosticsService;
     
     // Current logged-in user session
     private UserDTO currentUser;
@@ -45,16 +61,38 @@ public class JavaBridge {
                       CustomerService customerService,
                       PetService petService,
                       ServiceService serviceService,
+                      PricingRuleService pricingRuleService,
                       BookingService bookingService,
-                      ScheduleService scheduleService) {
-        this.gson = gson;
+                      ScheduleService scheduleService,
+                      RosterService rosterService,
+                      DashboardMetricsService metricsService,
+                      BookingStatusQueues statusQueues,
+                      ReportService reportService,
+                      RollupService rollupService,
+                      AnalyticsService analyticsService,
+                      BookingEventJournal eventJournal,
+                      ScreenPrefetcher prefetcher,
+                      FlightRecorderService flightRecorderService,
+                      DiagnosticsService diagnosticsService) {
         this.authService = authService;
         this.userService = userService;
         this.customerService = customerService;
         this.petService = petService;
         this.serviceService = serviceService;
+        this.pricingRuleService = pricingRuleService;
         this.bookingService = bookingService;
         this.scheduleService = scheduleService;
+        this.rosterService = rosterService;
+        this.metricsService = metricsService;
+        this.statusQueues = statusQueues;
+        this.reportService = reportService;
+        this.rollupService = rollupService;
+        this.analyticsService = analyticsService;
+        this.eventJournal = eventJournal;
+        this.prefetcher = prefetcher;
+        this.flightRecorderService = flightRecorderService;
+        this.diagnosticsService = diagnosticsService;
+        this.marshaller = new JsMarshaller(gson, JsMarshaller.DEFAULT_DIRECT_LIMIT);
     }
 
     // =============================================================================
@@ -66,13 +104,15 @@ public class JavaBridge {
      * 
      * @param email user's email
      * @param password user's password
-     * @return JSON string with login result {success: boolean, user: UserDTO, message: string}
+     * @return login result {success: boolean, user: UserDTO, message: string}
      */
-    public String login(String email, String password) {
+    public Object login(String email, String password) {
         try {
             UserDTO user = authService.authenticate(email, password);
             if (user != null) {
                 this.currentUser = user;
+                // Warm the landing dashboard while the WebView navigates to it
+                prefetcher.onLogin(user);
                 return createSuccessResponse(user);
             } else {
                 return createErrorResponse("Invalid email or password");
@@ -85,7 +125,7 @@ public class JavaBridge {
     /**
      * Logs out the current user.
      */
-    public String logout() {
+    public Object logout() {
         this.currentUser = null;
         return createSuccessResponse("Logged out successfully");
     }
@@ -93,13 +133,27 @@ public class JavaBridge {
     /**
      * Gets the current logged-in user.
      */
-    public String getCurrentUser() {
+    public Object getCurrentUser() {
         if (currentUser != null) {
             return createSuccessResponse(currentUser);
         }
         return createErrorResponse("No user logged in");
     }
 
+    /**
+     * ID of the logged-in user, or null. Not exposed to JavaScript.
+     */
+    Long currentUserId() {
+        return currentUser != null ? currentUser.getId() : null;
+    }
+
+    /**
+     * Whether the logged-in user is an admin. Not exposed to JavaScript.
+     */
+    boolean isAdmin() {
+        return currentUser != null && "ADMIN".equals(currentUser.getRole());
+    }
+
     // =============================================================================
     // USER MANAGEMENT (Admin only)
     // =============================================================================
@@ -107,9 +161,9 @@ public class JavaBridge {
     /**
      * Gets all users (Admin and Staff accounts).
      */
-    public String getAllUsers() {
+    public Object getAllUsers() {
         try {
-            return createSuccessResponse(userService.getAllUsers());
+            return createSuccessResponse(prefetcher.get(ScreenPrefetcher.ALL_USERS, userService::getAllUsers));
         } catch (Exception e) {
             return createErrorResponse("Failed to get users: " + e.getMessage());
         }
@@ -118,9 +172,9 @@ public class JavaBridge {
     /**
      * Creates a new user (Admin/Staff).
      */
-    public String createUser(String userJson) {
+    public Object createUser(Object user) {
         try {
-            UserDTO userDTO = gson.fromJson(userJson, UserDTO.class);
+            UserDTO userDTO = marshaller.read(user, UserDTO.class);
             UserDTO created = userService.createUser(userDTO);
             return createSuccessResponse(created);
         } catch (Exception e) {
@@ -131,9 +185,9 @@ public class JavaBridge {
     /**
      * Updates an existing user.
      */
-    public String updateUser(String userJson) {
+    public Object updateUser(Object user) {
         try {
-            UserDTO userDTO = gson.fromJson(userJson, UserDTO.class);
+            UserDTO userDTO = marshaller.read(user, UserDTO.class);
             UserDTO updated = userService.updateUser(userDTO);
             return createSuccessResponse(updated);
         } catch (Exception e) {
@@ -144,7 +198,7 @@ public class JavaBridge {
     /**
      * Deactivates a user account (soft delete).
      */
-    public String deactivateUser(Long userId) {
+    public Object deactivateUser(Long userId) {
         try {
             userService.deactivateUser(userId);
             return createSuccessResponse("User deactivated successfully");
@@ -160,9 +214,9 @@ public class JavaBridge {
     /**
      * Gets all customers.
      */
-    public String getAllCustomers() {
+    public Object getAllCustomers() {
         try {
-            return createSuccessResponse(customerService.getAllCustomers());
+            return createSuccessResponse(prefetcher.get(ScreenPrefetcher.ALL_CUSTOMERS, customerService::getAllCustomers));
         } catch (Exception e) {
             return createErrorResponse("Failed to get customers: " + e.getMessage());
         }
@@ -171,7 +225,7 @@ public class JavaBridge {
     /**
      * Searches customers by phone number.
      */
-    public String searchCustomerByPhone(String phoneNumber) {
+    public Object searchCustomerByPhone(String phoneNumber) {
         try {
             return createSuccessResponse(customerService.findByPhoneNumber(phoneNumber));
         } catch (Exception e) {
@@ -182,9 +236,9 @@ public class JavaBridge {
     /**
      * Creates a new customer.
      */
-    public String createCustomer(String customerJson) {
+    public Object createCustomer(Object customer) {
         try {
-            CustomerDTO customerDTO = gson.fromJson(customerJson, CustomerDTO.class);
+            CustomerDTO customerDTO = marshaller.read(customer, CustomerDTO.class);
             CustomerDTO created = customerService.createCustomer(customerDTO);
             return createSuccessResponse(created);
         } catch (Exception e) {
@@ -195,9 +249,9 @@ public class JavaBridge {
     /**
      * Updates an existing customer.
      */
-    public String updateCustomer(String customerJson) {
+    public Object updateCustomer(Object customer) {
         try {
-            CustomerDTO customerDTO = gson.fromJson(customerJson, CustomerDTO.class);
+            CustomerDTO customerDTO = marshaller.read(customer, CustomerDTO.class);
             CustomerDTO updated = customerService.updateCustomer(customerDTO);
             return createSuccessResponse(updated);
         } catch (Exception e) {
@@ -212,7 +266,7 @@ public class JavaBridge {
     /**
      * Gets all pets for a specific customer.
      */
-    public String getPetsByCustomer(Long customerId) {
+    public Object getPetsByCustomer(Long customerId) {
         try {
             return createSuccessResponse(petService.getPetsByCustomerId(customerId));
         } catch (Exception e) {
@@ -223,9 +277,9 @@ public class JavaBridge {
     /**
      * Creates a new pet for a customer.
      */
-    public String createPet(String petJson) {
+    public Object createPet(Object pet) {
         try {
-            PetDTO petDTO = gson.fromJson(petJson, PetDTO.class);
+            PetDTO petDTO = marshaller.read(pet, PetDTO.class);
             PetDTO created = petService.createPet(petDTO);
             return createSuccessResponse(created);
         } catch (Exception e) {
@@ -236,9 +290,9 @@ public class JavaBridge {
     /**
      * Updates an existing pet.
      */
-    public String updatePet(String petJson) {
+    public Object updatePet(Object pet) {
         try {
-            PetDTO petDTO = gson.fromJson(petJson, PetDTO.class);
+            PetDTO petDTO = marshaller.read(pet, PetDTO.class);
             PetDTO updated = petService.updatePet(petDTO);
             return createSuccessResponse(updated);
         } catch (Exception e) {
@@ -253,20 +307,31 @@ public class JavaBridge {
     /**
      * Gets all active services.
      */
-    public String getAllServices() {
+    public Object getAllServices() {
         try {
-            return createSuccessResponse(serviceService.getAllActiveServices());
+            return createSuccessResponse(prefetcher.get(ScreenPrefetcher.ACTIVE_SERVICES, serviceService::getAllActiveServices));
         } catch (Exception e) {
             return createErrorResponse("Failed to get services: " + e.getMessage());
         }
     }
 
+    /**
+     * Gets one service with its description (the list leaves it out).
+     */
+    public Object getService(Long serviceId) {
+        try {
+            return createSuccessResponse(serviceService.getServiceById(serviceId));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to get service: " + e.getMessage());
+        }
+    }
+
     /**
      * Creates a new service.
      */
-    public String createService(String serviceJson) {
+    public Object createService(Object service) {
         try {
-            ServiceDTO serviceDTO = gson.fromJson(serviceJson, ServiceDTO.class);
+            ServiceDTO serviceDTO = marshaller.read(service, ServiceDTO.class);
             ServiceDTO created = serviceService.createService(serviceDTO);
             return createSuccessResponse(created);
         } catch (Exception e) {
@@ -274,6 +339,57 @@ public class JavaBridge {
         }
     }
 
+    // =============================================================================
+    // PRICING RULES
+    // =============================================================================
+
+    /**
+     * Gets all pricing rules, active or not.
+     */
+    public Object getPricingRules() {
+        try {
+            return createSuccessResponse(pricingRuleService.getAllRules());
+        } catch (Exception e) {
+            return createErrorResponse("Failed to get pricing rules: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a new pricing rule.
+     */
+    public Object createPricingRule(Object rule) {
+        try {
+            PricingRuleDTO ruleDTO = marshaller.read(rule, PricingRuleDTO.class);
+            return createSuccessResponse(pricingRuleService.createRule(ruleDTO));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to create pricing rule: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Updates an existing pricing rule.
+     */
+    public Object updatePricingRule(Object rule) {
+        try {
+            PricingRuleDTO ruleDTO = marshaller.read(rule, PricingRuleDTO.class);
+            return createSuccessResponse(pricingRuleService.updateRule(ruleDTO));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to update pricing rule: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes a pricing rule.
+     */
+    public Object deletePricingRule(Long ruleId) {
+        try {
+            pricingRuleService.deleteRule(ruleId);
+            return createSuccessResponse("Pricing rule deleted successfully");
+        } catch (Exception e) {
+            return createErrorResponse("Failed to delete pricing rule: " + e.getMessage());
+        }
+    }
+
     // =============================================================================
     // BOOKING MANAGEMENT
     // =============================================================================
@@ -281,7 +397,7 @@ public class JavaBridge {
     /**
      * Gets all bookings for a specific date.
      */
-    public String getBookingsByDate(String dateStr) {
+    public Object getBookingsByDate(String dateStr) {
         try {
             return createSuccessResponse(bookingService.getBookingsByDate(dateStr));
         } catch (Exception e) {
@@ -292,7 +408,7 @@ public class JavaBridge {
     /**
      * Gets bookings assigned to a specific staff member.
      */
-    public String getBookingsByStaff(Long staffId, String dateStr) {
+    public Object getBookingsByStaff(Long staffId, String dateStr) {
         try {
             return createSuccessResponse(bookingService.getBookingsByStaffAndDate(staffId, dateStr));
         } catch (Exception e) {
@@ -300,31 +416,249 @@ public class JavaBridge {
         }
     }
 
+    /**
+     * Gets the bookings of a date changed since a version (see BookingChangesDTO).
+     * Pass null as the version for the whole day.
+     */
+    public Object getBookingChangesSince(String dateStr, Long version) {
+        try {
+            if (version == null) {
+                return createSuccessResponse(prefetcher.get(ScreenPrefetcher.bookingChangesKey(dateStr, null),
+                        () -> bookingService.getBookingChangesSince(dateStr, null, null)));
+            }
+            return createSuccessResponse(bookingService.getBookingChangesSince(dateStr, null, version));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to get booking changes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets a staff member's bookings of a date changed since a version.
+     */
+    public Object getStaffBookingChangesSince(Long staffId, String dateStr, Long version) {
+        try {
+            if (version == null) {
+                return createSuccessResponse(prefetcher.get(ScreenPrefetcher.bookingChangesKey(dateStr, staffId),
+                        () -> bookingService.getBookingChangesSince(dateStr, staffId, null)));
+            }
+            return createSuccessResponse(bookingService.getBookingChangesSince(dateStr, staffId, version));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to get staff booking changes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the dashboard counters (bookings by status, revenue, staff load,
+     * service counts) for a date, or today if dateStr is null.
+     */
+    public Object getDashboardSnapshot(String dateStr) {
+        try {
+            return createSuccessResponse(metricsService.getDashboardSnapshot(dateStr));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to get dashboard snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the first bookings waiting in a status (PENDING, CONFIRMED or IN_PROGRESS),
+     * oldest first, for the to-do boards. dateStr null means all dates, limit null 50.
+     */
+    public Object getStatusQueue(String status, String dateStr, Integer limit) {
+        try {
+            return createSuccessResponse(statusQueues.getQueue(status, dateStr, limit));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to get status queue: " + e.getMessage());
+        }
+    }
+
     /**
      * Creates a new booking.
      */
-    public String createBooking(String bookingJson) {
+    public Object createBooking(Object booking) {
         try {
-            BookingDTO bookingDTO = gson.fromJson(bookingJson, BookingDTO.class);
-            BookingDTO created = bookingService.createBooking(bookingDTO);
+            BookingDTO bookingDTO = marshaller.read(booking, BookingDTO.class);
+            BookingDTO created = eventJournal.withActor(currentUserId(),
+                    () -> bookingService.createBooking(bookingDTO));
             return createSuccessResponse(created);
         } catch (Exception e) {
             return createErrorResponse("Failed to create booking: " + e.getMessage());
         }
     }
 
+    /**
+     * Prices a booking with the pricing rules, without saving it.
+     */
+    public Object quoteBooking(Object booking) {
+        try {
+            BookingDTO bookingDTO = marshaller.read(booking, BookingDTO.class);
+            return createSuccessResponse(bookingService.quoteBooking(bookingDTO));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to quote booking: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves a booking to another staff member, date and/or time.
+     * Fails if the new slot overlaps another booking of that staff member.
+     */
+    public Object rescheduleBooking(Long bookingId, Long staffId, String dateStr, String timeStr) {
+        try {
+            BookingDTO updated = eventJournal.withActor(currentUserId(),
+                    () -> bookingService.rescheduleBooking(bookingId, staffId, dateStr, timeStr));
+            return createSuccessResponse(updated);
+        } catch (Exception e) {
+            return createErrorResponse("Failed to reschedule booking: " + e.getMessage());
+        }
+    }
+
     /**
      * Updates booking status.
      */
-    public String updateBookingStatus(Long bookingId, String status) {
+    public Object updateBookingStatus(Long bookingId, String status) {
         try {
-            BookingDTO updated = bookingService.updateStatus(bookingId, status);
+            BookingDTO updated = eventJournal.withActor(currentUserId(),
+                    () -> bookingService.updateStatus(bookingId, status));
             return createSuccessResponse(updated);
         } catch (Exception e) {
             return createErrorResponse("Failed to update booking: " + e.getMessage());
         }
     }
 
+    /**
+     * Moves several bookings to a status at once, e.g. COMPLETED at closing time.
+     * Pass an array of booking IDs, or null and a date plus the status to select
+     * (all CONFIRMED bookings of a day, say). Returns a summary instead of the bookings.
+     */
+    public Object bulkUpdateBookingStatus(Object bookingIds, String dateStr, String fromStatus, String status) {
+        try {
+            List<Long> ids = marshaller.read(bookingIds, new TypeToken<List<Long>>() {}.getType());
+            BulkStatusResultDTO result = eventJournal.withActor(currentUserId(),
+                    () -> bookingService.bulkUpdateStatus(ids, dateStr, fromStatus, status));
+            return createSuccessResponse(result);
+        } catch (Exception e) {
+            return createErrorResponse("Failed to update bookings: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a recurring booking series from a template booking and a rule
+     * (every intervalWeeks from startDate to untilDate).
+     * Fails if the staff member is taken on some dates, unless skipConflicts is set.
+     */
+    public Object createBookingSeries(Object series) {
+        try {
+            BookingSeriesDTO seriesDTO = marshaller.read(series, BookingSeriesDTO.class);
+            BookingSeriesDTO created = eventJournal.withActor(currentUserId(),
+                    () -> bookingService.createSeries(seriesDTO));
+            return createSuccessResponse(created);
+        } catch (Exception e) {
+            return createErrorResponse("Failed to create booking series: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the open occurrences of a series from a date on to another time and/or staff member.
+     */
+    public Object rescheduleBookingSeries(Long seriesId, String fromDateStr, Long staffId, String timeStr) {
+        try {
+            BookingSeriesDTO updated = eventJournal.withActor(currentUserId(),
+                    () -> bookingService.rescheduleSeries(seriesId, fromDateStr, staffId, timeStr));
+            return createSuccessResponse(updated);
+        } catch (Exception e) {
+            return createErrorResponse("Failed to reschedule booking series: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cancels the open occurrences of a series from a date on.
+     */
+    public Object cancelBookingSeries(Long seriesId, String fromDateStr) {
+        try {
+            return createSuccessResponse(eventJournal.withActor(currentUserId(),
+                    () -> bookingService.cancelSeries(seriesId, fromDateStr)));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to cancel booking series: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the lifecycle history of a booking.
+     */
+    public Object getBookingHistory(Long bookingId) {
+        try {
+            return createSuccessResponse(eventJournal.getHistory(bookingId));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to get booking history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads booking events after a journal position (0 = from the beginning).
+     * Pass the position of the last event received to continue.
+     */
+    public Object getBookingEvents(long afterPosition, int limit) {
+        try {
+            return createSuccessResponse(eventJournal.readAfter(afterPosition, limit));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to read booking events: " + e.getMessage());
+        }
+    }
+
+    // =============================================================================
+    // REPORTS
+    // =============================================================================
+
+    /**
+     * Gets a revenue/popularity report from the daily rollups.
+     * 
+     * @param groupBy "day", "staff", "species", "status" or "service"
+     */
+    public Object getReport(String groupBy, String startDateStr, String endDateStr) {
+        try {
+            return createSuccessResponse(reportService.getReport(groupBy, startDateStr, endDateStr));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to get report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compares rollups with the raw bookings and lists the days that disagree.
+     * With repair=true those days are queued for rebuild.
+     */
+    public Object reconcileRollups(String startDateStr, String endDateStr, boolean repair) {
+        try {
+            return createSuccessResponse(rollupService.reconcile(startDateStr, endDateStr, repair));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to reconcile rollups: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Pivots booking history by one or two dimensions
+     * (WEEKDAY, HOUR, DATE, STAFF, SPECIES, STATUS, SERVICE).
+     * Pass a null columnDimension for a single-column breakdown.
+     */
+    public Object getAnalyticsPivot(String startDateStr, String endDateStr, String rowDimension,
+                                    String columnDimension, boolean includeCancelled) {
+        try {
+            return createSuccessResponse(analyticsService.pivot(
+                    startDateStr, endDateStr, rowDimension, columnDimension, includeCancelled));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to run analytics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queues every day with bookings in a range for rollup rebuild.
+     */
+    public Object rebuildRollups(String startDateStr, String endDateStr) {
+        try {
+            return createSuccessResponse(rollupService.markRangeDirty(startDateStr, endDateStr));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to queue rollup rebuild: " + e.getMessage());
+        }
+    }
+
     // =============================================================================
     // SCHEDULE MANAGEMENT
     // =============================================================================
@@ -332,7 +666,7 @@ public class JavaBridge {
     /**
      * Gets available staff for a specific date and time.
      */
-    public String getAvailableStaff(String dateStr, String timeStr) {
+    public Object getAvailableStaff(String dateStr, String timeStr) {
         try {
             return createSuccessResponse(scheduleService.getAvailableStaff(dateStr, timeStr));
         } catch (Exception e) {
@@ -343,20 +677,33 @@ public class JavaBridge {
     /**
      * Gets schedule for a specific staff member.
      */
-    public String getStaffSchedule(Long staffId) {
+    public Object getStaffSchedule(Long staffId) {
         try {
-            return createSuccessResponse(scheduleService.getScheduleByStaffId(staffId));
+            return createSuccessResponse(prefetcher.get(ScreenPrefetcher.staffScheduleKey(staffId),
+                    () -> scheduleService.getScheduleByStaffId(staffId)));
         } catch (Exception e) {
             return createErrorResponse("Failed to get schedule: " + e.getMessage());
         }
     }
 
+    /**
+     * Gets every active staff member's weekly schedule as a compact matrix
+     * (staff and shift type dictionaries plus per-day shift bitmasks).
+     */
+    public Object getRosterMatrix() {
+        try {
+            return createSuccessResponse(prefetcher.get(ScreenPrefetcher.ROSTER_MATRIX, scheduleService::getRosterMatrix));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to get roster matrix: " + e.getMessage());
+        }
+    }
+
     /**
      * Assigns a shift to a staff member.
      */
-    public String assignShift(String scheduleJson) {
+    public Object assignShift(Object schedule) {
         try {
-            StaffScheduleDTO scheduleDTO = gson.fromJson(scheduleJson, StaffScheduleDTO.class);
+            StaffScheduleDTO scheduleDTO = marshaller.read(schedule, StaffScheduleDTO.class);
             StaffScheduleDTO created = scheduleService.assignShift(scheduleDTO);
             return createSuccessResponse(created);
         } catch (Exception e) {
@@ -364,10 +711,27 @@ public class JavaBridge {
         }
     }
 
+    /**
+     * Saves a whole weekly shift grid in one call.
+     * 
+     * @param staffId the staff member whose grid is replaced, or null for all staff
+     * @param cells array (or JSON array) of {staffId, dayOfWeek, shiftTypeId}
+     * @return the new grid
+     */
+    public Object saveWeeklyGrid(Long staffId, Object cells) {
+        try {
+            List<StaffScheduleDTO> grid = marshaller.read(cells,
+                    new TypeToken<List<StaffScheduleDTO>>() {}.getType());
+            return createSuccessResponse(scheduleService.saveWeeklyGrid(staffId, grid));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to save weekly grid: " + e.getMessage());
+        }
+    }
+
     /**
      * Gets all shift types.
      */
-    public String getAllShiftTypes() {
+    public Object getAllShiftTypes() {
         try {
             return createSuccessResponse(scheduleService.getAllShiftTypes());
         } catch (Exception e) {
@@ -375,15 +739,153 @@ public class JavaBridge {
         }
     }
 
+    /**
+     * Changes a shift type's name and times; the roster follows right away.
+     */
+    public Object updateShiftType(Object shiftType) {
+        try {
+            ShiftTypeDTO shiftTypeDTO = marshaller.read(shiftType, ShiftTypeDTO.class);
+            return createSuccessResponse(scheduleService.updateShiftType(shiftTypeDTO));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to update shift type: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the materialized roster (who works which shift) for a specific date.
+     */
+    public Object getRosterByDate(String dateStr) {
+        try {
+            return createSuccessResponse(rosterService.getRosterByDate(dateStr));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to get roster: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets schedule overrides (leave, extra shifts) in a date range.
+     * Pass a null staffId to get overrides for everyone.
+     */
+    public Object getScheduleOverrides(Long staffId, String startDateStr, String endDateStr) {
+        try {
+            return createSuccessResponse(rosterService.getOverrides(staffId, startDateStr, endDateStr));
+        } catch (Exception e) {
+            return createErrorResponse("Failed to get schedule overrides: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds a leave or extra-shift override for a staff member on a date.
+     */
+    public Object addScheduleOverride(Object override) {
+        try {
+            ScheduleOverrideDTO overrideDTO = marshaller.read(override, ScheduleOverrideDTO.class);
+            ScheduleOverrideDTO created = rosterService.addOverride(overrideDTO);
+            return createSuccessResponse(created);
+        } catch (Exception e) {
+            return createErrorResponse("Failed to add schedule override: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes a schedule override.
+     */
+    public Object removeScheduleOverride(Long overrideId) {
+        try {
+            rosterService.removeOverride(overrideId);
+            return createSuccessResponse("Schedule override removed successfully");
+        } catch (Exception e) {
+            return createErrorResponse("Failed to remove schedule override: " + e.getMessage());
+        }
+    }
+
+    // =============================================================================
+    // DIAGNOSTICS (Admin only)
+    // =============================================================================
+
+    /**
+     * Starts an on-demand flight recording of bridge calls, service calls and
+     * SQL statements. In server mode it records the server.
+     */
+    public Object startFlightRecording() {
+        try {
+            return createSuccessResponse(flightRecorderService.start());
+        } catch (Exception e) {
+            return createErrorResponse("Failed to start recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes what the running recording holds to a .jfr file and keeps recording.
+     */
+    public Object dumpFlightRecording() {
+        try {
+            return createSuccessResponse(flightRecorderService.dump());
+        } catch (Exception e) {
+            return createErrorResponse("Failed to dump recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the recording and writes it to a .jfr file.
+     */
+    public Object stopFlightRecording() {
+        try {
+            return createSuccessResponse(flightRecorderService.stop());
+        } catch (Exception e) {
+            return createErrorResponse("Failed to stop recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets whether a recording is running and the last file written.
+     */
+    public Object getFlightRecordingStatus() {
+        return createSuccessResponse(flightRecorderService.status());
+    }
+
+    /**
+     * Gets the slow-query log and Hibernate statistics.
+     */
+    public Object getDiagnostics() {
+        try {
+            return createSuccessResponse(diagnosticsService.getDiagnostics());
+        } catch (Exception e) {
+            return createErrorResponse("Failed to get diagnostics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Clears the slow-query log and restarts the Hibernate statistics.
+     */
+    public Object resetDiagnostics() {
+        try {
+            diagnosticsService.reset();
+            return createSuccessResponse("Diagnostics reset");
+        } catch (Exception e) {
+            return createErrorResponse("Failed to reset diagnostics: " + e.getMessage());
+        }
+    }
+
     // =============================================================================
     // NAVIGATION
     // =============================================================================
 
+    /**
+     * Attaches the JS context of a newly loaded page so small responses can be
+     * returned as JS objects. Called by MainController after each page load.
+     */
+    public void attachPage(JSObject window) {
+        marshaller.attach(window);
+    }
+
     /**
      * Navigates to a different page.
      * Called from JavaScript to request page change.
      */
     public void navigateTo(String page) {
+        // Start loading the page's data while it navigates
+        prefetcher.onNavigate(page, currentUser);
         Platform.runLater(() -> {
             // Navigation will be handled by MainController
             SpringContext.getBean(com.petspa.controller.MainController.class).loadPage(page);
@@ -395,7 +897,7 @@ public class JavaBridge {
      * @param componentName The name of the component file (e.g., "admin_sidebar.html")
      * @return The HTML content of the component
      */
-    public String loadComponent(String componentName) {
+    public Object loadComponent(String componentName) {
         try {
             String resourcePath = "/ui/components/" + componentName;
             java.io.InputStream inputStream = getClass().getResourceAsStream(resourcePath);
@@ -417,17 +919,17 @@ public class JavaBridge {
     /**
      * Creates a standardized success response.
      */
-    private String createSuccessResponse(Object data) {
+    private Object createSuccessResponse(Object data) {
         ApiResponse response = new ApiResponse(true, "Success", data);
-        return gson.toJson(response);
+        return marshaller.write(response);
     }
 
     /**
      * Creates a standardized error response.
      */
-    private String createErrorResponse(String message) {
+    private Object createErrorResponse(String message) {
         ApiResponse response = new ApiResponse(false, message, null);
-        return gson.toJson(response);
+        return marshaller.write(response);
     }
 
     /**
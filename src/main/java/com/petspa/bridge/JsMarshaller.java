@@ -0,0 +1,179 @@
+package com.petspa.bridge;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import netscape.javascript.JSObject;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * JsMarshaller - Converts bridge responses and arguments between Java and the WebView.
+ *
+ * A response leaves the bridge in one of two forms, chosen per call:
+ * - JSON: a Gson string that common.js turns into objects with JSON.parse.
+ * - Direct: JS objects and arrays built through the JSObject API, so the
+ *   response is neither encoded nor parsed.
+ *
+ * Every JSObject call crosses into the JS engine, while JSON.parse handles a
+ * whole document in one native pass, so direct marshalling only wins for small
+ * responses (see MarshallingBenchmark). Every response is encoded once, and the
+ * length of that JSON decides: anything longer than the limit goes out as is,
+ * so large responses cost no more than plain JSON; shorter ones are parsed back
+ * into a tree and sent directly.
+ *
+ * Arguments are read from whatever the caller sent: a JSON string, a JS object
+ * (JSObject) or, in server mode, an already parsed Gson tree.
+ *
+ * Until a page is attached (and always in server mode) responses are JSON.
+ * JSObject may only be used on the JavaFX Application Thread, which is where
+ * WebView bridge calls run.
+ */
+public class JsMarshaller {
+
+    /**
+     * Longest response JSON, in characters, sent directly. The application's pretty
+     * printed JSON takes about 27 characters per value, so this is about 70 values:
+     * an error, an acknowledgement or a single booking (1,133 characters), but not
+     * two bookings (2,206).
+     */
+    public static final int DEFAULT_DIRECT_LIMIT = 2_000;
+
+    /**
+     * Helpers evaluated once per page; calling them is cheaper than evaluating script per value.
+     */
+    private static final String HELPERS_SCRIPT = """
+            ({
+                object: function () { return {}; },
+                array: function () { return []; },
+                keys: function (o) { return Object.keys(o); },
+                isArray: function (o) { return Array.isArray(o); }
+            })
+            """;
+
+    private final Gson gson;
+    private final int directLimit;
+
+    private JSObject helpers;
+
+    public JsMarshaller(Gson gson, int directLimit) {
+        this.gson = gson;
+        this.directLimit = directLimit;
+    }
+
+    /**
+     * Attaches the JS context of a newly loaded page, or detaches with null.
+     */
+    public void attach(JSObject window) {
+        helpers = window != null ? (JSObject) window.eval(HELPERS_SCRIPT) : null;
+    }
+
+    /**
+     * Converts a response for the caller: a JSObject when it is small and a page
+     * is attached, otherwise a JSON string.
+     */
+    public Object write(Object response) {
+        String json = gson.toJson(response);
+        JSObject js = helpers;
+        if (js == null || json.length() > directLimit) {
+            return json;
+        }
+        return toJs(js, JsonParser.parseString(json));
+    }
+
+    /**
+     * Reads an argument sent by the caller as the given type.
+     */
+    public <T> T read(Object value, Type type) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String json) {
+            return gson.fromJson(json, type);
+        }
+        if (value instanceof JsonElement tree) {
+            // A string in the tree is a DTO the caller had already encoded
+            boolean encoded = tree.isJsonPrimitive() && tree.getAsJsonPrimitive().isString();
+            return encoded ? gson.fromJson(tree.getAsString(), type) : gson.fromJson(tree, type);
+        }
+        if (value instanceof JSObject object) {
+            return gson.fromJson(fromJs(object), type);
+        }
+        throw new IllegalArgumentException("Unsupported argument type: " + value.getClass().getName());
+    }
+
+    private Object toJs(JSObject js, JsonElement element) {
+        if (element.isJsonNull()) {
+            return null;
+        }
+        if (element.isJsonPrimitive()) {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                return primitive.getAsBoolean();
+            }
+            if (primitive.isNumber()) {
+                // Same value JSON.parse would produce
+                return primitive.getAsDouble();
+            }
+            return primitive.getAsString();
+        }
+        if (element.isJsonArray()) {
+            JsonArray items = element.getAsJsonArray();
+            JSObject array = (JSObject) js.call("array");
+            for (int i = 0; i < items.size(); i++) {
+                array.setSlot(i, toJs(js, items.get(i)));
+            }
+            return array;
+        }
+        JSObject object = (JSObject) js.call("object");
+        for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+            object.setMember(entry.getKey(), toJs(js, entry.getValue()));
+        }
+        return object;
+    }
+
+    private JsonElement fromJs(Object value) {
+        // JSObject reports undefined as the string "undefined"
+        if (value == null || "undefined".equals(value)) {
+            return JsonNull.INSTANCE;
+        }
+        if (value instanceof String text) {
+            return new JsonPrimitive(text);
+        }
+        if (value instanceof Boolean flag) {
+            return new JsonPrimitive(flag);
+        }
+        if (value instanceof Number number) {
+            return new JsonPrimitive(number);
+        }
+        if (!(value instanceof JSObject object)) {
+            throw new IllegalArgumentException("Unsupported JS value: " + value.getClass().getName());
+        }
+
+        JSObject js = helpers;
+        if (js == null) {
+            throw new IllegalStateException("No page attached");
+        }
+        if (Boolean.TRUE.equals(js.call("isArray", object))) {
+            JsonArray array = new JsonArray();
+            int length = ((Number) object.getMember("length")).intValue();
+            for (int i = 0; i < length; i++) {
+                array.add(fromJs(object.getSlot(i)));
+            }
+            return array;
+        }
+        JsonObject result = new JsonObject();
+        JSObject keys = (JSObject) js.call("keys", object);
+        int length = ((Number) keys.getMember("length")).intValue();
+        for (int i = 0; i < length; i++) {
+            String key = (String) keys.getSlot(i);
+            result.add(key, fromJs(object.getMember(key)));
+        }
+        return result;
+    }
+}
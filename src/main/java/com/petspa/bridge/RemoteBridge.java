@@ -0,0 +1,103 @@
+package com.petspa.bridge;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * RemoteBridge - Thin client used instead of JavaBridge when the desktop app runs
+ * against a shared backend (BridgeHttpServer).
+ *
+ * It is injected into the WebView as "remoteBridge", and a small script turns
+ * window.javaBridge into a proxy whose methods call invoke(name, argsJson), so the
+ * pages keep calling javaBridge.xxx(...) unchanged and synchronously.
+ * navigateTo stays local because it drives this terminal's WebView.
+ */
+public class RemoteBridge {
+
+    /**
+     * Script that defines window.javaBridge on top of window.remoteBridge.
+     */
+    public static final String PROXY_SCRIPT = """
+            (function () {
+                var remote = window.remoteBridge;
+                window.javaBridge = new Proxy({}, {
+                    get: function (target, name) {
+                        if (typeof name !== 'string' || name === 'then') {
+                            return undefined;
+                        }
+                        if (name === 'navigateTo') {
+                            return function (page) { remote.navigateTo(page); };
+                        }
+                        return function () {
+                            return remote.invoke(name, JSON.stringify(Array.prototype.slice.call(arguments)));
+                        };
+                    }
+                });
+            })();
+            """;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final String token;
+    private final String sessionId = UUID.randomUUID().toString();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private Consumer<String> navigator = page -> { };
+
+    /**
+     * @param baseUrl server URL, e.g. http://192.168.1.10:8085
+     * @param token shared secret configured on the server, or null
+     */
+    public RemoteBridge(String baseUrl, String token) {
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.token = token;
+    }
+
+    /**
+     * Sets what navigateTo does (loads a page into the local WebView).
+     */
+    public void setNavigator(Consumer<String> navigator) {
+        this.navigator = navigator;
+    }
+
+    /**
+     * Calls a JavaBridge operation on the server.
+     *
+     * @param method JavaBridge method name
+     * @param argsJson JSON array of the arguments
+     * @return the JavaBridge response JSON
+     */
+    public String invoke(String method, String argsJson) {
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve("bridge/" + method))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json; charset=utf-8")
+                    .header(BridgeHttpServer.SESSION_HEADER, sessionId)
+                    .POST(HttpRequest.BodyPublishers.ofString(argsJson != null ? argsJson : "[]", StandardCharsets.UTF_8));
+            if (token != null && !token.isEmpty()) {
+                request.header(BridgeHttpServer.TOKEN_HEADER, token);
+            }
+            return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)).body();
+        } catch (Exception e) {
+            return "{\"success\": false, \"message\": \"Server unavailable: "
+                    + String.valueOf(e.getMessage()).replace("\\", "\\\\").replace("\"", "\\\"")
+                    + "\", \"data\": null}";
+        }
+    }
+
+    /**
+     * Navigates to a different page.
+     */
+    public void navigateTo(String page) {
+        navigator.accept(page);
+    }
+}
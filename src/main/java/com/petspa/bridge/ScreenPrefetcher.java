@@ -0,0 +1,213 @@
+package com.petspa.bridge;
+
+import com.petspa.dto.UserDTO;
+import com.petspa.model.ChangeVersion;
+import com.petspa.service.BookingService;
+import com.petspa.service.ChangeVersionService;
+import com.petspa.service.CustomerService;
+import com.petspa.service.ScheduleService;
+import com.petspa.service.ServiceService;
+import com.petspa.service.UserService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Screen Prefetcher - Loads the data of the screens a user is about to see
+ * while the WebView is still navigating.
+ *
+ * After login it starts loading the landing dashboard of the user's role, and on
+ * every navigation the page being opened plus the pages reachable from its
+ * sidebar. Loads run on a small pool of background threads; bridge calls then
+ * take the result (waiting for it if it is still loading) instead of querying.
+ *
+ * A result is only served while it is fresh: younger than TTL_MILLIS and with no
+ * change known to ChangeVersionService in the regions it was read from since the
+ * load started. Anything else falls back to a normal query.
+ */
+@Component
+public class ScreenPrefetcher {
+
+    public static final String ADMIN_DASHBOARD = "admin/dashboard.html";
+    public static final String ADMIN_SERVICES = "admin/services.html";
+    public static final String ADMIN_WORKSHIFTS = "admin/workshifts.html";
+    public static final String STAFF_DASHBOARD = "staff/dashboard.html";
+
+    public static final String ALL_USERS = "allUsers";
+    public static final String ALL_CUSTOMERS = "allCustomers";
+    public static final String ACTIVE_SERVICES = "activeServices";
+    public static final String ROSTER_MATRIX = "rosterMatrix";
+
+    private static final long TTL_MILLIS = 60_000;
+
+    /**
+     * Background loads at a time, kept well below the connection pool size.
+     */
+    private static final int THREADS = 3;
+
+    /**
+     * Pages reachable in one click from a page's sidebar.
+     */
+    private static final Map<String, List<String>> NEXT_PAGES = Map.of(
+            ADMIN_DASHBOARD, List.of(ADMIN_SERVICES, ADMIN_WORKSHIFTS),
+            ADMIN_SERVICES, List.of(ADMIN_DASHBOARD, ADMIN_WORKSHIFTS),
+            ADMIN_WORKSHIFTS, List.of(ADMIN_DASHBOARD, ADMIN_SERVICES));
+
+    private final UserService userService;
+    private final CustomerService customerService;
+    private final ServiceService serviceService;
+    private final BookingService bookingService;
+    private final ScheduleService scheduleService;
+    private final ChangeVersionService changeVersions;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public ScreenPrefetcher(UserService userService, CustomerService customerService, ServiceService serviceService,
+                            BookingService bookingService, ScheduleService scheduleService,
+                            ChangeVersionService changeVersions) {
+        this.userService = userService;
+        this.customerService = customerService;
+        this.serviceService = serviceService;
+        this.bookingService = bookingService;
+        this.scheduleService = scheduleService;
+        this.changeVersions = changeVersions;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "screen-prefetch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Starts loading the landing dashboard of the user's role and its neighbours.
+     */
+    public void onLogin(UserDTO user) {
+        onNavigate("ADMIN".equals(user.getRole()) ? ADMIN_DASHBOARD : STAFF_DASHBOARD, user);
+    }
+
+    /**
+     * Starts loading a page that is being opened and the pages reachable from it.
+     */
+    public void onNavigate(String page, UserDTO user) {
+        if (user == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> now - entry.startedAt() > TTL_MILLIS);
+
+        prefetchPage(page, user);
+        for (String next : NEXT_PAGES.getOrDefault(page, List.of())) {
+            prefetchPage(next, user);
+        }
+    }
+
+    /**
+     * Returns the prefetched result for a key if it is fresh, otherwise runs the loader.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        Entry entry = entries.get(key);
+        if (entry != null && isFresh(entry)) {
+            try {
+                return (T) entry.result().join();
+            } catch (Exception e) {
+                // Failed in the background; the caller's own query reports the error
+                entries.remove(key, entry);
+            }
+        }
+        return loader.get();
+    }
+
+    /**
+     * Key of a day's booking view as requested without a version (first load).
+     */
+    public static String bookingChangesKey(String date, Long staffId) {
+        return "bookingChanges|" + date + "|" + staffId;
+    }
+
+    /**
+     * Key of a staff member's weekly schedule.
+     */
+    public static String staffScheduleKey(Long staffId) {
+        return "staffSchedule|" + staffId;
+    }
+
+    private void prefetchPage(String page, UserDTO user) {
+        String today = LocalDate.now().toString();
+        switch (page) {
+            case ADMIN_DASHBOARD -> {
+                prefetch(bookingChangesKey(today, null), () -> bookingService.getBookingChangesSince(today, null, null),
+                        ChangeVersion.Region.BOOKINGS, ChangeVersion.Region.CUSTOMERS, ChangeVersion.Region.PETS,
+                        ChangeVersion.Region.USERS, ChangeVersion.Region.SERVICES);
+                prefetch(ALL_CUSTOMERS, customerService::getAllCustomers,
+                        ChangeVersion.Region.CUSTOMERS, ChangeVersion.Region.PETS);
+                prefetch(ACTIVE_SERVICES, serviceService::getAllActiveServices, ChangeVersion.Region.SERVICES);
+                prefetch(ALL_USERS, userService::getAllUsers, ChangeVersion.Region.USERS);
+            }
+            case ADMIN_SERVICES -> prefetch(ACTIVE_SERVICES, serviceService::getAllActiveServices,
+                    ChangeVersion.Region.SERVICES);
+            case ADMIN_WORKSHIFTS -> prefetch(ROSTER_MATRIX, scheduleService::getRosterMatrix,
+                    ChangeVersion.Region.SCHEDULES, ChangeVersion.Region.USERS);
+            case STAFF_DASHBOARD -> {
+                Long staffId = user.getId();
+                prefetch(bookingChangesKey(today, staffId), () -> bookingService.getBookingChangesSince(today, staffId, null),
+                        ChangeVersion.Region.BOOKINGS, ChangeVersion.Region.CUSTOMERS, ChangeVersion.Region.PETS,
+                        ChangeVersion.Region.USERS, ChangeVersion.Region.SERVICES);
+                prefetch(staffScheduleKey(staffId), () -> scheduleService.getScheduleByStaffId(staffId),
+                        ChangeVersion.Region.SCHEDULES);
+            }
+            default -> {
+                // No known working set
+            }
+        }
+    }
+
+    private void prefetch(String key, Supplier<?> loader, ChangeVersion.Region... regions) {
+        Entry existing = entries.get(key);
+        if (existing != null && isFresh(existing)) {
+            return;
+        }
+        // Counts are taken before loading, so a change during the load makes the result stale
+        Map<ChangeVersion.Region, Long> counts = new EnumMap<>(ChangeVersion.Region.class);
+        for (ChangeVersion.Region region : regions) {
+            counts.put(region, changeVersions.knownChanges(region));
+        }
+        CompletableFuture<Object> result = CompletableFuture.supplyAsync(loader::get, executor);
+        entries.put(key, new Entry(result, System.currentTimeMillis(), counts));
+    }
+
+    private boolean isFresh(Entry entry) {
+        if (System.currentTimeMillis() - entry.startedAt() > TTL_MILLIS) {
+            return false;
+        }
+        for (Map.Entry<ChangeVersion.Region, Long> count : entry.counts().entrySet()) {
+            if (changeVersions.knownChanges(count.getKey()) != count.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A started load.
+     */
+    private record Entry(CompletableFuture<Object> result, long startedAt, Map<ChangeVersion.Region, Long> counts) {}
+}
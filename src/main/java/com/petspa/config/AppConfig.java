@@ -2,8 +2,12 @@ package com.petspa.config;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -11,8 +15,11 @@ import java.time.LocalTime;
 
 /**
  * Application Configuration for beans used across the application.
+ * 
+ * Scheduling is enabled for background jobs such as the nightly roster refresh.
  */
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     /**
@@ -29,4 +36,14 @@ public class AppConfig {
                 .serializeNulls()
                 .create();
     }
+
+    /**
+     * Turns on Hibernate session-factory statistics for the diagnostics page
+     * (petspa.hibernate-statistics=false turns them off).
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatistics(
+            @Value("${petspa.hibernate-statistics:true}") boolean enabled) {
+        return properties -> properties.put(AvailableSettings.GENERATE_STATISTICS, enabled);
+    }
 }
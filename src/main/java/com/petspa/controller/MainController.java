@@ -1,6 +1,8 @@
 package com.petspa.controller;
 
 import com.petspa.bridge.JavaBridge;
+import com.petspa.bridge.RemoteBridge;
+import javafx.application.Platform;
 import javafx.concurrent.Worker;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
@@ -9,6 +11,7 @@ import javafx.scene.web.WebEngine;
 import javafx.scene.web.WebView;
 import javafx.stage.Stage;
 import netscape.javascript.JSObject;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.net.URL;
@@ -21,11 +24,13 @@ import java.util.Objects;
  * - Creating and configuring the main application window
  * - Loading HTML pages into the WebView
  * - Injecting the JavaBridge into the JavaScript context
+ *   (or a RemoteBridge proxy when running against a shared backend)
  */
 @Component
 public class MainController {
 
     private final JavaBridge javaBridge;
+    private final RemoteBridge remoteBridge;
     
     private Stage primaryStage;
     private WebView webView;
@@ -36,8 +41,19 @@ public class MainController {
     private static final double WINDOW_HEIGHT = 720;
     private static final String APP_TITLE = "PetSpa Management System";
 
+    @Autowired
     public MainController(JavaBridge javaBridge) {
         this.javaBridge = javaBridge;
+        this.remoteBridge = null;
+    }
+
+    /**
+     * Creates a controller for remote mode (no local Spring context).
+     */
+    public MainController(RemoteBridge remoteBridge) {
+        this.javaBridge = null;
+        this.remoteBridge = remoteBridge;
+        remoteBridge.setNavigator(page -> Platform.runLater(() -> loadPage(page)));
     }
 
     /**
@@ -119,7 +135,13 @@ public class MainController {
     private void injectJavaBridge() {
         try {
             JSObject window = (JSObject) webEngine.executeScript("window");
-            window.setMember("javaBridge", javaBridge);
+            if (remoteBridge != null) {
+                window.setMember("remoteBridge", remoteBridge);
+                webEngine.executeScript(RemoteBridge.PROXY_SCRIPT);
+            } else {
+                javaBridge.attachPage(window);
+                window.setMember("javaBridge", javaBridge);
+            }
             
             // Notify JavaScript that the bridge is ready
             webEngine.executeScript("if (typeof onBridgeReady === 'function') { onBridgeReady(); }");
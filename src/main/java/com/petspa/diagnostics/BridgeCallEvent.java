@@ -0,0 +1,35 @@
+package com.petspa.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Bridge Call Event - One JavaBridge operation called from a page or a remote terminal.
+ *
+ * The calling thread (JavaFX Application Thread or a server virtual thread) and
+ * the duration are recorded by JFR itself.
+ */
+@Name("com.petspa.BridgeCall")
+@Label("Bridge Call")
+@Category({"Pet Spa", "Bridge"})
+@Description("A JavaBridge operation")
+@StackTrace(false)
+public class BridgeCallEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Argument Count")
+    public int argumentCount;
+
+    @Label("Arguments Length")
+    @Description("Characters in the string and JSON arguments")
+    public int argumentsLength;
+
+    @Label("Response Length")
+    @Description("Characters in the JSON response, or -1 when it was sent as JS objects")
+    public int responseLength;
+}
@@ -0,0 +1,241 @@
+package com.petspa.diagnostics;
+
+import com.petspa.dto.DiagnosticsDTO;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection Pool Monitor - Observes the Hikari pool and, in adaptive mode, sizes it.
+ *
+ * Registered as the pool's metrics tracker (see InspectingDataSourcePostProcessor),
+ * it keeps a histogram of connection acquire times, timeout and creation counts
+ * and the number of connections in use. Live active/idle/pending counts come from
+ * the pool's MXBean.
+ *
+ * With petspa.pool.adaptive=true the pool is resized every interval from what the
+ * last interval measured:
+ * - it grows by a quarter (at least one) up to petspa.pool.adaptive.max when the
+ *   95th percentile acquire time was over target-acquire-ms, a borrow timed out
+ *   or threads are waiting
+ * - it shrinks by one, down to petspa.pool.adaptive.min, after shrink-after quiet
+ *   intervals in which at most half the pool was in use
+ * Minimum idle is kept at or below the pool size, so idle terminals hold few connections.
+ */
+@Slf4j
+@Component
+public class ConnectionPoolMonitor implements MetricsTrackerFactory {
+
+    /**
+     * Upper bounds of the acquire-time histogram buckets; the last bucket is open.
+     */
+    private static final long[] BUCKET_LIMITS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000};
+
+    private final ObjectProvider<DataSource> dataSource;
+
+    @Value("${petspa.pool.adaptive:false}")
+    private boolean adaptive;
+
+    @Value("${petspa.pool.adaptive.min:2}")
+    private int adaptiveMin;
+
+    @Value("${petspa.pool.adaptive.max:20}")
+    private int adaptiveMax;
+
+    @Value("${petspa.pool.adaptive.target-acquire-ms:10}")
+    private long targetAcquireMillis;
+
+    @Value("${petspa.pool.adaptive.shrink-after:6}")
+    private int shrinkAfter;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_LIMITS_MILLIS.length + 1];
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAccumulator acquireMaxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    // Since the last adaptive interval
+    private final AtomicLongArray intervalBuckets = new AtomicLongArray(BUCKET_LIMITS_MILLIS.length + 1);
+    private final LongAdder intervalTimeouts = new LongAdder();
+    private final AtomicInteger intervalPeakInUse = new AtomicInteger();
+    private int quietIntervals;
+
+    public ConnectionPoolMonitor(ObjectProvider<DataSource> dataSource) {
+        this.dataSource = dataSource;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new Tracker();
+    }
+
+    /**
+     * Current pool state and the acquire statistics since startup, or null when
+     * the DataSource is not a Hikari pool.
+     */
+    public DiagnosticsDTO.ConnectionPoolStat snapshot() {
+        HikariDataSource pool = hikari();
+        if (pool == null) {
+            return null;
+        }
+        HikariPoolMXBean live = pool.getHikariPoolMXBean();
+        List<DiagnosticsDTO.HistogramBucket> histogram = new ArrayList<>(buckets.length);
+        for (int i = 0; i < buckets.length; i++) {
+            String label = i < BUCKET_LIMITS_MILLIS.length
+                    ? "< " + BUCKET_LIMITS_MILLIS[i] + " ms"
+                    : ">= " + BUCKET_LIMITS_MILLIS[BUCKET_LIMITS_MILLIS.length - 1] + " ms";
+            histogram.add(new DiagnosticsDTO.HistogramBucket(label, buckets[i].sum()));
+        }
+        return new DiagnosticsDTO.ConnectionPoolStat(
+                pool.getPoolName(),
+                live != null ? live.getActiveConnections() : 0,
+                live != null ? live.getIdleConnections() : 0,
+                live != null ? live.getThreadsAwaitingConnection() : 0,
+                live != null ? live.getTotalConnections() : 0,
+                pool.getMaximumPoolSize(),
+                pool.getMinimumIdle(),
+                acquisitions.sum(),
+                timeouts.sum(),
+                TimeUnit.NANOSECONDS.toMillis(acquireMaxNanos.get()),
+                created.sum(),
+                adaptive,
+                histogram);
+    }
+
+    /**
+     * Resizes the pool from the last interval's acquire times (adaptive mode only).
+     */
+    @Scheduled(fixedDelayString = "${petspa.pool.adaptive.interval-ms:10000}",
+            initialDelayString = "${petspa.pool.adaptive.interval-ms:10000}")
+    public void adapt() {
+        if (!adaptive) {
+            return;
+        }
+        HikariDataSource pool = hikari();
+        HikariPoolMXBean live = pool != null ? pool.getHikariPoolMXBean() : null;
+        if (live == null) {
+            return;
+        }
+
+        long[] counts = new long[intervalBuckets.length()];
+        long borrows = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = intervalBuckets.getAndSet(i, 0);
+            borrows += counts[i];
+        }
+        long timedOut = intervalTimeouts.sumThenReset();
+        int peakInUse = intervalPeakInUse.getAndSet(inUse.get());
+        int waiting = live.getThreadsAwaitingConnection();
+        long p95Millis = percentileMillis(counts, borrows, 0.95);
+
+        int size = pool.getMaximumPoolSize();
+        boolean starved = timedOut > 0 || waiting > 0 || (borrows > 0 && p95Millis > targetAcquireMillis);
+        int newSize = size;
+        if (starved) {
+            quietIntervals = 0;
+            newSize = Math.min(adaptiveMax, size + Math.max(1, size / 4));
+        } else if (peakInUse > size / 2) {
+            quietIntervals = 0;
+        } else if (++quietIntervals >= shrinkAfter) {
+            quietIntervals = 0;
+            newSize = Math.max(adaptiveMin, Math.max(peakInUse + 1, size - 1));
+        }
+        if (newSize != size) {
+            pool.getHikariConfigMXBean().setMaximumPoolSize(newSize);
+            if (pool.getMinimumIdle() > newSize) {
+                pool.getHikariConfigMXBean().setMinimumIdle(newSize);
+            }
+            log.info("Connection pool resized: {} -> {} (p95 acquire {} ms, {} waiting, {} timeouts, peak in use {})",
+                    size, newSize, p95Millis, waiting, timedOut, peakInUse);
+        }
+    }
+
+    /**
+     * Upper bound of the histogram bucket holding the given percentile.
+     */
+    private static long percentileMillis(long[] counts, long total, double percentile) {
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return i < BUCKET_LIMITS_MILLIS.length ? BUCKET_LIMITS_MILLIS[i] : Long.MAX_VALUE;
+            }
+        }
+        return 0;
+    }
+
+    private HikariDataSource hikari() {
+        DataSource source = dataSource.getIfAvailable();
+        try {
+            return source != null && source.isWrapperFor(HikariDataSource.class)
+                    ? source.unwrap(HikariDataSource.class)
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private static int bucket(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        for (int i = 0; i < BUCKET_LIMITS_MILLIS.length; i++) {
+            if (millis < BUCKET_LIMITS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_LIMITS_MILLIS.length;
+    }
+
+    /**
+     * Receives the pool's callbacks.
+     */
+    private final class Tracker implements IMetricsTracker {
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            created.increment();
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            int bucket = bucket(elapsedAcquiredNanos);
+            buckets[bucket].increment();
+            intervalBuckets.incrementAndGet(bucket);
+            acquisitions.increment();
+            acquireMaxNanos.accumulate(elapsedAcquiredNanos);
+            intervalPeakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            inUse.decrementAndGet();
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+            intervalTimeouts.increment();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.petspa.diagnostics;
+
+import com.google.gson.JsonElement;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Flight Recorder Aspect - Emits BridgeCallEvent and ServiceCallEvent around
+ * JavaBridge operations and the public methods of Monitored services.
+ *
+ * While no recording enables the events the advice only checks isEnabled() and
+ * proceeds, so it costs next to nothing in normal operation. Ordered before the
+ * transaction advice, so service events include the commit.
+ */
+@Aspect
+@Component
+@Order(0)
+public class FlightRecorderAspect {
+
+    @Around("execution(public * com.petspa.bridge.JavaBridge.*(..))")
+    public Object recordBridgeCall(ProceedingJoinPoint call) throws Throwable {
+        BridgeCallEvent event = new BridgeCallEvent();
+        if (!event.isEnabled()) {
+            return call.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = call.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object[] args = call.getArgs();
+                event.method = call.getSignature().getName();
+                event.argumentCount = args.length;
+                event.argumentsLength = argumentsLength(args);
+                event.responseLength = result instanceof String json ? json.length() : -1;
+                event.commit();
+            }
+        }
+    }
+
+    @Around("@within(com.petspa.diagnostics.Monitored) && execution(public * *(..))")
+    public Object recordServiceCall(ProceedingJoinPoint call) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return call.proceed();
+        }
+        event.begin();
+        Throwable failure = null;
+        try {
+            return call.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.service = call.getSignature().getDeclaringType().getSimpleName();
+                event.method = call.getSignature().getName();
+                event.exception = failure != null ? failure.getClass().getName() : null;
+                event.commit();
+            }
+        }
+    }
+
+    private static int argumentsLength(Object[] args) {
+        int length = 0;
+        for (Object arg : args) {
+            if (arg instanceof String text) {
+                length += text.length();
+            } else if (arg instanceof JsonElement tree) {
+                length += tree.toString().length();
+            }
+        }
+        return length;
+    }
+}
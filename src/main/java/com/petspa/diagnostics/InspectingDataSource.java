@@ -0,0 +1,214 @@
+package com.petspa.diagnostics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Inspecting Data Source - Wraps the pool so every JDBC statement is seen by the
+ * application's diagnostics, whether it comes from Hibernate or a JdbcTemplate.
+ *
+ * Connections and statements are wrapped in dynamic proxies. Each execution is
+ * reported to the QueryMonitor (statement counts and budgets), timed for the
+ * SlowQueryLog and, while a recording enables it, emitted as a SqlStatementEvent;
+ * only then are result sets wrapped too, to count the rows read.
+ */
+public class InspectingDataSource extends DelegatingDataSource {
+
+    private final QueryMonitor monitor;
+    private final SlowQueryLog slowQueryLog;
+
+    public InspectingDataSource(DataSource target, QueryMonitor monitor, SlowQueryLog slowQueryLog) {
+        super(target);
+        this.monitor = monitor;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(InspectingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InspectingDataSource.invoke(connection, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return proxy(PreparedStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall":
+                    return proxy(CallableStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                case "createStatement":
+                    return proxy(Statement.class, new StatementHandler((Statement) result, null));
+                default:
+                    return result;
+            }
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private ResultSetHandler openResult;
+        private int bindCount;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if (name.equals("close")) {
+                    finishOpenResult();
+                } else if (name.equals("clearParameters")) {
+                    bindCount = 0;
+                } else if (isParameterSetter(method, args)) {
+                    bindCount = Math.max(bindCount, (Integer) args[0]);
+                }
+                return InspectingDataSource.invoke(statement, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            monitor.onStatement(sql);
+
+            SqlStatementEvent event = new SqlStatementEvent();
+            boolean recording = event.isEnabled();
+            if (recording) {
+                event.sql = sql;
+                event.begin();
+            }
+            long start = System.nanoTime();
+            Object result = InspectingDataSource.invoke(statement, method, args);
+            slowQueryLog.record(sql, bindCount, System.nanoTime() - start);
+            if (!recording) {
+                return result;
+            }
+            switch (name) {
+                case "executeQuery" -> {
+                    // Committed when the result set is closed, with the rows read
+                    finishOpenResult();
+                    event.kind = "query";
+                    openResult = new ResultSetHandler((ResultSet) result, event);
+                    return proxy(ResultSet.class, openResult);
+                }
+                case "executeUpdate", "executeLargeUpdate" -> {
+                    event.kind = "update";
+                    event.rows = ((Number) result).longValue();
+                }
+                case "executeBatch", "executeLargeBatch" -> {
+                    event.kind = "batch";
+                    event.rows = batchRows(result);
+                }
+                default -> {
+                    event.kind = "execute";
+                    event.rows = -1;
+                }
+            }
+            event.commit();
+            return result;
+        }
+
+        private void finishOpenResult() {
+            // A result set left open ends with its statement or the next query
+            if (openResult != null) {
+                openResult.finish();
+                openResult = null;
+            }
+        }
+
+        private static boolean isParameterSetter(Method method, Object[] args) {
+            // PreparedStatement.setXxx(int parameterIndex, ...), not Statement settings like setFetchSize
+            return method.getName().startsWith("set") && method.getDeclaringClass() != Statement.class
+                    && args != null && args.length >= 2 && args[0] instanceof Integer;
+        }
+
+        private static long batchRows(Object counts) {
+            long rows = 0;
+            if (counts instanceof int[] ints) {
+                for (int count : ints) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (counts instanceof long[] longs) {
+                for (long count : longs) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            return rows;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet resultSet;
+        private SqlStatementEvent event;
+        private long rows;
+
+        ResultSetHandler(ResultSet resultSet, SqlStatementEvent event) {
+            this.resultSet = resultSet;
+            this.event = event;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InspectingDataSource.invoke(resultSet, method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result)) {
+                        rows++;
+                    }
+                }
+                case "close" -> finish();
+                default -> {
+                    // Plain delegation
+                }
+            }
+            return result;
+        }
+
+        void finish() {
+            if (event != null) {
+                event.rows = rows;
+                event.commit();
+                event = null;
+            }
+        }
+    }
+}
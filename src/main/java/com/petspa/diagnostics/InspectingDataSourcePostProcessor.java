@@ -0,0 +1,48 @@
+package com.petspa.diagnostics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in an InspectingDataSource, after
+ * registering the ConnectionPoolMonitor with a Hikari pool before it starts.
+ *
+ * Spring's DataSource unwrapping still reaches the pool behind it.
+ */
+@Component
+public class InspectingDataSourcePostProcessor implements BeanPostProcessor {
+
+    // Looked up when the DataSource is created, so they are regular beans
+    private final ObjectProvider<QueryMonitor> monitor;
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+    private final ObjectProvider<ConnectionPoolMonitor> poolMonitor;
+
+    public InspectingDataSourcePostProcessor(ObjectProvider<QueryMonitor> monitor,
+                                             ObjectProvider<SlowQueryLog> slowQueryLog,
+                                             ObjectProvider<ConnectionPoolMonitor> poolMonitor) {
+        this.monitor = monitor;
+        this.slowQueryLog = slowQueryLog;
+        this.poolMonitor = poolMonitor;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource pool && pool.getMetricsTrackerFactory() == null
+                && pool.getMetricRegistry() == null) {
+            pool.setMetricsTrackerFactory(poolMonitor.getObject());
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof InspectingDataSource)) {
+            return new InspectingDataSource(dataSource, monitor.getObject(), slowQueryLog.getObject());
+        }
+        return bean;
+    }
+}
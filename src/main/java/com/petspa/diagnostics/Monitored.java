@@ -0,0 +1,19 @@
+package com.petspa.diagnostics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service whose public methods are entry points: called by JavaBridge or
+ * by the scheduler. QueryBudgetAspect and FlightRecorderAspect wrap only these
+ * (plus JavaBridge itself and methods with a QueryBudget), so helpers called per
+ * row or per booking, such as BookingIntervalIndex or PricingEngine, run unadvised.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Monitored {
+}
@@ -0,0 +1,20 @@
+package com.petspa.diagnostics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Largest number of SQL statements a service or bridge method may run, however
+ * many rows it handles. QueryMonitor warns (or fails, see petspa.query-budget.fail)
+ * when a call runs more.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,46 @@
+package com.petspa.diagnostics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Query Budget Aspect - Opens a QueryMonitor frame around every JavaBridge
+ * operation, the public methods of Monitored services and any method with a
+ * QueryBudget.
+ *
+ * Ordered before the transaction advice, so statements flushed at commit count
+ * for the method that caused them.
+ */
+@Aspect
+@Component
+@Order(0)
+public class QueryBudgetAspect {
+
+    private final QueryMonitor monitor;
+
+    public QueryBudgetAspect(QueryMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Around("execution(public * com.petspa.bridge.JavaBridge.*(..))"
+            + " || (@within(com.petspa.diagnostics.Monitored) && execution(public * *(..)))"
+            + " || @annotation(com.petspa.diagnostics.QueryBudget)")
+    public Object countQueries(ProceedingJoinPoint call) throws Throwable {
+        MethodSignature signature = (MethodSignature) call.getSignature();
+        QueryBudget budget = signature.getMethod().getAnnotation(QueryBudget.class);
+        QueryMonitor.Frame frame = monitor.open(signature.getDeclaringType().getSimpleName() + "." + signature.getName(),
+                budget != null ? budget.value() : -1);
+        boolean completed = false;
+        try {
+            Object result = call.proceed();
+            completed = true;
+            return result;
+        } finally {
+            monitor.close(frame, completed);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.petspa.diagnostics;
+
+/**
+ * Thrown instead of a warning when petspa.query-budget.fail is set and a call
+ * went over its query budget or repeated a query shape (N+1).
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
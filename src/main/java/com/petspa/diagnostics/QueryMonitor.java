@@ -0,0 +1,175 @@
+package com.petspa.diagnostics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Query Monitor - Counts the SQL statements run by each bridge call and service
+ * method, to catch N+1 loads and queries that grow with the data.
+ *
+ * QueryBudgetAspect opens a frame around every JavaBridge operation and public
+ * method of a Monitored service; InspectingDataSource reports each statement to all frames open
+ * on the thread. When a frame closes:
+ * - a method annotated with QueryBudget that ran more statements is reported;
+ *   outermost calls without one are held to petspa.query-budget.default
+ * - the outermost frame reports every query shape run repeat-threshold times or
+ *   more, the usual sign of a lazy association loaded row by row
+ *
+ * Reports are logged as warnings, or a QueryBudgetExceededException with
+ * petspa.query-budget.fail=true (meant for tests). Tests can also count a piece
+ * of work directly with measure().
+ */
+@Slf4j
+@Component
+public class QueryMonitor {
+
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+\\b");
+    private static final Pattern PARAMETER_LISTS = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final int MAX_LOGGED_SQL = 200;
+    // Budget marking a measure() frame, which is not a call
+    private static final int MEASURE = -2;
+
+    @Value("${petspa.query-budget.default:25}")
+    private int defaultBudget;
+
+    @Value("${petspa.query-budget.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Value("${petspa.query-budget.fail:false}")
+    private boolean failOnViolation;
+
+    private final ThreadLocal<Frame> current = new ThreadLocal<>();
+
+    /**
+     * Counts the statements the work runs on this thread.
+     */
+    public QueryStats measure(Runnable work) {
+        Frame frame = open("measure", MEASURE);
+        try {
+            work.run();
+        } finally {
+            current.set(frame.parent);
+        }
+        return frame.stats();
+    }
+
+    /**
+     * Name of the innermost bridge call or service method open on this thread, or null.
+     */
+    String currentCall() {
+        for (Frame frame = current.get(); frame != null; frame = frame.parent) {
+            if (frame.budget != MEASURE) {
+                return frame.name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Opens a frame for a call.
+     *
+     * @param budget the call's QueryBudget, or -1 if it has none
+     */
+    Frame open(String name, int budget) {
+        Frame frame = new Frame(name, budget, current.get());
+        current.set(frame);
+        return frame;
+    }
+
+    /**
+     * Closes a frame and reports a budget overrun or repeated queries.
+     *
+     * @param completed false if the call threw; its exception is then left alone
+     */
+    void close(Frame frame, boolean completed) {
+        if (frame.parent != null) {
+            current.set(frame.parent);
+        } else {
+            current.remove();
+        }
+
+        StringBuilder report = new StringBuilder();
+        int budget = frame.budget >= 0 ? frame.budget : frame.parent == null ? defaultBudget : -1;
+        if (budget >= 0 && frame.statements > budget) {
+            report.append("Query budget exceeded in ").append(frame.name).append(": ")
+                    .append(frame.statements).append(" statements (budget ").append(budget).append(")");
+        }
+        if (frame.parent == null) {
+            frame.shapes.forEach((shape, count) -> {
+                if (count >= repeatThreshold) {
+                    if (!report.isEmpty()) {
+                        report.append("\n");
+                    }
+                    report.append("Possible N+1 in ").append(frame.name).append(": ").append(count)
+                            .append(" x ").append(abbreviate(shape));
+                }
+            });
+        }
+        if (report.isEmpty()) {
+            return;
+        }
+        if (failOnViolation && completed) {
+            throw new QueryBudgetExceededException(report.toString());
+        }
+        log.warn("{}", report);
+    }
+
+    /**
+     * Counts a statement in every frame open on this thread.
+     */
+    void onStatement(String sql) {
+        Frame frame = current.get();
+        if (frame == null) {
+            return;
+        }
+        String shape = sql != null ? shape(sql) : "?";
+        for (; frame != null; frame = frame.parent) {
+            frame.statements++;
+            frame.shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    static String shape(String sql) {
+        String withoutLiterals = LITERALS.matcher(sql).replaceAll("?");
+        return PARAMETER_LISTS.matcher(withoutLiterals).replaceAll("?...");
+    }
+
+    private static String abbreviate(String sql) {
+        String flat = sql.replaceAll("\\s+", " ").trim();
+        return flat.length() > MAX_LOGGED_SQL ? flat.substring(0, MAX_LOGGED_SQL) + "..." : flat;
+    }
+
+    /**
+     * One open call.
+     */
+    static final class Frame {
+
+        private final String name;
+        private final int budget;
+        private final Frame parent;
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int statements;
+
+        Frame(String name, int budget, Frame parent) {
+            this.name = name;
+            this.budget = budget;
+            this.parent = parent;
+        }
+
+        QueryStats stats() {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            shapes.forEach((shape, count) -> {
+                if (count > 1) {
+                    repeated.put(shape, count);
+                }
+            });
+            return new QueryStats(statements, repeated);
+        }
+    }
+}
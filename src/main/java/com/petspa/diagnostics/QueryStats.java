@@ -0,0 +1,12 @@
+package com.petspa.diagnostics;
+
+import java.util.Map;
+
+/**
+ * SQL statements run by a measured piece of work.
+ *
+ * @param statements number of statements executed
+ * @param repeated query shapes (SQL with literals and parameter lists collapsed)
+ *                 executed more than once, with their counts
+ */
+public record QueryStats(int statements, Map<String, Integer> repeated) {}
@@ -0,0 +1,31 @@
+package com.petspa.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Service Call Event - One call of a public method of a Monitored service through its bean.
+ *
+ * Calls a service makes to its own methods do not go through the bean and are
+ * part of the outer event.
+ */
+@Name("com.petspa.ServiceCall")
+@Label("Service Call")
+@Category({"Pet Spa", "Service"})
+@Description("A public service method call")
+@StackTrace(false)
+public class ServiceCallEvent extends jdk.jfr.Event {
+
+    @Label("Service")
+    public String service;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Exception")
+    @Description("Class of the exception the call threw, if any")
+    public String exception;
+}
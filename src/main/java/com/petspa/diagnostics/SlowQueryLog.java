@@ -0,0 +1,78 @@
+package com.petspa.diagnostics;
+
+import com.petspa.dto.DiagnosticsDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slow Query Log - Keeps the last statements that took longer than
+ * petspa.slow-query.threshold-ms, in a ring buffer of petspa.slow-query.capacity.
+ *
+ * InspectingDataSource reports every execution; faster ones are dropped after
+ * one comparison. The caller is the innermost bridge call or service method open
+ * in QueryMonitor when the statement ran.
+ */
+@Component
+public class SlowQueryLog {
+
+    private final QueryMonitor monitor;
+    private final long thresholdNanos;
+    private final DiagnosticsDTO.SlowQuery[] entries;
+    private int next;
+    private int size;
+
+    public SlowQueryLog(QueryMonitor monitor,
+                        @Value("${petspa.slow-query.threshold-ms:200}") long thresholdMillis,
+                        @Value("${petspa.slow-query.capacity:100}") int capacity) {
+        this.monitor = monitor;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.entries = new DiagnosticsDTO.SlowQuery[capacity];
+    }
+
+    public long thresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    /**
+     * Records a statement execution if it was slow.
+     */
+    void record(String sql, int bindCount, long elapsedNanos) {
+        if (elapsedNanos < thresholdNanos || entries.length == 0) {
+            return;
+        }
+        DiagnosticsDTO.SlowQuery entry = new DiagnosticsDTO.SlowQuery(LocalDateTime.now(), sql, bindCount,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), monitor.currentCall());
+        synchronized (entries) {
+            entries[next] = entry;
+            next = (next + 1) % entries.length;
+            size = Math.min(size + 1, entries.length);
+        }
+    }
+
+    /**
+     * Logged statements, newest first.
+     */
+    public List<DiagnosticsDTO.SlowQuery> recent() {
+        synchronized (entries) {
+            List<DiagnosticsDTO.SlowQuery> recent = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                recent.add(entries[(next - i + entries.length) % entries.length]);
+            }
+            return recent;
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            Arrays.fill(entries, null);
+            next = 0;
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.petspa.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * SQL Statement Event - One JDBC statement execution.
+ *
+ * For queries the event lasts until the result set is closed and counts the rows
+ * read from it; for updates and batches it holds the affected row count. The
+ * stack trace shows which code ran the statement.
+ */
+@Name("com.petspa.SqlStatement")
+@Label("SQL Statement")
+@Category({"Pet Spa", "JDBC"})
+@Description("A JDBC statement execution")
+public class SqlStatementEvent extends jdk.jfr.Event {
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Kind")
+    @Description("query, update, batch or execute")
+    public String kind;
+
+    @Label("Rows")
+    @Description("Rows read or affected, -1 if unknown")
+    public long rows;
+}
@@ -0,0 +1,28 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for an analytics pivot.
+ * 
+ * counts[r][c] and revenue[r][c] belong to rowLabels[r] x columnLabels[c].
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsResultDTO {
+
+    private String rowDimension;
+    private String columnDimension;
+    private List<String> rowLabels;
+    private List<String> columnLabels;
+    private long[][] counts;
+    private double[][] revenue;
+
+    // Diagnostics
+    private Integer factsScanned;
+    private Long elapsedMicros;
+}
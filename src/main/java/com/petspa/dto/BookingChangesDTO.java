@@ -0,0 +1,28 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Changes of a day view (one date, optionally one staff member) since a bookings version.
+ * 
+ * - version: pass it back on the next call to get only later changes
+ * - full: true if changed holds the whole day (first call); the view replaces its store
+ * - changed: bookings created or updated (including cancelled) since the version
+ * - removed: IDs of bookings that moved to another date or staff member, or were deleted
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingChangesDTO {
+
+    private LocalDate date;
+    private Long staffId;
+    private long version;
+    private boolean full;
+    private List<BookingDTO> changed;
+    private List<Long> removed;
+}
@@ -40,6 +40,7 @@ public class BookingDTO {
     private String cancelReason;
     private BigDecimal totalPrice;
     private LocalDateTime createdAt;
+    private Long seriesId;            // recurring series, null for one-off bookings
     
     // Services included
     private List<BookingDetailDTO> services;
@@ -0,0 +1,32 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Data Transfer Object for BookingEvent entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingEventDTO {
+
+    private Long position;
+    private Long bookingId;
+    private String eventType;   // "CREATED", "STATUS_CHANGED", "CANCELLED", "RESCHEDULED"
+
+    private String fromStatus;
+    private String toStatus;
+    private Long fromStaffId;
+    private Long toStaffId;
+    private LocalDate bookingDate;
+    private LocalTime bookingTime;
+    private String detail;
+
+    private Long actorId;
+    private LocalDateTime occurredAt;
+}
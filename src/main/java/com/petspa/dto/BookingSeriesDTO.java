@@ -0,0 +1,32 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a recurring booking series.
+ *
+ * - template: customer, pet, staff, time and services of every occurrence
+ * - occurrences: filled in the result, one per date of the rule
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingSeriesDTO {
+
+    private Long id;
+    private Integer intervalWeeks;    // 1 = weekly, 3 = every third week
+    private LocalDate startDate;      // first occurrence
+    private LocalDate untilDate;      // no occurrence after this date
+    private Boolean skipConflicts;    // book the free dates when the staff member is taken on some
+    private BookingDTO template;
+    private List<Occurrence> occurrences;
+
+    /**
+     * One date of the series: the booking created, or the booking it conflicted with.
+     */
+    public record Occurrence(LocalDate date, Long bookingId, Long conflictBookingId) {}
+}
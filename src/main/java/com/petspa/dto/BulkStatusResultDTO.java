@@ -0,0 +1,27 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object summarizing a bulk booking status transition
+ * (e.g. closing a day), in place of one BookingDTO per booking.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusResultDTO {
+
+    private String status;            // target status
+    private Integer requested;        // bookings selected by ids or filter
+    private Integer updated;
+    private List<Long> updatedIds;
+    private List<Skipped> skipped;    // selected but left unchanged
+
+    /**
+     * A booking left unchanged, with the reason ("not found" or "cannot move from COMPLETED").
+     */
+    public record Skipped(Long bookingId, String reason) {}
+}
@@ -0,0 +1,31 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the admin dashboard counters of one day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardSnapshotDTO {
+
+    private LocalDate date;
+
+    // Booking counts
+    private Long totalBookings;
+    private Map<String, Long> bookingsByStatus;  // status name -> count
+
+    // Revenue (from Booking.totalPrice)
+    private BigDecimal bookedRevenue;     // all non-cancelled bookings
+    private BigDecimal completedRevenue;  // completed bookings only
+
+    // Load
+    private Map<Long, Long> staffLoad;      // staffId -> non-cancelled bookings
+    private Map<Long, Long> serviceCounts;  // serviceId -> non-cancelled booking lines
+}
@@ -0,0 +1,78 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the diagnostics page: the slow-query log and
+ * Hibernate session-factory statistics.
+ * 
+ * - slowQueries: newest first, statements slower than slowQueryThresholdMillis
+ * - statisticsSince: when Hibernate statistics were started or last reset;
+ *   the counters below are totals since then
+ * - secondLevelCacheHitRatio: hits / (hits + misses), null before any lookup
+ * - queries: the slowest JPQL/native queries by max execution time
+ * - connectionPool: live pool counts and acquire statistics since startup,
+ *   null when the DataSource is not a Hikari pool
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DiagnosticsDTO {
+
+    private long slowQueryThresholdMillis;
+    private List<SlowQuery> slowQueries;
+
+    private boolean statisticsEnabled;
+    private LocalDateTime statisticsSince;
+    private long entityLoads;
+    private long entityFetches;
+    private long collectionLoads;
+    private long collectionFetches;
+    private long queryExecutions;
+    private long queryExecutionMaxMillis;
+    private String slowestQuery;
+    private long preparedStatements;
+    private long secondLevelCacheHits;
+    private long secondLevelCacheMisses;
+    private long secondLevelCachePuts;
+    private Double secondLevelCacheHitRatio;
+
+    private List<QueryStat> queries;
+    private List<EntityStat> entities;
+    private List<CollectionStat> collections;
+    private List<CacheRegionStat> cacheRegions;
+
+    private ConnectionPoolStat connectionPool;
+
+    /**
+     * One statement of the slow-query log.
+     *
+     * @param caller the service method (or bridge call) that ran it
+     */
+    public record SlowQuery(LocalDateTime executedAt, String sql, int bindCount, long durationMillis, String caller) {}
+
+    public record QueryStat(String query, long executions, long averageMillis, long maxMillis, long rows) {}
+
+    public record EntityStat(String entity, long loads, long fetches) {}
+
+    public record CollectionStat(String role, long loads, long fetches) {}
+
+    public record CacheRegionStat(String region, long hits, long misses, Double hitRatio) {}
+
+    /**
+     * Connection pool state.
+     *
+     * @param pending threads waiting for a connection
+     * @param adaptive whether the pool is resized from acquire times
+     */
+    public record ConnectionPoolStat(String poolName, int active, int idle, int pending, int total,
+                                     int maximumPoolSize, int minimumIdle, long acquisitions, long timeouts,
+                                     long acquireMaxMillis, long connectionsCreated, boolean adaptive,
+                                     List<HistogramBucket> acquireHistogram) {}
+
+    public record HistogramBucket(String label, long count) {}
+}
@@ -0,0 +1,23 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of the on-demand flight recording.
+ * 
+ * - recording: true while a recording is running
+ * - startedAt: when the running recording started
+ * - file: the file written by the last dump or stop, if any
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FlightRecordingDTO {
+
+    private boolean recording;
+    private LocalDateTime startedAt;
+    private String file;
+}
@@ -0,0 +1,41 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object for PricingRule entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricingRuleDTO {
+
+    private Long id;
+    private String name;
+    private String type;    // "SPECIES_WEIGHT", "COMBO", "LOYALTY" or "TIME_OF_DAY"
+
+    // SPECIES_WEIGHT (null = any)
+    private Long serviceId;
+    private String species;
+    private Float minWeight;
+    private Float maxWeight;
+
+    // COMBO
+    private List<Long> comboServiceIds;
+
+    // LOYALTY
+    private Integer minVisits;
+
+    // TIME_OF_DAY
+    private LocalTime startTime;
+    private LocalTime endTime;
+
+    private BigDecimal percent;
+    private BigDecimal amount;
+    private Boolean active;
+}
@@ -0,0 +1,20 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for one row of an aggregated report.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportRowDTO {
+
+    private String key;         // Group value: date, staff ID, species, status or service ID
+    private String label;       // Display name when available (staff or service name)
+    private Long count;
+    private BigDecimal revenue;
+}
@@ -0,0 +1,22 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for a day whose rollups disagree with the raw bookings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupReconciliationDTO {
+
+    private LocalDate date;
+    private Long rawCount;
+    private Long rollupCount;
+    private BigDecimal rawRevenue;
+    private BigDecimal rollupRevenue;
+}
@@ -0,0 +1,31 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Data Transfer Object for StaffRoster entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RosterEntryDTO {
+
+    private Long id;
+
+    // Staff info
+    private Long staffId;
+    private String staffName;
+
+    // Shift info
+    private Integer shiftTypeId;
+    private String shiftName;
+    private LocalDate workDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+
+    private String source;  // "TEMPLATE" or "OVERRIDE"
+}
@@ -0,0 +1,30 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Compact staff x day x shift matrix of the weekly schedule.
+ * 
+ * - shiftTypes: dictionary of shift types; bit i of a mask refers to shiftTypes[i]
+ * - staff: dictionary of active staff members; row i of masks refers to staff[i]
+ * - masks: masks[staffIndex][day - 1] is a bitmask of the shifts worked on that
+ *   ISO day of week (index 0 = Monday, 6 = Sunday), stored as 32-bit words:
+ *   shift i is bit (i % 32) of word (i / 32)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RosterMatrixDTO {
+
+    private List<ShiftTypeDTO> shiftTypes;
+    private List<StaffRef> staff;
+    private int[][][] masks;
+
+    /**
+     * Minimal staff entry for the matrix dictionary.
+     */
+    public record StaffRef(Long id, String fullName) {}
+}
@@ -0,0 +1,29 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for ScheduleOverride entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleOverrideDTO {
+
+    private Long id;
+
+    // Staff info
+    private Long staffId;
+    private String staffName;
+
+    // Shift info (null shiftTypeId on LEAVE = whole day)
+    private Integer shiftTypeId;
+    private String shiftName;
+
+    private LocalDate workDate;
+    private String type;    // "LEAVE" or "EXTRA_SHIFT"
+    private String note;
+}
@@ -0,0 +1,31 @@
+package com.petspa.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for one status queue of a to-do board
+ * (e.g. PENDING bookings to confirm), oldest first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatusQueueDTO {
+
+    private String status;
+    private LocalDate date;           // null = all dates
+    private Integer total;            // bookings in this queue (items may be fewer)
+    private Map<String, Integer> counts;  // open status name -> bookings, same date filter
+    private List<Item> items;
+
+    /**
+     * One queued booking.
+     */
+    public record Item(Long bookingId, LocalDate bookingDate, LocalTime bookingTime,
+                       Long staffId, String staffName, String customerName, String petName) {}
+}
@@ -2,6 +2,7 @@ package com.petspa.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.LazyGroup;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -20,7 +21,13 @@ import java.util.List;
  * - Services (what is being done - via BookingDetail)
  */
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings",
+       indexes = {
+               @Index(name = "idx_booking_date_stamp", columnList = "booking_date, change_stamp"),
+               // Status boards and findByStatus: one status, oldest first
+               @Index(name = "idx_booking_status_date", columnList = "status, booking_date, booking_time"),
+               @Index(name = "idx_booking_series_date", columnList = "series_id, booking_date")
+       })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -65,6 +72,9 @@ public class Booking {
     @Builder.Default
     private BookingStatus status = BookingStatus.PENDING;
 
+    // Lazy: only the booking detail shows it (needs the build-time bytecode enhancement)
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("cancellation")
     @Column(name = "cancel_reason", columnDefinition = "TEXT")
     private String cancelReason;
 
@@ -75,6 +85,20 @@ public class Booking {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    /**
+     * Bookings version of the last transaction that changed this booking
+     * (see ChangeVersionService.stamp). Used for delta sync of day views.
+     */
+    @Column(name = "change_stamp", nullable = false)
+    @Builder.Default
+    private Long changeStamp = 0L;
+
+    /**
+     * Recurring series this booking is an occurrence of (see BookingSeries), or null.
+     */
+    @Column(name = "series_id")
+    private Long seriesId;
+
     /**
      * The services included in this booking.
      */
@@ -98,6 +122,7 @@ public class Booking {
 
     /**
      * Recalculates the total price based on booking details.
+     * Line prices already include pricing rules (see PricingEngine).
      */
     public void recalculateTotalPrice() {
         this.totalPrice = bookingDetails.stream()
@@ -113,6 +138,28 @@ public class Booking {
         CONFIRMED,  // Confirmed and scheduled
         IN_PROGRESS,// Currently being serviced
         COMPLETED,  // Service completed
-        CANCELLED   // Booking was cancelled
+        CANCELLED;  // Booking was cancelled
+
+        /**
+         * Whether a booking may move from this status to the next one in a bulk transition:
+         * PENDING -> CONFIRMED -> IN_PROGRESS -> COMPLETED, or from any open status to CANCELLED.
+         */
+        public boolean canMoveTo(BookingStatus next) {
+            return switch (next) {
+                case PENDING -> false;
+                case CONFIRMED -> this == PENDING;
+                case IN_PROGRESS -> this == CONFIRMED;
+                case COMPLETED -> this == IN_PROGRESS;
+                case CANCELLED -> this != COMPLETED && this != CANCELLED;
+            };
+        }
+
+        /**
+         * Whether a single booking may change from this status to the next one: any bulk
+         * transition (see canMoveTo), or reopening a cancelled booking as PENDING or CONFIRMED.
+         */
+        public boolean canChangeTo(BookingStatus next) {
+            return canMoveTo(next) || (this == CANCELLED && (next == PENDING || next == CONFIRMED));
+        }
     }
 }
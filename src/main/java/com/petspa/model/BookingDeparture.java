@@ -0,0 +1,40 @@
+package com.petspa.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * BookingDeparture Entity - Records that a booking left a day view.
+ * 
+ * Written when a booking is moved to another date or staff member, or deleted
+ * together with its customer or pet. Day views syncing with deltas use it to
+ * drop bookings that no longer belong to them. Old rows are purged by BookingService.
+ */
+@Entity
+@Table(name = "booking_departures",
+       indexes = @Index(name = "idx_departure_date_stamp", columnList = "from_date, change_stamp"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingDeparture {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(name = "from_date", nullable = false)
+    private LocalDate fromDate;
+
+    @Column(name = "from_staff_id")
+    private Long fromStaffId;
+
+    @Column(name = "change_stamp", nullable = false)
+    private Long changeStamp;
+}
@@ -0,0 +1,82 @@
+package com.petspa.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * BookingEvent Entity - One entry of the append-only booking lifecycle journal.
+ * 
+ * Rows are only ever inserted. The ID is the journal position: consumers read
+ * the events after the last position they processed. IDs are plain values rather
+ * than relations so the journal outlives the rows it describes.
+ */
+@Entity
+@Table(name = "booking_events",
+       indexes = @Index(name = "idx_event_booking", columnList = "booking_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(name = "event_type", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private EventType eventType;
+
+    @Column(name = "from_status", length = 20)
+    @Enumerated(EnumType.STRING)
+    private Booking.BookingStatus fromStatus;
+
+    @Column(name = "to_status", length = 20)
+    @Enumerated(EnumType.STRING)
+    private Booking.BookingStatus toStatus;
+
+    @Column(name = "from_staff_id")
+    private Long fromStaffId;
+
+    @Column(name = "to_staff_id")
+    private Long toStaffId;
+
+    @Column(name = "booking_date")
+    private LocalDate bookingDate;
+
+    @Column(name = "booking_time")
+    private LocalTime bookingTime;
+
+    /**
+     * Cancel reason, or other free-text detail of the change.
+     */
+    @Column(columnDefinition = "TEXT")
+    private String detail;
+
+    /**
+     * The logged-in user who made the change (null for background jobs).
+     */
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    /**
+     * Event types.
+     */
+    public enum EventType {
+        CREATED,         // Booking was created
+        STATUS_CHANGED,  // Status moved from fromStatus to toStatus
+        CANCELLED,       // Booking was cancelled, detail holds the reason
+        RESCHEDULED      // Date, time and/or staff changed
+    }
+}
@@ -0,0 +1,54 @@
+package com.petspa.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * BookingSeries Entity - A recurring booking (e.g. grooming every 3 weeks).
+ *
+ * Holds the recurrence rule the series was created with. Each occurrence is an
+ * ordinary booking carrying the series ID, so it can be confirmed, moved or cancelled
+ * on its own, or together with the later occurrences of the series.
+ */
+@Entity
+@Table(name = "booking_series")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "pet_id", nullable = false)
+    private Long petId;
+
+    /**
+     * Weeks between occurrences.
+     */
+    @Column(name = "interval_weeks", nullable = false)
+    private Integer intervalWeeks;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "until_date", nullable = false)
+    private LocalDate untilDate;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
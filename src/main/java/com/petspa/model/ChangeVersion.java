@@ -0,0 +1,48 @@
+package com.petspa.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * ChangeVersion Entity - Write counter of one cache region, shared by all terminals.
+ * 
+ * Every committed write to a region bumps its version. Each running instance polls
+ * the (few) rows and drops its in-memory caches of the regions whose version moved
+ * because of another terminal.
+ */
+@Entity
+@Table(name = "change_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeVersion {
+
+    @Id
+    @Column(length = 30)
+    @Enumerated(EnumType.STRING)
+    private Region region;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Cache regions, plus the roster marker.
+     */
+    public enum Region {
+        BOOKINGS,   // Bookings and booking details
+        CUSTOMERS,  // Customers
+        PETS,       // Pets
+        SERVICES,   // Service catalogue
+        USERS,      // Staff and admin accounts
+        SCHEDULES,  // Weekly schedules, overrides and roster
+        PRICING,    // Pricing rules
+        ROSTER      // Not a cache: the row locks roster rebuilds, its version is the epoch day last rebuilt from
+    }
+}
@@ -2,6 +2,7 @@ package com.petspa.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.LazyGroup;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -40,6 +41,8 @@ public class Customer {
     @Column(length = 100)
     private String email;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("address")
     @Column(columnDefinition = "TEXT")
     private String address;
 
@@ -0,0 +1,54 @@
+package com.petspa.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DailyBookingRollup Entity - Pre-aggregated booking counts and revenue per day.
+ * 
+ * One row per (date, staff, species, status). Built by the rollup job from the
+ * bookings table so reports never have to scan raw bookings.
+ * Staff is stored as a plain ID so rollups survive staff changes.
+ */
+@Entity
+@Table(name = "daily_booking_rollup",
+       indexes = @Index(name = "idx_booking_rollup_date", columnList = "rollup_date"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyBookingRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    /**
+     * Assigned staff member, null for unassigned bookings.
+     */
+    @Column(name = "staff_id")
+    private Long staffId;
+
+    /**
+     * Pet species ("" when unknown).
+     */
+    @Column(nullable = false, length = 50)
+    private String species;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Booking.BookingStatus status;
+
+    @Column(name = "booking_count", nullable = false)
+    private Long bookingCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,50 @@
+package com.petspa.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DailyServiceRollup Entity - Pre-aggregated service lines and revenue per day.
+ * 
+ * One row per (date, service, species, status), built from booking_details
+ * by the rollup job. Revenue is the sum of the prices stored on the booking lines.
+ */
+@Entity
+@Table(name = "daily_service_rollup",
+       indexes = @Index(name = "idx_service_rollup_date", columnList = "rollup_date"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyServiceRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "service_id", nullable = false)
+    private Long serviceId;
+
+    /**
+     * Pet species ("" when unknown).
+     */
+    @Column(nullable = false, length = 50)
+    private String species;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Booking.BookingStatus status;
+
+    @Column(name = "line_count", nullable = false)
+    private Long lineCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
@@ -2,6 +2,7 @@ package com.petspa.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.LazyGroup;
 
 import java.time.LocalDateTime;
 
@@ -44,6 +45,8 @@ public class Pet {
 
     private Float weight;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("notes")
     @Column(columnDefinition = "TEXT")
     private String notes;
 
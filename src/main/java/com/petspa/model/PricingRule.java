@@ -0,0 +1,118 @@
+package com.petspa.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * PricingRule Entity - A price adjustment applied when a booking is created.
+ *
+ * - SPECIES_WEIGHT: changes the price of one service (or of all, if service_id is null)
+ *   for a species and/or a weight band, by a percentage and/or a fixed amount
+ * - COMBO: discounts the listed services when all of them are booked together
+ * - LOYALTY: discounts every line for customers with at least min_visits completed bookings
+ * - TIME_OF_DAY: surcharges every line of bookings starting in [start_time, end_time);
+ *   an end_time of 00:00 is the end of the day
+ *
+ * Rules are compiled into a lookup table by PricingEngine; see there for how they combine.
+ */
+@Entity
+@Table(name = "pricing_rules")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricingRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private RuleType type;
+
+    /**
+     * SPECIES_WEIGHT: the service priced. Null means every service.
+     */
+    @Column(name = "service_id")
+    private Long serviceId;
+
+    /**
+     * SPECIES_WEIGHT: the species (case-insensitive). Null means every species.
+     */
+    @Column(length = 50)
+    private String species;
+
+    /**
+     * SPECIES_WEIGHT: weight band in kg, from min_weight (inclusive) to max_weight
+     * (exclusive). Either end may be null (open).
+     */
+    @Column(name = "min_weight")
+    private Float minWeight;
+
+    @Column(name = "max_weight")
+    private Float maxWeight;
+
+    /**
+     * COMBO: comma-separated IDs of the services that make up the combo.
+     */
+    @Column(name = "combo_service_ids", length = 200)
+    private String comboServiceIds;
+
+    /**
+     * LOYALTY: completed bookings a customer needs.
+     */
+    @Column(name = "min_visits")
+    private Integer minVisits;
+
+    /**
+     * TIME_OF_DAY: window of booking start times.
+     */
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
+    @Column(name = "end_time")
+    private LocalTime endTime;
+
+    /**
+     * Adjustment in percent of the line price; negative for discounts.
+     */
+    @Column(precision = 5, scale = 2)
+    private BigDecimal percent;
+
+    /**
+     * SPECIES_WEIGHT: fixed amount added to the line price; negative for discounts.
+     */
+    @Column(precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean active = true;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Rule types.
+     */
+    public enum RuleType {
+        SPECIES_WEIGHT, // Per service, species and weight band
+        COMBO,          // Services booked together
+        LOYALTY,        // Regular customers
+        TIME_OF_DAY     // Peak or off-peak hours
+    }
+}
@@ -0,0 +1,30 @@
+package com.petspa.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * RollupDirtyDay Entity - A booking date whose rollups must be rebuilt.
+ * 
+ * Booking writes mark their date dirty in the same transaction; the rollup job
+ * claims a day by deleting its row and then rebuilds that day only.
+ */
+@Entity
+@Table(name = "rollup_dirty_days")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupDirtyDay {
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate rollupDate;
+
+    @Column(name = "marked_at")
+    private LocalDateTime markedAt;
+}
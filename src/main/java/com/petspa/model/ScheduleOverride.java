@@ -0,0 +1,67 @@
+package com.petspa.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * ScheduleOverride Entity - A one-off change to a staff member's weekly schedule.
+ * 
+ * - LEAVE: the staff member does not work the given shift on that date
+ *   (or any shift, if shift_type_id is null)
+ * - EXTRA_SHIFT: the staff member works the given shift on that date
+ *   even though the weekly schedule does not include it
+ */
+@Entity
+@Table(name = "schedule_overrides",
+       indexes = @Index(name = "idx_override_staff_date", columnList = "staff_id, work_date"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleOverride {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "staff_id", nullable = false)
+    private User staff;
+
+    /**
+     * The shift affected. Null on a LEAVE override means the whole day.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "shift_type_id")
+    private ShiftType shiftType;
+
+    @Column(name = "work_date", nullable = false)
+    private LocalDate workDate;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private OverrideType type;
+
+    @Column(columnDefinition = "TEXT")
+    private String note;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Override types.
+     */
+    public enum OverrideType {
+        LEAVE,       // Staff is off
+        EXTRA_SHIFT  // Staff works an additional shift
+    }
+}
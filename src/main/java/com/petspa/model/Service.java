@@ -2,6 +2,7 @@ package com.petspa.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.LazyGroup;
 
 import java.math.BigDecimal;
 
@@ -26,6 +27,8 @@ public class Service {
     @Column(nullable = false, length = 100)
     private String name;
 
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("description")
     @Column(columnDefinition = "TEXT")
     private String description;
 
@@ -0,0 +1,69 @@
+package com.petspa.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * StaffRoster Entity - A concrete, date-specific shift for a staff member.
+ * 
+ * Rows are materialized from the weekly StaffSchedule templates for a rolling
+ * horizon, with ScheduleOverride entries (leave, extra shifts) applied on top.
+ * Shift times are copied from the ShiftType so availability queries for a date
+ * only need this table.
+ */
+@Entity
+@Table(name = "staff_roster",
+       uniqueConstraints = @UniqueConstraint(
+           name = "unique_roster",
+           columnNames = {"staff_id", "work_date", "shift_type_id"}
+       ),
+       indexes = @Index(name = "idx_roster_date_staff", columnList = "work_date, staff_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StaffRoster {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The staff member working this shift.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "staff_id", nullable = false)
+    private User staff;
+
+    /**
+     * The shift being worked.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "shift_type_id", nullable = false)
+    private ShiftType shiftType;
+
+    @Column(name = "work_date", nullable = false)
+    private LocalDate workDate;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Source source;
+
+    /**
+     * Where a roster row came from.
+     */
+    public enum Source {
+        TEMPLATE,   // Expanded from the weekly StaffSchedule
+        OVERRIDE    // Added by a one-off ScheduleOverride
+    }
+}
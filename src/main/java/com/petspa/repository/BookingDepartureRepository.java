@@ -0,0 +1,67 @@
+package com.petspa.repository;
+
+import com.petspa.model.BookingDeparture;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for BookingDeparture entity.
+ */
+@Repository
+public interface BookingDepartureRepository extends JpaRepository<BookingDeparture, Long> {
+
+    /**
+     * Find IDs of bookings that left a date after a bookings version.
+     */
+    @Query("SELECT DISTINCT d.bookingId FROM BookingDeparture d WHERE d.fromDate = :date AND d.changeStamp > :since")
+    List<Long> findDepartedIds(@Param("date") LocalDate date, @Param("since") long since);
+
+    /**
+     * Find IDs of bookings that left any date from a date on after a bookings version.
+     */
+    @Query("SELECT DISTINCT d.bookingId FROM BookingDeparture d WHERE d.fromDate >= :fromDate AND d.changeStamp > :since")
+    List<Long> findDepartedIdsFrom(@Param("fromDate") LocalDate fromDate, @Param("since") long since);
+
+    /**
+     * Find IDs of bookings that left a staff member's date after a bookings version.
+     */
+    @Query("SELECT DISTINCT d.bookingId FROM BookingDeparture d " +
+           "WHERE d.fromDate = :date AND d.fromStaffId = :staffId AND d.changeStamp > :since")
+    List<Long> findDepartedIds(@Param("date") LocalDate date, @Param("staffId") Long staffId,
+                               @Param("since") long since);
+
+    /**
+     * Record the departure of all bookings of a customer (before the customer is deleted).
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO booking_departures (booking_id, from_date, from_staff_id, change_stamp) " +
+                   "SELECT id, booking_date, staff_id, :stamp FROM bookings WHERE customer_id = :customerId",
+           nativeQuery = true)
+    int insertForCustomer(@Param("customerId") Long customerId, @Param("stamp") long stamp);
+
+    /**
+     * Record the departure of all bookings of a pet (before the pet is deleted).
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO booking_departures (booking_id, from_date, from_staff_id, change_stamp) " +
+                   "SELECT id, booking_date, staff_id, :stamp FROM bookings WHERE pet_id = :petId",
+           nativeQuery = true)
+    int insertForPet(@Param("petId") Long petId, @Param("stamp") long stamp);
+
+    /**
+     * Delete departures from dates before the given day.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BookingDeparture d WHERE d.fromDate < :date")
+    int deleteByFromDateBefore(@Param("date") LocalDate date);
+}
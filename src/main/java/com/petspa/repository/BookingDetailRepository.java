@@ -1,9 +1,14 @@
 package com.petspa.repository;
 
+import com.petspa.model.Booking;
 import com.petspa.model.BookingDetail;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -21,4 +26,28 @@ public interface BookingDetailRepository extends JpaRepository<BookingDetail, Lo
      * Find all bookings that include a specific service.
      */
     List<BookingDetail> findByServiceId(Long serviceId);
+
+    /**
+     * Service IDs of the lines of several bookings. Each row is [bookingId, serviceId].
+     */
+    @Query("SELECT d.booking.id, d.service.id FROM BookingDetail d WHERE d.booking.id IN :bookingIds")
+    List<Object[]> findServiceIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    /**
+     * Count booking lines per service for a date, excluding one booking status.
+     * Each row is [serviceId, count].
+     */
+    @Query("SELECT d.service.id, COUNT(d) FROM BookingDetail d " +
+           "WHERE d.booking.bookingDate = :date AND d.booking.status <> :excluded " +
+           "GROUP BY d.service.id")
+    List<Object[]> countByServiceForDate(@Param("date") LocalDate date,
+                                         @Param("excluded") Booking.BookingStatus excluded);
+
+    /**
+     * Scalar projection of booking lines in a date range for the analytics engine.
+     * Each row is [bookingId, serviceId, price].
+     */
+    @Query("SELECT d.booking.id, d.service.id, d.price FROM BookingDetail d " +
+           "WHERE d.booking.bookingDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findAnalyticsRows(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
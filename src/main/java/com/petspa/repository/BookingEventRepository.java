@@ -0,0 +1,28 @@
+package com.petspa.repository;
+
+import com.petspa.model.BookingEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for BookingEvent entity.
+ */
+@Repository
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+
+    /**
+     * Find events after a journal position, in journal order.
+     */
+    @Query("SELECT e FROM BookingEvent e WHERE e.id > :position ORDER BY e.id")
+    List<BookingEvent> findAfter(@Param("position") long position, Pageable pageable);
+
+    /**
+     * Find the history of one booking, in journal order.
+     */
+    List<BookingEvent> findByBookingIdOrderByIdAsc(Long bookingId);
+}
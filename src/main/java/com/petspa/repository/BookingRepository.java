@@ -1,12 +1,17 @@
 package com.petspa.repository;
 
 import com.petspa.model.Booking;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,23 +21,42 @@ import java.util.List;
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     /**
-     * Find all bookings for a specific date.
+     * Find all bookings for a specific date, with everything a BookingDTO shows fetched.
      */
+    @EntityGraph(attributePaths = {"customer", "pet", "staff", "bookingDetails", "bookingDetails.service"})
     List<Booking> findByBookingDate(LocalDate date);
 
+    /**
+     * Find bookings of a date changed after a bookings version.
+     */
+    @EntityGraph(attributePaths = {"customer", "pet", "staff", "bookingDetails", "bookingDetails.service"})
+    List<Booking> findByBookingDateAndChangeStampGreaterThan(LocalDate date, Long since);
+
+    /**
+     * Find bookings of a staff member on a date changed after a bookings version.
+     */
+    @EntityGraph(attributePaths = {"customer", "pet", "staff", "bookingDetails", "bookingDetails.service"})
+    List<Booking> findByStaffIdAndBookingDateAndChangeStampGreaterThan(Long staffId, LocalDate date, Long since);
+
     /**
      * Find bookings by customer ID.
      */
     List<Booking> findByCustomerId(Long customerId);
 
+    /**
+     * Count a customer's bookings in a status (loyalty pricing counts completed ones).
+     */
+    long countByCustomerIdAndStatus(Long customerId, Booking.BookingStatus status);
+
     /**
      * Find bookings by staff ID.
      */
     List<Booking> findByStaffId(Long staffId);
 
     /**
-     * Find bookings by staff ID and date.
+     * Find bookings by staff ID and date, with everything a BookingDTO shows fetched.
      */
+    @EntityGraph(attributePaths = {"customer", "pet", "staff", "bookingDetails", "bookingDetails.service"})
     List<Booking> findByStaffIdAndBookingDate(Long staffId, LocalDate date);
 
     /**
@@ -50,4 +74,117 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      */
     @Query("SELECT b FROM Booking b WHERE b.staff.id = :staffId AND b.bookingDate = :date ORDER BY b.bookingTime")
     List<Booking> findTodayBookingsForStaff(@Param("staffId") Long staffId, @Param("date") LocalDate date);
+
+    /**
+     * Find a staff member's bookings on a date excluding one status, with services fetched
+     * so booking durations can be computed without extra queries.
+     */
+    @EntityGraph(attributePaths = {"bookingDetails", "bookingDetails.service"})
+    List<Booking> findByStaffIdAndBookingDateAndStatusNot(Long staffId, LocalDate date, Booking.BookingStatus status);
+
+    /**
+     * Find the occurrences of a recurring series from a date on, in the given statuses,
+     * with services fetched so booking durations can be computed without extra queries.
+     */
+    @EntityGraph(attributePaths = {"staff", "bookingDetails", "bookingDetails.service"})
+    List<Booking> findBySeriesIdAndBookingDateGreaterThanEqualAndStatusInOrderByBookingDate(
+            Long seriesId, LocalDate fromDate, Collection<Booking.BookingStatus> statuses);
+
+    /**
+     * Find the IDs of the occurrences of a recurring series from a date on, in the given statuses.
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.seriesId = :seriesId AND b.bookingDate >= :fromDate " +
+           "AND b.status IN :statuses ORDER BY b.bookingDate")
+    List<Long> findSeriesBookingIds(@Param("seriesId") Long seriesId, @Param("fromDate") LocalDate fromDate,
+                                    @Param("statuses") Collection<Booking.BookingStatus> statuses);
+
+    /**
+     * Find a staff member's bookings on several dates excluding one status, with services
+     * fetched, for checking many dates in one go.
+     */
+    @EntityGraph(attributePaths = {"bookingDetails", "bookingDetails.service"})
+    List<Booking> findByStaffIdAndBookingDateInAndStatusNot(Long staffId, Collection<LocalDate> dates,
+                                                            Booking.BookingStatus status);
+
+    /**
+     * Rows for the in-memory status queues, one per booking in the given statuses
+     * from a date on.
+     * Each row is [id, status, date, time, staffId, staffName, customerName, petName].
+     */
+    @Query("SELECT b.id, b.status, b.bookingDate, b.bookingTime, s.id, s.fullName, c.fullName, p.name " +
+           "FROM Booking b JOIN b.customer c JOIN b.pet p LEFT JOIN b.staff s " +
+           "WHERE b.status IN :statuses AND b.bookingDate >= :fromDate")
+    List<Object[]> findQueueRows(@Param("statuses") Collection<Booking.BookingStatus> statuses,
+                                 @Param("fromDate") LocalDate fromDate);
+
+    /**
+     * Queue rows of the bookings from a date on changed after a bookings version,
+     * whatever their status. Same columns as findQueueRows.
+     */
+    @Query("SELECT b.id, b.status, b.bookingDate, b.bookingTime, s.id, s.fullName, c.fullName, p.name " +
+           "FROM Booking b JOIN b.customer c JOIN b.pet p LEFT JOIN b.staff s " +
+           "WHERE b.bookingDate >= :fromDate AND b.changeStamp > :since")
+    List<Object[]> findQueueRowsChangedSince(@Param("fromDate") LocalDate fromDate, @Param("since") long since);
+
+    /**
+     * Locks bookings for a bulk status change and reads what its bookkeeping needs.
+     * Each row is [id, status, date, time, staffId, totalPrice].
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id, b.status, b.bookingDate, b.bookingTime, b.staff.id, b.totalPrice " +
+           "FROM Booking b WHERE b.id IN :ids")
+    List<Object[]> lockStatusRows(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Same as lockStatusRows, for the bookings of one date in one status.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id, b.status, b.bookingDate, b.bookingTime, b.staff.id, b.totalPrice " +
+           "FROM Booking b WHERE b.status = :status AND b.bookingDate = :date")
+    List<Object[]> lockStatusRowsByDate(@Param("status") Booking.BookingStatus status,
+                                        @Param("date") LocalDate date);
+
+    /**
+     * Sets the status of several bookings in one statement, stamping them with a bookings version.
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.changeStamp = :stamp WHERE b.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") Booking.BookingStatus status,
+                     @Param("stamp") Long stamp);
+
+    /**
+     * Count bookings and sum their total price per status for a date.
+     * Each row is [status, count, sum(totalPrice)].
+     */
+    @Query("SELECT b.status, COUNT(b), COALESCE(SUM(b.totalPrice), 0) FROM Booking b " +
+           "WHERE b.bookingDate = :date GROUP BY b.status")
+    List<Object[]> countByStatusForDate(@Param("date") LocalDate date);
+
+    /**
+     * Count bookings per assigned staff member for a date, excluding one status.
+     * Each row is [staffId, count].
+     */
+    @Query("SELECT b.staff.id, COUNT(b) FROM Booking b " +
+           "WHERE b.bookingDate = :date AND b.status <> :excluded AND b.staff IS NOT NULL " +
+           "GROUP BY b.staff.id")
+    List<Object[]> countByStaffForDate(@Param("date") LocalDate date,
+                                       @Param("excluded") Booking.BookingStatus excluded);
+
+    /**
+     * Count bookings and sum their total price per day over all statuses.
+     * Each row is [date, count, sum(totalPrice)]. Used to reconcile rollups.
+     */
+    @Query("SELECT b.bookingDate, COUNT(b), COALESCE(SUM(b.totalPrice), 0) FROM Booking b " +
+           "WHERE b.bookingDate BETWEEN :startDate AND :endDate GROUP BY b.bookingDate")
+    List<Object[]> totalsByDay(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Scalar projection of bookings in a date range for the analytics engine.
+     * Each row is [id, bookingDate, bookingTime, staffId, status, species, totalPrice].
+     */
+    @Query("SELECT b.id, b.bookingDate, b.bookingTime, s.id, b.status, p.species, b.totalPrice " +
+           "FROM Booking b JOIN b.pet p LEFT JOIN b.staff s " +
+           "WHERE b.bookingDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findAnalyticsRows(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
@@ -0,0 +1,12 @@
+package com.petspa.repository;
+
+import com.petspa.model.BookingSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for BookingSeries entity.
+ */
+@Repository
+public interface BookingSeriesRepository extends JpaRepository<BookingSeries, Long> {
+}
@@ -0,0 +1,75 @@
+package com.petspa.repository;
+
+import com.petspa.model.ChangeVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository for ChangeVersion entity.
+ */
+@Repository
+public interface ChangeVersionRepository extends JpaRepository<ChangeVersion, ChangeVersion.Region> {
+
+    /**
+     * Create a region's row at version 0. Does nothing if it exists.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO change_versions (region, version, updated_at) VALUES (:region, 0, CURRENT_TIMESTAMP)",
+           nativeQuery = true)
+    int ensureRegion(@Param("region") String region);
+
+    /**
+     * Increment a region's version.
+     * Runs in its own transaction because it is called after the writer's transaction committed.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "UPDATE change_versions SET version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE region = :region",
+           nativeQuery = true)
+    int bump(@Param("region") String region);
+
+    /**
+     * Increment a region's version inside the caller's transaction.
+     * The row stays locked until that transaction ends.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE change_versions SET version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE region = :region",
+           nativeQuery = true)
+    int incrementInTransaction(@Param("region") String region);
+
+    /**
+     * Overwrite a region's version inside the caller's transaction.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE change_versions SET version = :version, updated_at = CURRENT_TIMESTAMP WHERE region = :region",
+           nativeQuery = true)
+    int setVersion(@Param("region") String region, @Param("version") long version);
+
+    /**
+     * Read one region's version.
+     */
+    @Query(value = "SELECT version FROM change_versions WHERE region = :region", nativeQuery = true)
+    Long findVersion(@Param("region") String region);
+
+    /**
+     * Read one region's version and lock its row until the caller's transaction ends.
+     */
+    @Query(value = "SELECT version FROM change_versions WHERE region = :region FOR UPDATE", nativeQuery = true)
+    Long lockVersion(@Param("region") String region);
+
+    /**
+     * Read all region versions as [region, version].
+     */
+    @Query("SELECT v.region, v.version FROM ChangeVersion v")
+    List<Object[]> findVersions();
+}
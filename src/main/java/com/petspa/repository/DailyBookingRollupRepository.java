@@ -0,0 +1,72 @@
+package com.petspa.repository;
+
+import com.petspa.model.Booking;
+import com.petspa.model.DailyBookingRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for DailyBookingRollup entity.
+ * 
+ * Report queries return rows of [groupKey, count, revenue].
+ */
+@Repository
+public interface DailyBookingRollupRepository extends JpaRepository<DailyBookingRollup, Long> {
+
+    /**
+     * Delete the rollup rows of a day.
+     */
+    @Modifying
+    @Query("DELETE FROM DailyBookingRollup r WHERE r.rollupDate = :date")
+    int deleteByDate(@Param("date") LocalDate date);
+
+    /**
+     * Rebuild the rollup rows of a day from the bookings table.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_booking_rollup (rollup_date, staff_id, species, status, booking_count, revenue) " +
+                   "SELECT b.booking_date, b.staff_id, COALESCE(p.species, ''), b.status, " +
+                   "COUNT(*), COALESCE(SUM(b.total_price), 0) " +
+                   "FROM bookings b JOIN pets p ON p.id = b.pet_id " +
+                   "WHERE b.booking_date = :date " +
+                   "GROUP BY b.booking_date, b.staff_id, COALESCE(p.species, ''), b.status",
+           nativeQuery = true)
+    int insertForDate(@Param("date") LocalDate date);
+
+    @Query("SELECT r.rollupDate, SUM(r.bookingCount), SUM(r.revenue) FROM DailyBookingRollup r " +
+           "WHERE r.rollupDate BETWEEN :startDate AND :endDate AND r.status <> :excluded " +
+           "GROUP BY r.rollupDate ORDER BY r.rollupDate")
+    List<Object[]> sumByDay(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                            @Param("excluded") Booking.BookingStatus excluded);
+
+    @Query("SELECT r.staffId, SUM(r.bookingCount), SUM(r.revenue) FROM DailyBookingRollup r " +
+           "WHERE r.rollupDate BETWEEN :startDate AND :endDate AND r.status <> :excluded " +
+           "GROUP BY r.staffId ORDER BY SUM(r.revenue) DESC")
+    List<Object[]> sumByStaff(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                              @Param("excluded") Booking.BookingStatus excluded);
+
+    @Query("SELECT r.species, SUM(r.bookingCount), SUM(r.revenue) FROM DailyBookingRollup r " +
+           "WHERE r.rollupDate BETWEEN :startDate AND :endDate AND r.status <> :excluded " +
+           "GROUP BY r.species ORDER BY SUM(r.revenue) DESC")
+    List<Object[]> sumBySpecies(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                @Param("excluded") Booking.BookingStatus excluded);
+
+    @Query("SELECT r.status, SUM(r.bookingCount), SUM(r.revenue) FROM DailyBookingRollup r " +
+           "WHERE r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.status")
+    List<Object[]> sumByStatus(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Totals per day over all statuses, used for reconciliation.
+     */
+    @Query("SELECT r.rollupDate, SUM(r.bookingCount), SUM(r.revenue) FROM DailyBookingRollup r " +
+           "WHERE r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.rollupDate")
+    List<Object[]> totalsByDay(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
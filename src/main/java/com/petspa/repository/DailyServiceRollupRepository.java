@@ -0,0 +1,50 @@
+package com.petspa.repository;
+
+import com.petspa.model.Booking;
+import com.petspa.model.DailyServiceRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for DailyServiceRollup entity.
+ */
+@Repository
+public interface DailyServiceRollupRepository extends JpaRepository<DailyServiceRollup, Long> {
+
+    /**
+     * Delete the rollup rows of a day.
+     */
+    @Modifying
+    @Query("DELETE FROM DailyServiceRollup r WHERE r.rollupDate = :date")
+    int deleteByDate(@Param("date") LocalDate date);
+
+    /**
+     * Rebuild the rollup rows of a day from booking_details.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_service_rollup (rollup_date, service_id, species, status, line_count, revenue) " +
+                   "SELECT b.booking_date, d.service_id, COALESCE(p.species, ''), b.status, " +
+                   "COUNT(*), COALESCE(SUM(d.price), 0) " +
+                   "FROM booking_details d " +
+                   "JOIN bookings b ON b.id = d.booking_id " +
+                   "JOIN pets p ON p.id = b.pet_id " +
+                   "WHERE b.booking_date = :date " +
+                   "GROUP BY b.booking_date, d.service_id, COALESCE(p.species, ''), b.status",
+           nativeQuery = true)
+    int insertForDate(@Param("date") LocalDate date);
+
+    /**
+     * Service popularity: rows of [serviceId, lineCount, revenue].
+     */
+    @Query("SELECT r.serviceId, SUM(r.lineCount), SUM(r.revenue) FROM DailyServiceRollup r " +
+           "WHERE r.rollupDate BETWEEN :startDate AND :endDate AND r.status <> :excluded " +
+           "GROUP BY r.serviceId ORDER BY SUM(r.lineCount) DESC")
+    List<Object[]> sumByService(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                @Param("excluded") Booking.BookingStatus excluded);
+}
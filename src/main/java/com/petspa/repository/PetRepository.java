@@ -2,9 +2,12 @@ package com.petspa.repository;
 
 import com.petspa.model.Pet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for Pet entity.
@@ -26,4 +29,10 @@ public interface PetRepository extends JpaRepository<Pet, Long> {
      * Find pets by name containing (partial match).
      */
     List<Pet> findByNameContainingIgnoreCase(String name);
+
+    /**
+     * Find a pet with its owner, in one query.
+     */
+    @Query("SELECT p FROM Pet p JOIN FETCH p.owner WHERE p.id = :id")
+    Optional<Pet> findWithOwnerById(@Param("id") Long id);
 }
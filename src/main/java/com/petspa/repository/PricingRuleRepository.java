@@ -0,0 +1,24 @@
+package com.petspa.repository;
+
+import com.petspa.model.PricingRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for PricingRule entity.
+ */
+@Repository
+public interface PricingRuleRepository extends JpaRepository<PricingRule, Long> {
+
+    /**
+     * Find the rules in effect.
+     */
+    List<PricingRule> findByActiveTrue();
+
+    /**
+     * Find all rules, grouped by type.
+     */
+    List<PricingRule> findAllByOrderByTypeAscIdAsc();
+}
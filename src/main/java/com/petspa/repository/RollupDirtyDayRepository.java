@@ -0,0 +1,65 @@
+package com.petspa.repository;
+
+import com.petspa.model.RollupDirtyDay;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for RollupDirtyDay entity.
+ */
+@Repository
+public interface RollupDirtyDayRepository extends JpaRepository<RollupDirtyDay, LocalDate> {
+
+    /**
+     * Mark a day dirty. Does nothing if it is already marked.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO rollup_dirty_days (rollup_date, marked_at) VALUES (:date, CURRENT_TIMESTAMP)",
+           nativeQuery = true)
+    int markDirty(@Param("date") LocalDate date);
+
+    /**
+     * Mark every day with bookings in a range dirty.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO rollup_dirty_days (rollup_date, marked_at) " +
+                   "SELECT DISTINCT booking_date, CURRENT_TIMESTAMP FROM bookings " +
+                   "WHERE booking_date BETWEEN :startDate AND :endDate",
+           nativeQuery = true)
+    int markRangeDirty(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Mark every day with an occurrence of a recurring series dirty.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO rollup_dirty_days (rollup_date, marked_at) " +
+                   "SELECT DISTINCT booking_date, CURRENT_TIMESTAMP FROM bookings WHERE series_id = :seriesId",
+           nativeQuery = true)
+    int markSeriesDirty(@Param("seriesId") Long seriesId);
+
+    /**
+     * Claim a dirty day by deleting its marker.
+     * Returns 1 only for the caller that removed it, so each day is rebuilt once.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RollupDirtyDay d WHERE d.rollupDate = :date")
+    int claim(@Param("date") LocalDate date);
+
+    /**
+     * Find the oldest dirty days.
+     */
+    @Query("SELECT d.rollupDate FROM RollupDirtyDay d ORDER BY d.markedAt")
+    List<LocalDate> findDirtyDates(Pageable pageable);
+}
@@ -0,0 +1,28 @@
+package com.petspa.repository;
+
+import com.petspa.model.ScheduleOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for ScheduleOverride entity.
+ */
+@Repository
+public interface ScheduleOverrideRepository extends JpaRepository<ScheduleOverride, Long> {
+
+    /**
+     * Find overrides in a date range, optionally for a single staff member.
+     */
+    @Query("SELECT o FROM ScheduleOverride o " +
+           "LEFT JOIN FETCH o.shiftType " +
+           "WHERE (:staffId IS NULL OR o.staff.id = :staffId) " +
+           "AND o.workDate BETWEEN :startDate AND :endDate")
+    List<ScheduleOverride> findInRange(@Param("staffId") Long staffId,
+                                       @Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate);
+}
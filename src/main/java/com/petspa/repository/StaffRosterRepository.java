@@ -0,0 +1,70 @@
+package com.petspa.repository;
+
+import com.petspa.model.StaffRoster;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Repository for StaffRoster entity (materialized per-date shifts).
+ */
+@Repository
+public interface StaffRosterRepository extends JpaRepository<StaffRoster, Long> {
+
+    /**
+     * Find everyone rostered on a date.
+     */
+    @Query("SELECT r FROM StaffRoster r " +
+           "JOIN FETCH r.staff s " +
+           "JOIN FETCH r.shiftType " +
+           "WHERE r.workDate = :date AND s.isActive = true " +
+           "ORDER BY r.startTime, s.fullName")
+    List<StaffRoster> findActiveByWorkDate(@Param("date") LocalDate date);
+
+    /**
+     * Find staff rostered on a date whose shift covers the given time.
+     */
+    @Query("SELECT r FROM StaffRoster r " +
+           "JOIN FETCH r.staff s " +
+           "WHERE r.workDate = :date " +
+           "AND r.startTime <= :time AND r.endTime > :time " +
+           "AND s.isActive = true")
+    List<StaffRoster> findAvailableStaff(@Param("date") LocalDate date, @Param("time") LocalTime time);
+
+    /**
+     * Find a staff member's roster for a date range.
+     */
+    List<StaffRoster> findByStaffIdAndWorkDateBetweenOrderByWorkDateAscStartTimeAsc(
+            Long staffId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Delete a staff member's roster rows in a date range.
+     */
+    @Modifying
+    @Query("DELETE FROM StaffRoster r WHERE r.staff.id = :staffId AND r.workDate BETWEEN :startDate AND :endDate")
+    int deleteByStaffAndDateRange(@Param("staffId") Long staffId,
+                                  @Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate);
+
+    /**
+     * Delete all roster rows in a date range.
+     */
+    @Modifying
+    @Query("DELETE FROM StaffRoster r WHERE r.workDate BETWEEN :startDate AND :endDate")
+    int deleteByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Copy a shift type's new times onto its roster rows.
+     */
+    @Modifying
+    @Query("UPDATE StaffRoster r SET r.startTime = :startTime, r.endTime = :endTime WHERE r.shiftType.id = :shiftTypeId")
+    int updateShiftTimes(@Param("shiftTypeId") Integer shiftTypeId,
+                         @Param("startTime") LocalTime startTime,
+                         @Param("endTime") LocalTime endTime);
+}
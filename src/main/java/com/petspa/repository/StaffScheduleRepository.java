@@ -1,6 +1,7 @@
 package com.petspa.repository;
 
 import com.petspa.model.StaffSchedule;
+import com.petspa.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -46,6 +47,40 @@ public interface StaffScheduleRepository extends JpaRepository<StaffSchedule, Lo
     List<StaffSchedule> findAvailableStaff(@Param("dayOfWeek") Integer dayOfWeek, 
                                             @Param("time") LocalTime time);
 
+    /**
+     * Find weekly templates with their shift types, optionally for a single staff member.
+     * Only active staff are included.
+     */
+    @Query("SELECT ss FROM StaffSchedule ss " +
+           "JOIN FETCH ss.staff s " +
+           "JOIN FETCH ss.shiftType st " +
+           "WHERE (:staffId IS NULL OR s.id = :staffId) AND s.isActive = true")
+    List<StaffSchedule> findActiveTemplates(@Param("staffId") Long staffId);
+
+    /**
+     * Find weekly schedule rows with staff and shift type for one staff member, or
+     * for every active user of a role if staffId is null.
+     */
+    @Query("SELECT ss FROM StaffSchedule ss " +
+           "JOIN FETCH ss.staff s " +
+           "JOIN FETCH ss.shiftType st " +
+           "WHERE (:staffId IS NULL AND s.role = :role AND s.isActive = true) " +
+           "OR s.id = :staffId " +
+           "ORDER BY s.id, ss.dayOfWeek, st.startTime")
+    List<StaffSchedule> findGrid(@Param("staffId") Long staffId, @Param("role") User.Role role);
+
+    /**
+     * Find every active user of a role together with their weekly cells, in one query.
+     * Each row is [staffId, fullName, dayOfWeek, shiftTypeId]; the last two are null
+     * for staff without any schedule.
+     */
+    @Query("SELECT u.id, u.fullName, ss.dayOfWeek, st.id FROM User u " +
+           "LEFT JOIN StaffSchedule ss ON ss.staff = u " +
+           "LEFT JOIN ss.shiftType st " +
+           "WHERE u.role = :role AND u.isActive = true " +
+           "ORDER BY u.fullName, u.id")
+    List<Object[]> findMatrixRows(@Param("role") User.Role role);
+
     /**
      * Check if a schedule already exists.
      */
@@ -1,7 +1,11 @@
 package com.petspa.repository;
 
 import com.petspa.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -42,4 +46,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Check if email already exists.
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Find a user and lock the row until the transaction ends.
+     * Used to serialize bookings for the same staff member across terminals.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
 }
@@ -0,0 +1,301 @@
+package com.petspa.service;
+
+import com.petspa.diagnostics.Monitored;
+import com.petspa.dto.AnalyticsResultDTO;
+import com.petspa.model.Booking;
+import com.petspa.model.ChangeVersion;
+import com.petspa.model.User;
+import com.petspa.repository.BookingDetailRepository;
+import com.petspa.repository.BookingRepository;
+import com.petspa.repository.ServiceRepository;
+import com.petspa.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Analytics Service - Ad-hoc group-by/pivot over booking history.
+ *
+ * A date range (same inclusive semantics as BookingRepository.findByBookingDateBetween)
+ * is loaded once into BookingColumns - primitive arrays, prices in minor units,
+ * dictionary-coded staff/species/service - and aggregated with fork/join over
+ * row ranges into dense long[] accumulators. The last snapshot is reused for a
+ * short time so repeated pivots over the same range skip the database.
+ */
+@Monitored
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    /**
+     * How long a loaded snapshot is reused for the same range.
+     */
+    private static final long SNAPSHOT_TTL_MILLIS = 60_000;
+
+    /**
+     * Rows per fork/join leaf task.
+     */
+    private static final int SPLIT_THRESHOLD = 8_192;
+
+    private static final int CANCELLED = Booking.BookingStatus.CANCELLED.ordinal();
+
+    private final BookingRepository bookingRepository;
+    private final BookingDetailRepository bookingDetailRepository;
+    private final UserRepository userRepository;
+    private final ServiceRepository serviceRepository;
+
+    private volatile BookingColumns snapshot;
+
+    /**
+     * Group-by dimensions.
+     */
+    public enum Dimension {
+        WEEKDAY, HOUR, DATE, STAFF, SPECIES, STATUS, SERVICE
+    }
+
+    /**
+     * Aggregates bookings in a date range by one or two dimensions.
+     *
+     * Count and revenue are per booking (Booking.totalPrice), except when SERVICE is
+     * one of the dimensions, in which case they are per booking line (BookingDetail.price).
+     *
+     * @param rowDimension dimension for rows
+     * @param columnDimension dimension for columns, or null for a single column
+     * @param includeCancelled whether cancelled bookings are counted
+     */
+    public AnalyticsResultDTO pivot(String startDateStr, String endDateStr, String rowDimension,
+                                    String columnDimension, boolean includeCancelled) {
+        long started = System.nanoTime();
+        LocalDate startDate = LocalDate.parse(startDateStr, DATE_FORMATTER);
+        LocalDate endDate = LocalDate.parse(endDateStr, DATE_FORMATTER);
+        Dimension rowDim = Dimension.valueOf(rowDimension);
+        Dimension colDim = columnDimension != null ? Dimension.valueOf(columnDimension) : null;
+
+        BookingColumns columns = columns(startDate, endDate);
+        boolean lineLevel = rowDim == Dimension.SERVICE || colDim == Dimension.SERVICE;
+
+        int rowCard = cardinality(columns, rowDim);
+        int colCard = colDim != null ? cardinality(columns, colDim) : 1;
+        int facts = lineLevel ? columns.lineSize : columns.size;
+
+        long[] acc = ForkJoinPool.commonPool().invoke(new GroupTask(
+                columns, lineLevel, rowDim, colDim, colCard, rowCard * colCard, includeCancelled, 0, facts));
+
+        long[][] counts = new long[rowCard][colCard];
+        double[][] revenue = new double[rowCard][colCard];
+        for (int r = 0; r < rowCard; r++) {
+            for (int c = 0; c < colCard; c++) {
+                int cell = r * colCard + c;
+                counts[r][c] = acc[cell * 2];
+                revenue[r][c] = acc[cell * 2 + 1] / 100.0;
+            }
+        }
+
+        return AnalyticsResultDTO.builder()
+                .rowDimension(rowDim.name())
+                .columnDimension(colDim != null ? colDim.name() : null)
+                .rowLabels(labels(columns, rowDim))
+                .columnLabels(colDim != null ? labels(columns, colDim) : List.of("Total"))
+                .counts(counts)
+                .revenue(revenue)
+                .factsScanned(facts)
+                .elapsedMicros((System.nanoTime() - started) / 1_000)
+                .build();
+    }
+
+    /**
+     * Drops the cached snapshot so the next pivot reloads from the database.
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Drops the snapshot when another terminal changed bookings.
+     */
+    @EventListener
+    public void onRegionsChanged(ChangeVersionService.RegionsChanged event) {
+        if (event.regions().contains(ChangeVersion.Region.BOOKINGS)) {
+            invalidate();
+        }
+    }
+
+    private BookingColumns columns(LocalDate startDate, LocalDate endDate) {
+        BookingColumns current = snapshot;
+        if (current != null && current.startDate.equals(startDate) && current.endDate.equals(endDate)
+                && System.currentTimeMillis() - current.loadedAtMillis < SNAPSHOT_TTL_MILLIS) {
+            return current;
+        }
+        BookingColumns loaded = load(startDate, endDate);
+        snapshot = loaded;
+        return loaded;
+    }
+
+    private BookingColumns load(LocalDate startDate, LocalDate endDate) {
+        return BookingColumns.build(startDate, endDate,
+                bookingRepository.findAnalyticsRows(startDate, endDate),
+                bookingDetailRepository.findAnalyticsRows(startDate, endDate));
+    }
+
+    private static int cardinality(BookingColumns columns, Dimension dimension) {
+        switch (dimension) {
+            case WEEKDAY: return 7;
+            case HOUR: return 24;
+            case DATE: return (int) (columns.endDate.toEpochDay() - columns.startDate.toEpochDay()) + 1;
+            case STAFF: return columns.staffIds.size();
+            case SPECIES: return columns.speciesNames.size();
+            case STATUS: return Booking.BookingStatus.values().length;
+            case SERVICE: return columns.serviceIds.size();
+            default: throw new IllegalArgumentException(dimension.name());
+        }
+    }
+
+    /**
+     * Dense code of a booking row in a (non-SERVICE) dimension.
+     */
+    private static int bookingCode(BookingColumns columns, Dimension dimension, int row) {
+        switch (dimension) {
+            case WEEKDAY: return Math.floorMod(columns.epochDay[row] + 3, 7); // 1970-01-01 was a Thursday
+            case HOUR: return columns.minute[row] / 60;
+            case DATE: return columns.epochDay[row] - (int) columns.startDate.toEpochDay();
+            case STAFF: return columns.staff[row];
+            case SPECIES: return columns.species[row];
+            case STATUS: return columns.status[row];
+            default: throw new IllegalArgumentException(dimension.name());
+        }
+    }
+
+    private List<String> labels(BookingColumns columns, Dimension dimension) {
+        List<String> labels = new ArrayList<>();
+        switch (dimension) {
+            case WEEKDAY:
+                for (int i = 1; i <= 7; i++) {
+                    labels.add(DayOfWeek.of(i).getDisplayName(TextStyle.SHORT, Locale.ENGLISH));
+                }
+                break;
+            case HOUR:
+                for (int i = 0; i < 24; i++) {
+                    labels.add(String.format("%02d:00", i));
+                }
+                break;
+            case DATE:
+                for (LocalDate d = columns.startDate; !d.isAfter(columns.endDate); d = d.plusDays(1)) {
+                    labels.add(d.format(DATE_FORMATTER));
+                }
+                break;
+            case STAFF:
+                Map<Long, String> staffNames = userRepository.findAllById(columns.staffIds.subList(1, columns.staffIds.size()))
+                        .stream().collect(Collectors.toMap(User::getId, User::getFullName));
+                labels.add("Unassigned");
+                for (Long id : columns.staffIds.subList(1, columns.staffIds.size())) {
+                    labels.add(staffNames.getOrDefault(id, String.valueOf(id)));
+                }
+                break;
+            case SPECIES:
+                for (String species : columns.speciesNames) {
+                    labels.add(species.isEmpty() ? "Unknown" : species);
+                }
+                break;
+            case STATUS:
+                for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
+                    labels.add(status.name());
+                }
+                break;
+            case SERVICE:
+                Map<Long, String> serviceNames = serviceRepository.findAllById(columns.serviceIds)
+                        .stream().collect(Collectors.toMap(com.petspa.model.Service::getId,
+                                com.petspa.model.Service::getName));
+                for (Long id : columns.serviceIds) {
+                    labels.add(serviceNames.getOrDefault(id, String.valueOf(id)));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(dimension.name());
+        }
+        return labels;
+    }
+
+    /**
+     * Aggregates a range of facts into [count, revenueMinor] pairs per cell,
+     * splitting in halves until ranges are small enough.
+     */
+    private static final class GroupTask extends RecursiveTask<long[]> {
+
+        private final BookingColumns columns;
+        private final boolean lineLevel;
+        private final Dimension rowDim;
+        private final Dimension colDim;
+        private final int colCard;
+        private final int cells;
+        private final boolean includeCancelled;
+        private final int from;
+        private final int to;
+
+        GroupTask(BookingColumns columns, boolean lineLevel, Dimension rowDim, Dimension colDim,
+                  int colCard, int cells, boolean includeCancelled, int from, int to) {
+            this.columns = columns;
+            this.lineLevel = lineLevel;
+            this.rowDim = rowDim;
+            this.colDim = colDim;
+            this.colCard = colCard;
+            this.cells = cells;
+            this.includeCancelled = includeCancelled;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                return aggregate();
+            }
+            int mid = (from + to) >>> 1;
+            GroupTask left = new GroupTask(columns, lineLevel, rowDim, colDim, colCard, cells, includeCancelled, from, mid);
+            GroupTask right = new GroupTask(columns, lineLevel, rowDim, colDim, colCard, cells, includeCancelled, mid, to);
+            left.fork();
+            long[] result = right.compute();
+            long[] other = left.join();
+            for (int i = 0; i < result.length; i++) {
+                result[i] += other[i];
+            }
+            return result;
+        }
+
+        private long[] aggregate() {
+            long[] acc = new long[cells * 2];
+            for (int i = from; i < to; i++) {
+                int booking = lineLevel ? columns.lineBooking[i] : i;
+                if (!includeCancelled && columns.status[booking] == CANCELLED) {
+                    continue;
+                }
+                int r = code(rowDim, i, booking);
+                int c = colDim != null ? code(colDim, i, booking) : 0;
+                int cell = (r * colCard + c) * 2;
+                acc[cell]++;
+                acc[cell + 1] += lineLevel ? columns.linePriceMinor[i] : columns.priceMinor[i];
+            }
+            return acc;
+        }
+
+        private int code(Dimension dimension, int fact, int booking) {
+            if (dimension == Dimension.SERVICE) {
+                return columns.lineService[fact];
+            }
+            return bookingCode(columns, dimension, booking);
+        }
+    }
+}
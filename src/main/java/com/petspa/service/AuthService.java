@@ -1,5 +1,6 @@
 package com.petspa.service;
 
+import com.petspa.diagnostics.Monitored;
 import com.petspa.dto.UserDTO;
 import com.petspa.model.User;
 import com.petspa.repository.UserRepository;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 /**
  * Authentication Service - Handles login/logout operations.
  */
+@Monitored
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -0,0 +1,148 @@
+package com.petspa.service;
+
+import com.petspa.model.Booking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Booking Batch Writer - Inserts new bookings and their service lines in two JDBC batches.
+ *
+ * Booking IDs are generated by the database (IDENTITY), which keeps Hibernate from
+ * batching inserts: saving n bookings with their lines costs a round trip per row.
+ * Here all bookings go in one batch, returning their IDs, and all lines in a second one,
+ * however many bookings there are.
+ *
+ * The rows are written in the caller's transaction. The caller does the bookkeeping
+ * BookingService does for saved entities (staff index, counters, queues, journal).
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingBatchWriter {
+
+    private static final String INSERT_BOOKING_SQL =
+            "INSERT INTO bookings (customer_id, pet_id, staff_id, booking_date, booking_time, status, " +
+            "total_price, created_at, change_stamp, series_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_LINE_SQL =
+            "INSERT INTO booking_details (booking_id, service_id, price) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts PENDING bookings stamped with a bookings version and returns their IDs
+     * and line IDs, in order.
+     */
+    public List<Inserted> insert(List<NewBooking> bookings, long changeStamp, LocalDateTime createdAt) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_BOOKING_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        NewBooking booking = bookings.get(i);
+                        new ArgumentPreparedStatementSetter(new Object[] {
+                                booking.customerId(),
+                                booking.petId(),
+                                booking.staffId(),
+                                booking.date(),
+                                booking.time(),
+                                Booking.BookingStatus.PENDING.name(),
+                                booking.totalPrice(),
+                                createdAt,
+                                changeStamp,
+                                booking.seriesId()
+                        }).setValues(ps);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return bookings.size();
+                    }
+                },
+                keys);
+
+        List<Long> bookingIds = ids(keys, bookings.size());
+
+        List<Object[]> lines = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            for (Line line : bookings.get(i).lines()) {
+                lines.add(new Object[] {bookingIds.get(i), line.serviceId(), line.price()});
+            }
+        }
+        List<Long> lineIds = List.of();
+        if (!lines.isEmpty()) {
+            KeyHolder lineKeys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_LINE_SQL, new String[] {"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            new ArgumentPreparedStatementSetter(lines.get(i)).setValues(ps);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return lines.size();
+                        }
+                    },
+                    lineKeys);
+            lineIds = ids(lineKeys, lines.size());
+        }
+
+        List<Inserted> inserted = new ArrayList<>(bookings.size());
+        int line = 0;
+        for (int i = 0; i < bookings.size(); i++) {
+            int lineCount = bookings.get(i).lines().size();
+            inserted.add(new Inserted(bookingIds.get(i), lineIds.subList(line, line + lineCount)));
+            line += lineCount;
+        }
+        return inserted;
+    }
+
+    private static List<Long> ids(KeyHolder keys, int expected) {
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        if (keyList.size() != expected) {
+            throw new IllegalStateException("Expected " + expected + " generated IDs, got " + keyList.size());
+        }
+        List<Long> ids = new ArrayList<>(expected);
+        for (Map<String, Object> key : keyList) {
+            // The key column is named ID, id or GENERATED_KEY depending on the driver
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * A booking to insert. staffId and seriesId may be null.
+     */
+    public record NewBooking(Long customerId, Long petId, Long staffId, LocalDate date, LocalTime time,
+                             BigDecimal totalPrice, Long seriesId, List<Line> lines) {}
+
+    /**
+     * A service line of a booking to insert, at the price it was booked for.
+     */
+    public record Line(Long serviceId, BigDecimal price) {}
+
+    /**
+     * IDs of an inserted booking and of its lines, in line order.
+     */
+    public record Inserted(Long bookingId, List<Long> lineIds) {}
+}
@@ -0,0 +1,171 @@
+package com.petspa.service;
+
+import com.petspa.model.Booking;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar, primitive-array snapshot of bookings and booking lines for analytics.
+ *
+ * Booking columns (one entry per booking):
+ * - epochDay: booking date as days since 1970-01-01
+ * - minute: booking time as minutes since midnight
+ * - priceMinor: Booking.totalPrice in minor units (x100)
+ * - staff, species: dense dictionary codes (code 0 = none)
+ * - status: BookingStatus ordinal
+ *
+ * Line columns (one entry per booking detail):
+ * - lineBooking: index of the owning booking in the booking columns
+ * - lineService: dense dictionary code of the service
+ * - linePriceMinor: BookingDetail.price in minor units
+ *
+ * Dictionaries map dense codes back to entity IDs / species names.
+ */
+public final class BookingColumns {
+
+    final LocalDate startDate;
+    final LocalDate endDate;
+    final long loadedAtMillis;
+
+    final int size;
+    final int[] epochDay;
+    final short[] minute;
+    final long[] priceMinor;
+    final int[] staff;
+    final int[] species;
+    final byte[] status;
+
+    final int lineSize;
+    final int[] lineBooking;
+    final int[] lineService;
+    final long[] linePriceMinor;
+
+    final List<Long> staffIds;       // code -> staff ID (index 0 = unassigned)
+    final List<String> speciesNames; // code -> species (index 0 = unknown)
+    final List<Long> serviceIds;     // code -> service ID
+
+    private BookingColumns(LocalDate startDate, LocalDate endDate, int size, int lineSize,
+                           List<Long> staffIds, List<String> speciesNames, List<Long> serviceIds,
+                           int[] epochDay, short[] minute, long[] priceMinor, int[] staff, int[] species,
+                           byte[] status, int[] lineBooking, int[] lineService, long[] linePriceMinor) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.loadedAtMillis = System.currentTimeMillis();
+        this.size = size;
+        this.lineSize = lineSize;
+        this.staffIds = staffIds;
+        this.speciesNames = speciesNames;
+        this.serviceIds = serviceIds;
+        this.epochDay = epochDay;
+        this.minute = minute;
+        this.priceMinor = priceMinor;
+        this.staff = staff;
+        this.species = species;
+        this.status = status;
+        this.lineBooking = lineBooking;
+        this.lineService = lineService;
+        this.linePriceMinor = linePriceMinor;
+    }
+
+    /**
+     * Builds the columns from the scalar rows of BookingRepository.findAnalyticsRows
+     * and BookingDetailRepository.findAnalyticsRows.
+     */
+    static BookingColumns build(LocalDate startDate, LocalDate endDate,
+                                List<Object[]> bookingRows, List<Object[]> lineRows) {
+        int size = bookingRows.size();
+        int[] epochDay = new int[size];
+        short[] minute = new short[size];
+        long[] priceMinor = new long[size];
+        int[] staff = new int[size];
+        int[] species = new int[size];
+        byte[] status = new byte[size];
+
+        Map<Long, Integer> rowByBookingId = new HashMap<>(size * 2);
+        Dictionary<Long> staffDict = new Dictionary<>(null);
+        Dictionary<String> speciesDict = new Dictionary<>("");
+
+        for (int i = 0; i < size; i++) {
+            Object[] row = bookingRows.get(i);
+            rowByBookingId.put((Long) row[0], i);
+            epochDay[i] = (int) ((LocalDate) row[1]).toEpochDay();
+            minute[i] = (short) (((LocalTime) row[2]).toSecondOfDay() / 60);
+            staff[i] = staffDict.code((Long) row[3]);
+            status[i] = (byte) ((Booking.BookingStatus) row[4]).ordinal();
+            species[i] = speciesDict.code(row[5] != null ? (String) row[5] : "");
+            priceMinor[i] = toMinorUnits((BigDecimal) row[6]);
+        }
+
+        int lineSize = lineRows.size();
+        int[] lineBooking = new int[lineSize];
+        int[] lineService = new int[lineSize];
+        long[] linePriceMinor = new long[lineSize];
+        Dictionary<Long> serviceDict = new Dictionary<>();
+
+        int written = 0;
+        for (Object[] row : lineRows) {
+            Integer bookingRow = rowByBookingId.get((Long) row[0]);
+            if (bookingRow == null) {
+                continue; // booking moved out of range between the two queries
+            }
+            lineBooking[written] = bookingRow;
+            lineService[written] = serviceDict.code((Long) row[1]);
+            linePriceMinor[written] = toMinorUnits((BigDecimal) row[2]);
+            written++;
+        }
+
+        return new BookingColumns(startDate, endDate, size, written,
+                staffDict.values, speciesDict.values, serviceDict.values,
+                epochDay, minute, priceMinor, staff, species, status,
+                lineBooking, lineService, linePriceMinor);
+    }
+
+    static long toMinorUnits(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    /**
+     * Assigns dense int codes to values in first-seen order.
+     */
+    private static final class Dictionary<T> {
+
+        private final Map<T, Integer> codes = new HashMap<>();
+        private final List<T> values = new ArrayList<>();
+
+        Dictionary() {
+        }
+
+        /**
+         * Creates a dictionary whose code 0 is reserved for the given "none" value.
+         */
+        Dictionary(T none) {
+            values.add(none);
+            if (none != null) {
+                codes.put(none, 0);
+            }
+        }
+
+        int code(T value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.petspa.service;
+
+import com.petspa.dto.BookingEventDTO;
+import com.petspa.model.Booking;
+import com.petspa.model.BookingEvent;
+import com.petspa.repository.BookingEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * Booking Event Journal - Append-only history of booking lifecycle events.
+ *
+ * BookingService appends events inside its transaction. They are collected and
+ * inserted as one JDBC batch just before the transaction commits, so the booking
+ * only waits on a single statement, no event is lost, and a failed write rolls the
+ * booking back instead of vanishing. Booking writers hold the BOOKINGS version row
+ * lock until commit (see ChangeVersionService.stamp), so event IDs are handed out
+ * in commit order.
+ *
+ * Writing synchronously at commit is deliberate: an event queued for a background
+ * writer could be lost or land after a reader had already moved past its position.
+ *
+ * Consumers read the journal by position (the event ID) with readAfter. Because IDs
+ * follow commit order, every ID below the highest committed one is settled: a gap
+ * there is an insert that rolled back and will never be filled, so readers skip it
+ * instead of waiting. The actor of an event is the user bound with withActor by the
+ * caller (JavaBridge binds its logged-in user per call).
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingEventJournal {
+
+    private static final String TX_EVENTS_KEY = BookingEventJournal.class.getName() + ".events";
+
+    private static final int MAX_BATCH = 500;
+    private static final int MAX_READ = 1_000;
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO booking_events (booking_id, event_type, from_status, to_status, from_staff_id, " +
+            "to_staff_id, booking_date, booking_time, detail, actor_id, occurred_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final BookingEventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ThreadLocal<Long> requestActor = new ThreadLocal<>();
+
+    /**
+     * Runs an action with the given user as the actor of events appended on this thread.
+     * Every caller that writes bookings on behalf of a user binds it here, so each
+     * terminal's events are attributed to its own user.
+     */
+    public <T> T withActor(Long userId, Callable<T> action) throws Exception {
+        Long previous = requestActor.get();
+        requestActor.set(userId);
+        try {
+            return action.call();
+        } finally {
+            if (previous != null) {
+                requestActor.set(previous);
+            } else {
+                requestActor.remove();
+            }
+        }
+    }
+
+    /**
+     * Appends an event as part of the current booking transaction; it is written just
+     * before commit. The transaction must hold the BOOKINGS version row lock, which
+     * every BookingService write takes first.
+     */
+    public void append(BookingEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking events must be appended inside the booking transaction");
+        }
+        if (event.getActorId() == null) {
+            event.setActorId(requestActor.get());
+        }
+        @SuppressWarnings("unchecked")
+        List<BookingEvent> events = (List<BookingEvent>) TransactionSynchronizationManager.getResource(TX_EVENTS_KEY);
+        if (events == null) {
+            List<BookingEvent> pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(TX_EVENTS_KEY, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TX_EVENTS_KEY);
+                }
+            });
+            events = pending;
+        }
+        events.add(event);
+    }
+
+    /**
+     * Reads up to limit events after a journal position, in order.
+     * Use the position of the last event returned as the next starting point.
+     * Gaps below the last event read are rolled-back inserts and are skipped.
+     */
+    public List<BookingEventDTO> readAfter(long position, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_READ));
+        return eventRepository.findAfter(position, PageRequest.of(0, size)).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the full history of one booking.
+     */
+    public List<BookingEventDTO> getHistory(Long bookingId) {
+        return eventRepository.findByBookingIdOrderByIdAsc(bookingId).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    private void write(List<BookingEvent> events) {
+        for (int from = 0; from < events.size(); from += MAX_BATCH) {
+            List<BookingEvent> batch = events.subList(from, Math.min(events.size(), from + MAX_BATCH));
+            jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, batch.stream().map(this::eventRow).collect(Collectors.toList()));
+        }
+    }
+
+    private Object[] eventRow(BookingEvent event) {
+        return new Object[] {
+                event.getBookingId(),
+                event.getEventType().name(),
+                statusName(event.getFromStatus()),
+                statusName(event.getToStatus()),
+                event.getFromStaffId(),
+                event.getToStaffId(),
+                event.getBookingDate(),
+                event.getBookingTime(),
+                event.getDetail(),
+                event.getActorId(),
+                event.getOccurredAt()
+        };
+    }
+
+    private static String statusName(Booking.BookingStatus status) {
+        return status != null ? status.name() : null;
+    }
+
+    /**
+     * Converts BookingEvent entity to DTO.
+     */
+    private BookingEventDTO toDTO(BookingEvent event) {
+        return BookingEventDTO.builder()
+                .position(event.getId())
+                .bookingId(event.getBookingId())
+                .eventType(event.getEventType().name())
+                .fromStatus(statusName(event.getFromStatus()))
+                .toStatus(statusName(event.getToStatus()))
+                .fromStaffId(event.getFromStaffId())
+                .toStaffId(event.getToStaffId())
+                .bookingDate(event.getBookingDate())
+                .bookingTime(event.getBookingTime())
+                .detail(event.getDetail())
+                .actorId(event.getActorId())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+}
@@ -0,0 +1,321 @@
+package com.petspa.service;
+
+import com.petspa.model.Booking;
+import com.petspa.model.BookingDetail;
+import com.petspa.model.ChangeVersion;
+import com.petspa.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Booking Interval Index - Per-staff, per-day index of booked time intervals.
+ *
+ * Each (staff, date) bucket keeps its intervals in a TreeMap keyed by start minute,
+ * so an overlap check only walks the entries that start before the candidate ends
+ * and stops as soon as no longer interval could reach back into it.
+ *
+ * Buckets are loaded lazily from the database on first use and kept current by
+ * BookingService on create, reschedule and cancel. Bucket mutations are guarded by
+ * striped per-staff locks; cross-terminal serialization is done by the caller with
+ * a row lock on the staff member.
+ *
+ * A cached bucket misses bookings other terminals committed since the last poll, so it
+ * is only trusted to reject a slot. Before a slot is accepted, its bucket is reloaded
+ * inside the caller's transaction, once per transaction (see checkAvailable and reload).
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+
+    /**
+     * Duration used for bookings that have no services attached yet.
+     */
+    public static final int DEFAULT_DURATION_MINUTES = 30;
+
+    private static final int LOCK_STRIPES = 64;
+
+    private static final String TX_VERIFIED_KEY = BookingIntervalIndex.class.getName() + ".verified";
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes = createStripes();
+
+    /**
+     * Throws if the given interval overlaps any other booking of the staff member on that date.
+     * Call it holding the staff member's row lock.
+     *
+     * A conflict in the cached bucket rejects the slot right away. Otherwise the bucket is
+     * reloaded from the database, unless that was already done in this transaction, and
+     * checked again.
+     *
+     * @param ignoreBookingId booking to leave out of the check (used when rescheduling), may be null
+     */
+    public void checkAvailable(Long staffId, LocalDate date, LocalTime startTime,
+                               int durationMinutes, Long ignoreBookingId) {
+        int start = startTime.toSecondOfDay() / 60;
+        int end = start + durationMinutes;
+        BucketKey key = new BucketKey(staffId, date);
+        Long conflictId;
+        ReentrantLock lock = lockFor(staffId);
+        lock.lock();
+        try {
+            Bucket bucket = buckets.get(key);
+            conflictId = bucket != null ? bucket.findConflict(start, end, ignoreBookingId) : null;
+            if (conflictId == null && (markVerified(key) || bucket == null)) {
+                bucket = load(staffId, date);
+                buckets.put(key, bucket);
+                conflictId = bucket.findConflict(start, end, ignoreBookingId);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (conflictId != null) {
+            throw new RuntimeException("Staff " + staffId + " already has booking " + conflictId
+                    + " overlapping " + date + " " + startTime);
+        }
+    }
+
+    /**
+     * Returns the ID of a booking overlapping the given interval, or null if the slot is free.
+     * Answers from the cached bucket; call reload first, under the staff row lock, before
+     * accepting a slot on the strength of it.
+     */
+    public Long findConflict(Long staffId, LocalDate date, LocalTime startTime,
+                             int durationMinutes, Long ignoreBookingId) {
+        int start = startTime.toSecondOfDay() / 60;
+        int end = start + durationMinutes;
+        ReentrantLock lock = lockFor(staffId);
+        lock.lock();
+        try {
+            return bucket(staffId, date).findConflict(start, end, ignoreBookingId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reloads a staff member's buckets for several dates with one query, so findConflict
+     * and checkAvailable over those dates run no further queries in this transaction.
+     * Call it holding the staff member's row lock.
+     */
+    public void reload(Long staffId, Collection<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return;
+        }
+        ReentrantLock lock = lockFor(staffId);
+        lock.lock();
+        try {
+            Map<LocalDate, Bucket> loaded = new HashMap<>();
+            for (LocalDate date : dates) {
+                loaded.put(date, new Bucket());
+            }
+            for (Booking booking : bookingRepository.findByStaffIdAndBookingDateInAndStatusNot(
+                    staffId, loaded.keySet(), Booking.BookingStatus.CANCELLED)) {
+                int start = booking.getBookingTime().toSecondOfDay() / 60;
+                loaded.get(booking.getBookingDate()).add(booking.getId(), start, start + durationOf(booking));
+            }
+            loaded.forEach((date, bucket) -> {
+                BucketKey key = new BucketKey(staffId, date);
+                buckets.put(key, bucket);
+                markVerified(key);
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a booked interval.
+     */
+    public void add(Long staffId, LocalDate date, Long bookingId, LocalTime startTime, int durationMinutes) {
+        int start = startTime.toSecondOfDay() / 60;
+        ReentrantLock lock = lockFor(staffId);
+        lock.lock();
+        try {
+            bucket(staffId, date).add(bookingId, start, start + durationMinutes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a booked interval. Does nothing if the bucket is not loaded.
+     */
+    public void remove(Long staffId, LocalDate date, Long bookingId) {
+        ReentrantLock lock = lockFor(staffId);
+        lock.lock();
+        try {
+            Bucket bucket = buckets.get(new BucketKey(staffId, date));
+            if (bucket != null) {
+                bucket.remove(bookingId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops one bucket so it is reloaded from the database on next use.
+     */
+    public void evict(Long staffId, LocalDate date) {
+        buckets.remove(new BucketKey(staffId, date));
+    }
+
+    /**
+     * Drops all loaded buckets so they are reloaded from the database on next use.
+     */
+    public void invalidateAll() {
+        buckets.clear();
+    }
+
+    /**
+     * Drops all buckets when another terminal changed bookings.
+     */
+    @EventListener
+    public void onRegionsChanged(ChangeVersionService.RegionsChanged event) {
+        if (event.regions().contains(ChangeVersion.Region.BOOKINGS)) {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Drops buckets for dates before the given day.
+     */
+    public void evictBefore(LocalDate date) {
+        buckets.keySet().removeIf(key -> key.date().isBefore(date));
+    }
+
+    /**
+     * Gets the striped lock guarding a staff member's buckets.
+     */
+    public ReentrantLock lockFor(Long staffId) {
+        return stripes[Math.floorMod(Objects.hashCode(staffId), LOCK_STRIPES)];
+    }
+
+    /**
+     * Sums the service durations of a booking.
+     */
+    public static int durationOf(Booking booking) {
+        int total = 0;
+        for (BookingDetail detail : booking.getBookingDetails()) {
+            Integer minutes = detail.getService().getDurationMinutes();
+            if (minutes != null) {
+                total += minutes;
+            }
+        }
+        return total > 0 ? total : DEFAULT_DURATION_MINUTES;
+    }
+
+    /**
+     * Records that a bucket was reloaded in the current transaction.
+     * Returns false if it already was; outside a transaction always true.
+     */
+    private static boolean markVerified(BucketKey key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Set<BucketKey> verified = (Set<BucketKey>) TransactionSynchronizationManager.getResource(TX_VERIFIED_KEY);
+        if (verified == null) {
+            verified = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(TX_VERIFIED_KEY, verified);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TX_VERIFIED_KEY);
+                }
+            });
+        }
+        return verified.add(key);
+    }
+
+    private Bucket bucket(Long staffId, LocalDate date) {
+        return buckets.computeIfAbsent(new BucketKey(staffId, date), key -> load(staffId, date));
+    }
+
+    private Bucket load(Long staffId, LocalDate date) {
+        List<Booking> bookings = bookingRepository.findByStaffIdAndBookingDateAndStatusNot(
+                staffId, date, Booking.BookingStatus.CANCELLED);
+        Bucket bucket = new Bucket();
+        for (Booking booking : bookings) {
+            int start = booking.getBookingTime().toSecondOfDay() / 60;
+            bucket.add(booking.getId(), start, start + durationOf(booking));
+        }
+        return bucket;
+    }
+
+    private static ReentrantLock[] createStripes() {
+        ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private record BucketKey(Long staffId, LocalDate date) {}
+
+    /**
+     * Intervals of one staff member on one day, in minutes since midnight.
+     *
+     * Entries are ordered by start. Several bookings may share a start minute
+     * (legacy data), so each start maps to a small bookingId -> end map.
+     * maxLength bounds how far back an earlier interval can reach, which lets the
+     * overlap scan stop early.
+     */
+    private static final class Bucket {
+
+        private final TreeMap<Integer, Map<Long, Integer>> byStart = new TreeMap<>();
+        private final Map<Long, Integer> startById = new HashMap<>();
+        private int maxLength;
+
+        Long findConflict(int start, int end, Long ignoreBookingId) {
+            for (Map.Entry<Integer, Map<Long, Integer>> entry : byStart.headMap(end, false).descendingMap().entrySet()) {
+                if (entry.getKey() + maxLength <= start) {
+                    break;
+                }
+                for (Map.Entry<Long, Integer> interval : entry.getValue().entrySet()) {
+                    if (interval.getValue() > start && !interval.getKey().equals(ignoreBookingId)) {
+                        return interval.getKey();
+                    }
+                }
+            }
+            return null;
+        }
+
+        void add(Long bookingId, int start, int end) {
+            remove(bookingId);
+            byStart.computeIfAbsent(start, k -> new HashMap<>(2)).put(bookingId, end);
+            startById.put(bookingId, start);
+            maxLength = Math.max(maxLength, end - start);
+        }
+
+        void remove(Long bookingId) {
+            Integer start = startById.remove(bookingId);
+            if (start == null) {
+                return;
+            }
+            Map<Long, Integer> atStart = byStart.get(start);
+            atStart.remove(bookingId);
+            if (atStart.isEmpty()) {
+                byStart.remove(start);
+            }
+        }
+    }
+}
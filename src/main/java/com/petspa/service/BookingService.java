@@ -1,21 +1,43 @@
 package com.petspa.service;
 
+import com.petspa.diagnostics.Monitored;
+import com.petspa.diagnostics.QueryBudget;
+import com.petspa.dto.BookingChangesDTO;
 import com.petspa.dto.BookingDTO;
 import com.petspa.dto.BookingDetailDTO;
+import com.petspa.dto.BookingSeriesDTO;
+import com.petspa.dto.BulkStatusResultDTO;
 import com.petspa.model.*;
 import com.petspa.repository.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Booking Service - Manages bookings/appointments.
  */
+@Slf4j
+@Monitored
 @Service
 @RequiredArgsConstructor
 public class BookingService {
@@ -25,42 +47,117 @@ public class BookingService {
     private final CustomerRepository customerRepository;
     private final PetRepository petRepository;
     private final UserRepository userRepository;
-    private final ServiceRepository serviceRepository;
+    private final BookingIntervalIndex intervalIndex;
+    private final BookingStatusQueues statusQueues;
+    private final DashboardMetricsService metricsService;
+    private final RollupService rollupService;
+    private final BookingEventJournal eventJournal;
+    private final ChangeVersionService changeVersions;
+    private final BookingDepartureRepository departureRepository;
+    private final BookingSeriesRepository seriesRepository;
+    private final BookingBatchWriter batchWriter;
+    private final ServiceCatalog serviceCatalog;
+    private final PricingEngine pricingEngine;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
 
+    /**
+     * Departures older than this are purged; views of earlier days reload in full.
+     */
+    private static final int DEPARTURE_RETAIN_DAYS = 7;
+
+    /**
+     * Limits of a recurring series: weeks between occurrences, and weeks from first to last.
+     */
+    private static final int MAX_SERIES_INTERVAL_WEEKS = 12;
+    private static final int MAX_SERIES_WEEKS = 52;
+
     /**
      * Gets all bookings for a specific date.
      */
+    @Transactional(readOnly = true)
+    @QueryBudget(3)
     public List<BookingDTO> getBookingsByDate(String dateStr) {
         LocalDate date = LocalDate.parse(dateStr, DATE_FORMATTER);
         return bookingRepository.findByBookingDate(date).stream()
-                .map(this::toDTO)
+                .map(this::toListDTO)
                 .collect(Collectors.toList());
     }
 
     /**
      * Gets bookings for a staff member on a specific date.
      */
+    @Transactional(readOnly = true)
+    @QueryBudget(3)
     public List<BookingDTO> getBookingsByStaffAndDate(Long staffId, String dateStr) {
         LocalDate date = LocalDate.parse(dateStr, DATE_FORMATTER);
         return bookingRepository.findByStaffIdAndBookingDate(staffId, date).stream()
-                .map(this::toDTO)
+                .map(this::toListDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Gets the changes of a day view since a bookings version.
+     *
+     * With no version (or a negative one) the whole day is returned. The version is read
+     * before the bookings, so a booking committed in between is sent again next time
+     * rather than missed.
+     *
+     * @param staffId restricts the view to one staff member, or null for all staff
+     * @param sinceVersion version returned by the previous call, or null
+     */
+    @Transactional(readOnly = true)
+    @QueryBudget(3)
+    public BookingChangesDTO getBookingChangesSince(String dateStr, Long staffId, Long sinceVersion) {
+        LocalDate date = LocalDate.parse(dateStr, DATE_FORMATTER);
+        long version = changeVersions.currentVersion(ChangeVersion.Region.BOOKINGS);
+        boolean full = sinceVersion == null || sinceVersion < 0
+                || date.isBefore(LocalDate.now().minusDays(DEPARTURE_RETAIN_DAYS));
+
+        List<Booking> changed;
+        List<Long> removed;
+        if (full) {
+            changed = staffId != null
+                    ? bookingRepository.findByStaffIdAndBookingDate(staffId, date)
+                    : bookingRepository.findByBookingDate(date);
+            removed = List.of();
+        } else {
+            changed = staffId != null
+                    ? bookingRepository.findByStaffIdAndBookingDateAndChangeStampGreaterThan(staffId, date, sinceVersion)
+                    : bookingRepository.findByBookingDateAndChangeStampGreaterThan(date, sinceVersion);
+            Set<Long> changedIds = changed.stream().map(Booking::getId).collect(Collectors.toSet());
+            // A booking that left and came back is in changed
+            removed = (staffId != null
+                    ? departureRepository.findDepartedIds(date, staffId, sinceVersion)
+                    : departureRepository.findDepartedIds(date, sinceVersion)).stream()
+                    .filter(id -> !changedIds.contains(id))
+                    .collect(Collectors.toList());
+        }
+
+        return BookingChangesDTO.builder()
+                .date(date)
+                .staffId(staffId)
+                .version(version)
+                .full(full)
+                .changed(changed.stream().map(this::toListDTO).collect(Collectors.toList()))
+                .removed(removed)
+                .build();
+    }
+
     /**
      * Gets bookings for a customer.
      */
+    @Transactional(readOnly = true)
     public List<BookingDTO> getBookingsByCustomer(Long customerId) {
         return bookingRepository.findByCustomerId(customerId).stream()
-                .map(this::toDTO)
+                .map(this::toListDTO)
                 .collect(Collectors.toList());
     }
 
     /**
      * Gets a booking by ID.
      */
+    @Transactional(readOnly = true)
     public BookingDTO getBookingById(Long id) {
         return bookingRepository.findById(id)
                 .map(this::toDTO)
@@ -68,60 +165,174 @@ public class BookingService {
     }
 
     /**
-     * Creates a new booking.
+     * Prices a booking as createBooking would, without saving it.
      */
-    @Transactional
-    public BookingDTO createBooking(BookingDTO dto) {
-        Customer customer = customerRepository.findById(dto.getCustomerId())
-                .orElseThrow(() -> new RuntimeException("Customer not found: " + dto.getCustomerId()));
-        
+    @Transactional(readOnly = true)
+    public BookingDTO quoteBooking(BookingDTO dto) {
         Pet pet = petRepository.findById(dto.getPetId())
                 .orElseThrow(() -> new RuntimeException("Pet not found: " + dto.getPetId()));
-        
-        User staff = null;
-        if (dto.getStaffId() != null) {
-            staff = userRepository.findById(dto.getStaffId())
-                    .orElseThrow(() -> new RuntimeException("Staff not found: " + dto.getStaffId()));
-        }
+        List<ServiceCatalog.Entry> services = serviceCatalog.resolve(dto.getServices());
+        PricingEngine.Quote quote = price(dto.getCustomerId(), pet, services, dto.getBookingTime());
 
-        Booking booking = Booking.builder()
-                .customer(customer)
-                .pet(pet)
-                .staff(staff)
+        List<BookingDetailDTO> detailDTOs = new ArrayList<>(services.size());
+        for (int i = 0; i < services.size(); i++) {
+            ServiceCatalog.Entry service = services.get(i);
+            detailDTOs.add(BookingDetailDTO.builder()
+                    .serviceId(service.id())
+                    .serviceName(service.name())
+                    .price(quote.linePrices().get(i))
+                    .durationMinutes(service.durationMinutes())
+                    .build());
+        }
+        return BookingDTO.builder()
+                .customerId(dto.getCustomerId())
+                .petId(pet.getId())
+                .petName(pet.getName())
+                .petSpecies(pet.getSpecies())
+                .staffId(dto.getStaffId())
                 .bookingDate(dto.getBookingDate())
                 .bookingTime(dto.getBookingTime())
-                .status(Booking.BookingStatus.PENDING)
+                .totalPrice(quote.total())
+                .services(detailDTOs)
                 .build();
+    }
 
-        // Add services
-        if (dto.getServices() != null) {
-            for (BookingDetailDTO detailDTO : dto.getServices()) {
-                com.petspa.model.Service service = serviceRepository.findById(detailDTO.getServiceId())
-                        .orElseThrow(() -> new RuntimeException("Service not found: " + detailDTO.getServiceId()));
-                
-                BookingDetail detail = BookingDetail.builder()
-                        .service(service)
-                        .price(service.getPrice())
-                        .build();
-                
-                booking.addBookingDetail(detail);
-            }
+    /**
+     * Creates a new booking.
+     *
+     * The pet and its owner are read with one query and the services come from the
+     * ServiceCatalog, so besides the staff row lock nothing is looked up per booking.
+     * Lines are priced by the PricingEngine, which adds a count of the customer's
+     * completed bookings when there are loyalty rules. The booking and its lines are
+     * inserted as two JDBC batches (see BookingBatchWriter), its journal event with one
+     * more insert at commit.
+     */
+    @Transactional
+    @QueryBudget(11)
+    public BookingDTO createBooking(BookingDTO dto) {
+        NewBookingRefs refs = resolveRefs(dto);
+        LocalDate date = dto.getBookingDate();
+        LocalTime time = dto.getBookingTime();
+        if (refs.staff() != null) {
+            intervalIndex.checkAvailable(refs.staffId(), date, time, refs.durationMinutes(), null);
+        }
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        BookingBatchWriter.Inserted inserted = insertBookings(refs, List.of(date), time, null, null, createdAt).get(0);
+        rollupService.markDirty(date);
+        return toNewDTO(refs, inserted, date, time, createdAt);
+    }
+
+    /**
+     * Moves a booking to another date, time and/or staff member.
+     * Rejects the move if it overlaps another booking of the target staff member.
+     */
+    @Transactional
+    public BookingDTO rescheduleBooking(Long bookingId, Long staffId, String dateStr, String timeStr) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found: " + bookingId));
+
+        if (booking.getStatus() == Booking.BookingStatus.CANCELLED
+                || booking.getStatus() == Booking.BookingStatus.COMPLETED) {
+            throw new RuntimeException("Cannot reschedule a " + booking.getStatus() + " booking: " + bookingId);
+        }
+
+        LocalDate date = LocalDate.parse(dateStr, DATE_FORMATTER);
+        LocalTime time = LocalTime.parse(timeStr);
+
+        User staff = null;
+        if (staffId != null) {
+            staff = userRepository.findByIdForUpdate(staffId)
+                    .orElseThrow(() -> new RuntimeException("Staff not found: " + staffId));
+        }
+        return toDTO(move(booking, staff, date, time));
+    }
+
+    /**
+     * Moves a booking to a date, time and staff member (null = unassigned) and does the bookkeeping.
+     * Rejects the move if it overlaps another booking of the staff member.
+     */
+    private Booking move(Booking booking, User staff, LocalDate date, LocalTime time) {
+        Long bookingId = booking.getId();
+        Long staffId = staff != null ? staff.getId() : null;
+        int duration = BookingIntervalIndex.durationOf(booking);
+        if (staff != null) {
+            intervalIndex.checkAvailable(staff.getId(), date, time, duration, booking.getId());
         }
 
+        Long oldStaffId = booking.getStaff() != null ? booking.getStaff().getId() : null;
+        LocalDate oldDate = booking.getBookingDate();
+        LocalTime oldTime = booking.getBookingTime();
+        DashboardMetricsService.BookingFacts before = metricsService.factsOf(booking);
+
+        long stamp = stamp(booking);
+        booking.setStaff(staff);
+        booking.setBookingDate(date);
+        booking.setBookingTime(time);
         Booking saved = bookingRepository.save(booking);
-        return toDTO(saved);
+        if (!date.equals(oldDate) || !Objects.equals(staffId, oldStaffId)) {
+            departureRepository.save(BookingDeparture.builder()
+                    .bookingId(saved.getId())
+                    .fromDate(oldDate)
+                    .fromStaffId(oldStaffId)
+                    .changeStamp(stamp)
+                    .build());
+        }
+
+        if (oldStaffId != null) {
+            intervalIndex.remove(oldStaffId, oldDate, saved.getId());
+            evictIndexOnRollback(oldStaffId, oldDate);
+        }
+        if (staff != null) {
+            intervalIndex.add(staff.getId(), date, saved.getId(), time, duration);
+            evictIndexOnRollback(staff.getId(), date);
+        }
+        recordChange(before, saved);
+        String staffName = staff != null ? staff.getFullName() : null;
+        afterCommit(() -> statusQueues.recordRescheduled(bookingId, date, time, staffId, staffName));
+        journal(BookingEvent.EventType.RESCHEDULED, saved, null, oldStaffId, "from " + oldDate + " " + oldTime);
+        return saved;
     }
 
     /**
      * Updates booking status.
+     *
+     * Only the changes allowed by BookingStatus.canChangeTo are made. Reopening a cancelled
+     * booking takes its slot back, so it is refused if the slot was booked in the meantime.
      */
     @Transactional
     public BookingDTO updateStatus(Long bookingId, String status) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found: " + bookingId));
-        
-        booking.setStatus(Booking.BookingStatus.valueOf(status));
+
+        Booking.BookingStatus oldStatus = booking.getStatus();
+        Booking.BookingStatus newStatus = Booking.BookingStatus.valueOf(status);
+        if (!oldStatus.canChangeTo(newStatus)) {
+            throw new RuntimeException("Cannot change a " + oldStatus + " booking to " + newStatus + ": " + bookingId);
+        }
+        Long staffId = booking.getStaff() != null ? booking.getStaff().getId() : null;
+        boolean reopened = oldStatus == Booking.BookingStatus.CANCELLED && staffId != null;
+        int duration = 0;
+        if (reopened) {
+            // Row lock serializes bookings for this staff member across terminals
+            userRepository.findByIdForUpdate(staffId);
+            duration = BookingIntervalIndex.durationOf(booking);
+            intervalIndex.checkAvailable(staffId, booking.getBookingDate(), booking.getBookingTime(), duration, bookingId);
+        }
+
+        DashboardMetricsService.BookingFacts before = metricsService.factsOf(booking);
+        stamp(booking);
+        booking.setStatus(newStatus);
         Booking saved = bookingRepository.save(booking);
+        if (newStatus == Booking.BookingStatus.CANCELLED) {
+            releaseSlot(saved);
+        } else if (reopened) {
+            intervalIndex.add(staffId, saved.getBookingDate(), bookingId, saved.getBookingTime(), duration);
+            evictIndexOnRollback(staffId, saved.getBookingDate());
+        }
+        recordChange(before, saved);
+        afterCommit(() -> statusQueues.recordStatus(bookingId, newStatus));
+        journal(BookingEvent.EventType.STATUS_CHANGED, saved, oldStatus, null, null);
         return toDTO(saved);
     }
 
@@ -132,17 +343,545 @@ public class BookingService {
     public BookingDTO cancelBooking(Long bookingId, String reason) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found: " + bookingId));
-        
+
+        Booking.BookingStatus oldStatus = booking.getStatus();
+        if (!oldStatus.canMoveTo(Booking.BookingStatus.CANCELLED)) {
+            throw new RuntimeException("Cannot cancel a " + oldStatus + " booking: " + bookingId);
+        }
+        DashboardMetricsService.BookingFacts before = metricsService.factsOf(booking);
+        stamp(booking);
         booking.setStatus(Booking.BookingStatus.CANCELLED);
         booking.setCancelReason(reason);
         Booking saved = bookingRepository.save(booking);
+        releaseSlot(saved);
+        recordChange(before, saved);
+        afterCommit(() -> statusQueues.recordStatus(bookingId, Booking.BookingStatus.CANCELLED));
+        journal(BookingEvent.EventType.CANCELLED, saved, oldStatus, null, reason);
         return toDTO(saved);
     }
 
+    /**
+     * Moves several bookings to a status at once, e.g. to close a day.
+     * Selects the bookings by ID, or else all bookings of a date in fromStatus.
+     *
+     * Only the moves allowed by BookingStatus.canMoveTo are made; the other bookings are
+     * listed as skipped. The selected bookings are locked and read as scalars and changed
+     * with one UPDATE, so no booking entity is loaded.
+     */
+    @Transactional
+    public BulkStatusResultDTO bulkUpdateStatus(List<Long> bookingIds, String dateStr, String fromStatus,
+                                                String status) {
+        Booking.BookingStatus target = Booking.BookingStatus.valueOf(status);
+
+        // Version row before booking rows, the lock order of every booking write
+        long stamp = changeVersions.stamp(ChangeVersion.Region.BOOKINGS);
+        List<Object[]> rows;
+        List<Long> selected;
+        if (bookingIds != null && !bookingIds.isEmpty()) {
+            selected = new ArrayList<>(new LinkedHashSet<>(bookingIds));
+            rows = bookingRepository.lockStatusRows(selected);
+        } else if (dateStr != null && fromStatus != null) {
+            rows = bookingRepository.lockStatusRowsByDate(Booking.BookingStatus.valueOf(fromStatus),
+                    LocalDate.parse(dateStr, DATE_FORMATTER));
+            selected = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                selected.add((Long) row[0]);
+            }
+        } else {
+            throw new IllegalArgumentException("Give booking IDs, or a date and the status to select");
+        }
+
+        Map<Long, Object[]> rowsById = new HashMap<>();
+        for (Object[] row : rows) {
+            rowsById.put((Long) row[0], row);
+        }
+        List<Object[]> moving = new ArrayList<>();
+        List<Long> movingIds = new ArrayList<>();
+        List<BulkStatusResultDTO.Skipped> skipped = new ArrayList<>();
+        for (Long bookingId : selected) {
+            Object[] row = rowsById.get(bookingId);
+            if (row == null) {
+                skipped.add(new BulkStatusResultDTO.Skipped(bookingId, "not found"));
+            } else if (!((Booking.BookingStatus) row[1]).canMoveTo(target)) {
+                skipped.add(new BulkStatusResultDTO.Skipped(bookingId, "cannot move from " + row[1]));
+            } else {
+                moving.add(row);
+                movingIds.add(bookingId);
+            }
+        }
+        if (!moving.isEmpty()) {
+            applyStatus(moving, movingIds, target, stamp);
+        }
+
+        return BulkStatusResultDTO.builder()
+                .status(target.name())
+                .requested(selected.size())
+                .updated(movingIds.size())
+                .updatedIds(movingIds)
+                .skipped(skipped)
+                .build();
+    }
+
+    /**
+     * Writes a bulk status change and does the bookkeeping updateStatus does per booking:
+     * dashboard counters, rollups, staff index, status queues and journal.
+     * Rows are [id, status, date, time, staffId, totalPrice], as locked by the repository.
+     */
+    private void applyStatus(List<Object[]> rows, List<Long> bookingIds, Booking.BookingStatus target, long stamp) {
+        Map<Long, List<Long>> serviceIds = new HashMap<>();
+        for (Object[] line : bookingDetailRepository.findServiceIds(bookingIds)) {
+            serviceIds.computeIfAbsent((Long) line[0], id -> new ArrayList<>()).add((Long) line[1]);
+        }
+
+        bookingRepository.updateStatus(bookingIds, target, stamp);
+
+        List<DashboardMetricsService.BookingFacts> before = new ArrayList<>(rows.size());
+        List<DashboardMetricsService.BookingFacts> after = new ArrayList<>(rows.size());
+        List<BookingEvent> events = new ArrayList<>(rows.size());
+        Set<LocalDate> dates = new HashSet<>();
+        for (Object[] row : rows) {
+            Long bookingId = (Long) row[0];
+            Booking.BookingStatus oldStatus = (Booking.BookingStatus) row[1];
+            LocalDate date = (LocalDate) row[2];
+            Long staffId = (Long) row[4];
+            DashboardMetricsService.BookingFacts facts = metricsService.factsOf(date, staffId, oldStatus,
+                    (BigDecimal) row[5], serviceIds.getOrDefault(bookingId, List.of()));
+            before.add(facts);
+            after.add(new DashboardMetricsService.BookingFacts(facts.date(), facts.staffId(), target,
+                    facts.totalMinorUnits(), facts.serviceIds()));
+            events.add(event(BookingEvent.EventType.STATUS_CHANGED, bookingId, oldStatus, target,
+                    null, staffId, date, (LocalTime) row[3], "bulk"));
+            dates.add(date);
+            if (target == Booking.BookingStatus.CANCELLED && staffId != null) {
+                intervalIndex.remove(staffId, date, bookingId);
+                evictIndexOnRollback(staffId, date);
+            }
+        }
+
+        afterCommit(() -> {
+            for (int i = 0; i < before.size(); i++) {
+                metricsService.recordChanged(stamp, before.get(i), after.get(i));
+            }
+        });
+        // Rollups are rebuilt per day by RollupJob
+        dates.forEach(rollupService::markDirty);
+        afterCommit(() -> statusQueues.recordStatus(bookingIds, target));
+        events.forEach(eventJournal::append);
+    }
+
+    /**
+     * Creates a recurring series: a copy of the template booking every intervalWeeks
+     * from startDate up to untilDate.
+     *
+     * Customer, pet, staff and services are looked up once for all occurrences, and every
+     * date is checked against the staff member's bookings before anything is written.
+     * If some dates are taken the series is refused, unless skipConflicts is set; then only
+     * the free dates are booked. The occurrences are inserted in two JDBC batches.
+     */
+    @Transactional
+    @QueryBudget(12)
+    public BookingSeriesDTO createSeries(BookingSeriesDTO dto) {
+        BookingDTO template = dto.getTemplate();
+        if (template == null || template.getBookingTime() == null || dto.getIntervalWeeks() == null
+                || dto.getStartDate() == null || dto.getUntilDate() == null) {
+            throw new IllegalArgumentException("A series needs a template with a time, an interval and start and end dates");
+        }
+        int intervalWeeks = dto.getIntervalWeeks();
+        if (intervalWeeks < 1 || intervalWeeks > MAX_SERIES_INTERVAL_WEEKS) {
+            throw new IllegalArgumentException("Series interval must be 1 to " + MAX_SERIES_INTERVAL_WEEKS + " weeks");
+        }
+        if (dto.getUntilDate().isBefore(dto.getStartDate())
+                || dto.getUntilDate().isAfter(dto.getStartDate().plusWeeks(MAX_SERIES_WEEKS))) {
+            throw new IllegalArgumentException("A series must end within " + MAX_SERIES_WEEKS + " weeks after it starts");
+        }
+
+        NewBookingRefs refs = resolveRefs(template);
+        Long staffId = refs.staffId();
+        LocalTime time = template.getBookingTime();
+
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = dto.getStartDate(); !date.isAfter(dto.getUntilDate()); date = date.plusWeeks(intervalWeeks)) {
+            dates.add(date);
+        }
+        Map<LocalDate, Long> conflicts = new LinkedHashMap<>();
+        if (staffId != null) {
+            intervalIndex.reload(staffId, dates);
+            for (LocalDate date : dates) {
+                Long conflictId = intervalIndex.findConflict(staffId, date, time, refs.durationMinutes(), null);
+                if (conflictId != null) {
+                    conflicts.put(date, conflictId);
+                }
+            }
+        }
+        if (!conflicts.isEmpty() && !Boolean.TRUE.equals(dto.getSkipConflicts())) {
+            throw new RuntimeException("Staff " + staffId + " is already booked on " + conflicts.keySet());
+        }
+        if (conflicts.size() == dates.size()) {
+            throw new RuntimeException("Staff " + staffId + " is booked on every date of the series");
+        }
+
+        BookingSeries series = seriesRepository.save(BookingSeries.builder()
+                .customerId(refs.customer().getId())
+                .petId(refs.pet().getId())
+                .intervalWeeks(intervalWeeks)
+                .startDate(dto.getStartDate())
+                .untilDate(dto.getUntilDate())
+                .build());
+        List<LocalDate> freeDates = new ArrayList<>(dates);
+        freeDates.removeAll(conflicts.keySet());
+        List<BookingBatchWriter.Inserted> inserted = insertBookings(refs, freeDates, time, series.getId(),
+                "series " + series.getId(), LocalDateTime.now());
+        rollupService.markSeriesDirty(series.getId());
+
+        Map<LocalDate, Long> createdIds = new HashMap<>();
+        for (int i = 0; i < freeDates.size(); i++) {
+            createdIds.put(freeDates.get(i), inserted.get(i).bookingId());
+        }
+        List<BookingSeriesDTO.Occurrence> occurrences = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            occurrences.add(new BookingSeriesDTO.Occurrence(date, createdIds.get(date), conflicts.get(date)));
+        }
+        return BookingSeriesDTO.builder()
+                .id(series.getId())
+                .intervalWeeks(intervalWeeks)
+                .startDate(series.getStartDate())
+                .untilDate(series.getUntilDate())
+                .skipConflicts(dto.getSkipConflicts())
+                .template(template)
+                .occurrences(occurrences)
+                .build();
+    }
+
+    /**
+     * Moves the open occurrences of a series from a date on to another time and/or staff
+     * member (null = unassigned), keeping their dates. Refused as a whole if any of them
+     * would overlap another booking.
+     */
+    @Transactional
+    public BookingSeriesDTO rescheduleSeries(Long seriesId, String fromDateStr, Long staffId, String timeStr) {
+        BookingSeries series = seriesRepository.findById(seriesId)
+                .orElseThrow(() -> new RuntimeException("Booking series not found: " + seriesId));
+        LocalTime time = LocalTime.parse(timeStr);
+        User staff = null;
+        if (staffId != null) {
+            staff = userRepository.findByIdForUpdate(staffId)
+                    .orElseThrow(() -> new RuntimeException("Staff not found: " + staffId));
+        }
+
+        List<Booking> bookings = bookingRepository.findBySeriesIdAndBookingDateGreaterThanEqualAndStatusInOrderByBookingDate(
+                seriesId, LocalDate.parse(fromDateStr, DATE_FORMATTER), BookingStatusQueues.OPEN_STATUSES);
+        if (staffId != null) {
+            intervalIndex.reload(staffId, bookings.stream().map(Booking::getBookingDate).collect(Collectors.toSet()));
+        }
+        List<BookingSeriesDTO.Occurrence> occurrences = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            Booking moved = move(booking, staff, booking.getBookingDate(), time);
+            occurrences.add(new BookingSeriesDTO.Occurrence(moved.getBookingDate(), moved.getId(), null));
+        }
+        return BookingSeriesDTO.builder()
+                .id(series.getId())
+                .intervalWeeks(series.getIntervalWeeks())
+                .startDate(series.getStartDate())
+                .untilDate(series.getUntilDate())
+                .occurrences(occurrences)
+                .build();
+    }
+
+    /**
+     * Cancels the open occurrences of a series from a date on, as one bulk status change.
+     */
+    @Transactional
+    public BulkStatusResultDTO cancelSeries(Long seriesId, String fromDateStr) {
+        if (!seriesRepository.existsById(seriesId)) {
+            throw new RuntimeException("Booking series not found: " + seriesId);
+        }
+        List<Long> bookingIds = bookingRepository.findSeriesBookingIds(
+                seriesId, LocalDate.parse(fromDateStr, DATE_FORMATTER), BookingStatusQueues.OPEN_STATUSES);
+        if (bookingIds.isEmpty()) {
+            return BulkStatusResultDTO.builder()
+                    .status(Booking.BookingStatus.CANCELLED.name())
+                    .requested(0)
+                    .updated(0)
+                    .updatedIds(List.of())
+                    .skipped(List.of())
+                    .build();
+        }
+        return bulkUpdateStatus(bookingIds, null, null, Booking.BookingStatus.CANCELLED.name());
+    }
+
+    /**
+     * Looks up the customer, pet, staff member and services of a new booking: the pet
+     * with its owner in one query (the customer is only read separately when it is not
+     * the owner), the staff member with a row lock, which serializes bookings for that
+     * staff member across terminals, and the services from the ServiceCatalog, priced
+     * by the PricingEngine.
+     */
+    private NewBookingRefs resolveRefs(BookingDTO dto) {
+        Pet pet = petRepository.findWithOwnerById(dto.getPetId())
+                .orElseThrow(() -> new RuntimeException("Pet not found: " + dto.getPetId()));
+        Customer customer = pet.getOwner();
+        if (customer == null || !customer.getId().equals(dto.getCustomerId())) {
+            customer = customerRepository.findById(dto.getCustomerId())
+                    .orElseThrow(() -> new RuntimeException("Customer not found: " + dto.getCustomerId()));
+        }
+
+        User staff = null;
+        if (dto.getStaffId() != null) {
+            staff = userRepository.findByIdForUpdate(dto.getStaffId())
+                    .orElseThrow(() -> new RuntimeException("Staff not found: " + dto.getStaffId()));
+        }
+
+        List<ServiceCatalog.Entry> services = serviceCatalog.resolve(dto.getServices());
+        int minutes = 0;
+        for (ServiceCatalog.Entry service : services) {
+            minutes += service.durationMinutes() != null ? service.durationMinutes() : 0;
+        }
+        return new NewBookingRefs(customer, pet, staff, services,
+                price(customer.getId(), pet, services, dto.getBookingTime()),
+                minutes > 0 ? minutes : BookingIntervalIndex.DEFAULT_DURATION_MINUTES);
+    }
+
+    /**
+     * Prices booking lines; the customer's completed bookings are only counted if
+     * there are loyalty rules.
+     */
+    private PricingEngine.Quote price(Long customerId, Pet pet, List<ServiceCatalog.Entry> services, LocalTime time) {
+        return pricingEngine.price(services, pet.getSpecies(), pet.getWeight(), time,
+                () -> customerId != null
+                        ? bookingRepository.countByCustomerIdAndStatus(customerId, Booking.BookingStatus.COMPLETED)
+                        : 0);
+    }
+
+    /**
+     * Inserts PENDING bookings with the same references and time on several dates, as one
+     * batch, and does the bookkeeping: staff index, dashboard counters, status queues and
+     * journal. Availability is checked and rollups are marked by the caller.
+     */
+    private List<BookingBatchWriter.Inserted> insertBookings(NewBookingRefs refs, List<LocalDate> dates,
+                                                             LocalTime time, Long seriesId, String detail,
+                                                             LocalDateTime createdAt) {
+        Long staffId = refs.staffId();
+        List<BookingBatchWriter.Line> lines = new ArrayList<>(refs.services().size());
+        List<Long> serviceIds = new ArrayList<>(refs.services().size());
+        for (int i = 0; i < refs.services().size(); i++) {
+            ServiceCatalog.Entry service = refs.services().get(i);
+            lines.add(new BookingBatchWriter.Line(service.id(), refs.quote().linePrices().get(i)));
+            serviceIds.add(service.id());
+        }
+        List<BookingBatchWriter.NewBooking> bookings = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            bookings.add(new BookingBatchWriter.NewBooking(refs.customer().getId(), refs.pet().getId(), staffId,
+                    date, time, refs.totalPrice(), seriesId, lines));
+        }
+        long stamp = changeVersions.stamp(ChangeVersion.Region.BOOKINGS);
+        List<BookingBatchWriter.Inserted> inserted = batchWriter.insert(bookings, stamp, createdAt);
+
+        String staffName = refs.staff() != null ? refs.staff().getFullName() : null;
+        List<DashboardMetricsService.BookingFacts> created = new ArrayList<>(dates.size());
+        List<BookingStatusQueues.Entry> queued = new ArrayList<>(dates.size());
+        List<BookingEvent> events = new ArrayList<>(dates.size());
+        for (int i = 0; i < dates.size(); i++) {
+            Long bookingId = inserted.get(i).bookingId();
+            LocalDate date = dates.get(i);
+            if (staffId != null) {
+                intervalIndex.add(staffId, date, bookingId, time, refs.durationMinutes());
+                evictIndexOnRollback(staffId, date);
+            }
+            created.add(metricsService.factsOf(date, staffId, Booking.BookingStatus.PENDING,
+                    refs.totalPrice(), serviceIds));
+            queued.add(new BookingStatusQueues.Entry(bookingId, Booking.BookingStatus.PENDING, date, time,
+                    staffId, staffName, refs.customer().getFullName(), refs.pet().getName()));
+            events.add(event(BookingEvent.EventType.CREATED, bookingId, null, Booking.BookingStatus.PENDING,
+                    null, staffId, date, time, detail));
+        }
+        afterCommit(() -> created.forEach(facts -> metricsService.recordCreated(stamp, facts)));
+        afterCommit(() -> queued.forEach(statusQueues::recordCreated));
+        events.forEach(eventJournal::append);
+        return inserted;
+    }
+
+    /**
+     * The resolved references of a new booking, with its prices and duration.
+     */
+    private record NewBookingRefs(Customer customer, Pet pet, User staff, List<ServiceCatalog.Entry> services,
+                                  PricingEngine.Quote quote, int durationMinutes) {
+
+        Long staffId() {
+            return staff != null ? staff.getId() : null;
+        }
+
+        BigDecimal totalPrice() {
+            return quote.total();
+        }
+    }
+
+    /**
+     * Removes a booking's interval from the staff index.
+     */
+    private void releaseSlot(Booking booking) {
+        if (booking.getStaff() != null) {
+            intervalIndex.remove(booking.getStaff().getId(), booking.getBookingDate(), booking.getId());
+            evictIndexOnRollback(booking.getStaff().getId(), booking.getBookingDate());
+        }
+    }
+
+    /**
+     * Updates the dashboard counters once the current transaction commits
+     * and marks the touched dates for rollup rebuild.
+     */
+    private void recordChange(DashboardMetricsService.BookingFacts before, Booking after) {
+        DashboardMetricsService.BookingFacts afterFacts = metricsService.factsOf(after);
+        long stamp = after.getChangeStamp();
+        afterCommit(() -> metricsService.recordChanged(stamp, before, afterFacts));
+
+        // Rollups are rebuilt per day by RollupJob
+        rollupService.markDirty(before.date());
+        if (!before.date().equals(afterFacts.date())) {
+            rollupService.markDirty(afterFacts.date());
+        }
+    }
+
+    /**
+     * Stamps a booking with the current transaction's bookings version.
+     * This also bumps the version other terminals poll, so no markChanged is needed.
+     *
+     * Call it before changing anything else on the booking: the version update flushes
+     * pending changes first, which would lock the booking row before the version row.
+     */
+    private long stamp(Booking booking) {
+        long stamp = changeVersions.stamp(ChangeVersion.Region.BOOKINGS);
+        booking.setChangeStamp(stamp);
+        return stamp;
+    }
+
+    /**
+     * Purges departures of past days every night.
+     */
+    @Scheduled(cron = "0 15 0 * * *")
+    public void purgeDepartures() {
+        try {
+            departureRepository.deleteByFromDateBefore(LocalDate.now().minusDays(DEPARTURE_RETAIN_DAYS));
+        } catch (Exception e) {
+            log.error("Failed to purge booking departures", e);
+        }
+    }
+
+    /**
+     * Appends a lifecycle event to the journal as part of the current transaction.
+     * The event describes the booking's state after the change; from* fields hold the previous state.
+     */
+    private void journal(BookingEvent.EventType type, Booking booking, Booking.BookingStatus fromStatus,
+                         Long fromStaffId, String detail) {
+        BookingEvent event = event(type, booking.getId(), fromStatus, booking.getStatus(),
+                fromStaffId, booking.getStaff() != null ? booking.getStaff().getId() : null,
+                booking.getBookingDate(), booking.getBookingTime(), detail);
+        eventJournal.append(event);
+    }
+
+    private static BookingEvent event(BookingEvent.EventType type, Long bookingId,
+                                      Booking.BookingStatus fromStatus, Booking.BookingStatus toStatus,
+                                      Long fromStaffId, Long toStaffId, LocalDate date, LocalTime time,
+                                      String detail) {
+        return BookingEvent.builder()
+                .bookingId(bookingId)
+                .eventType(type)
+                .fromStatus(fromStatus)
+                .toStatus(toStatus)
+                .fromStaffId(fromStaffId)
+                .toStaffId(toStaffId)
+                .bookingDate(date)
+                .bookingTime(time)
+                .detail(detail)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Runs an action after the current transaction commits (or right away if there is none).
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Drops the index bucket if the current transaction rolls back,
+     * so it is reloaded from the committed state instead of keeping our changes.
+     */
+    private void evictIndexOnRollback(Long staffId, LocalDate date) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    intervalIndex.evict(staffId, date);
+                }
+            }
+        });
+    }
+
     /**
      * Converts Booking entity to BookingDTO.
+     * Package-private so the JMH benchmarks can measure it.
+     */
+    BookingDTO toDTO(Booking booking) {
+        BookingDTO dto = toListDTO(booking);
+        dto.setCancelReason(booking.getCancelReason());
+        return dto;
+    }
+
+    /**
+     * Builds the BookingDTO of a booking just inserted, from its resolved references.
+     */
+    private BookingDTO toNewDTO(NewBookingRefs refs, BookingBatchWriter.Inserted inserted,
+                                LocalDate date, LocalTime time, LocalDateTime createdAt) {
+        List<BookingDetailDTO> detailDTOs = new ArrayList<>(refs.services().size());
+        for (int i = 0; i < refs.services().size(); i++) {
+            ServiceCatalog.Entry service = refs.services().get(i);
+            detailDTOs.add(BookingDetailDTO.builder()
+                    .id(inserted.lineIds().get(i))
+                    .bookingId(inserted.bookingId())
+                    .serviceId(service.id())
+                    .serviceName(service.name())
+                    .price(refs.quote().linePrices().get(i))
+                    .durationMinutes(service.durationMinutes())
+                    .build());
+        }
+
+        return BookingDTO.builder()
+                .id(inserted.bookingId())
+                .customerId(refs.customer().getId())
+                .customerName(refs.customer().getFullName())
+                .customerPhone(refs.customer().getPhoneNumber())
+                .petId(refs.pet().getId())
+                .petName(refs.pet().getName())
+                .petSpecies(refs.pet().getSpecies())
+                .staffId(refs.staffId())
+                .staffName(refs.staff() != null ? refs.staff().getFullName() : null)
+                .bookingDate(date)
+                .bookingTime(time)
+                .status(Booking.BookingStatus.PENDING.name())
+                .totalPrice(refs.totalPrice())
+                .createdAt(createdAt)
+                .services(detailDTOs)
+                .build();
+    }
+
+    /**
+     * Converts Booking entity to BookingDTO for day views and histories, without
+     * the cancel reason (a lazy attribute that would cost a query per booking).
      */
-    private BookingDTO toDTO(Booking booking) {
+    private BookingDTO toListDTO(Booking booking) {
         List<BookingDetailDTO> detailDTOs = booking.getBookingDetails().stream()
                 .map(detail -> BookingDetailDTO.builder()
                         .id(detail.getId())
@@ -167,9 +906,9 @@ public class BookingService {
                 .bookingDate(booking.getBookingDate())
                 .bookingTime(booking.getBookingTime())
                 .status(booking.getStatus().name())
-                .cancelReason(booking.getCancelReason())
                 .totalPrice(booking.getTotalPrice())
                 .createdAt(booking.getCreatedAt())
+                .seriesId(booking.getSeriesId())
                 .services(detailDTOs)
                 .build();
     }
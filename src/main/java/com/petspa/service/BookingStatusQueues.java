@@ -0,0 +1,352 @@
+package com.petspa.service;
+
+import com.petspa.dto.StatusQueueDTO;
+import com.petspa.model.Booking;
+import com.petspa.model.ChangeVersion;
+import com.petspa.repository.BookingDepartureRepository;
+import com.petspa.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Booking Status Queues - In-memory queues of the open bookings per status, for the to-do boards.
+ *
+ * PENDING (to confirm), CONFIRMED (to start) and IN_PROGRESS (to finish) bookings are
+ * kept in date and time order, from LOOKBACK_DAYS before today on (asking for an older
+ * date widens the window). The queues are loaded with one query on first use (served
+ * by the status/date index) and then kept current by BookingService after each committed
+ * create, reschedule, status change or cancel. COMPLETED and CANCELLED bookings leave them.
+ * Counts per status and per date are kept alongside, so they are never recounted.
+ *
+ * Entries carry the customer, pet and staff names, so a board needs no query at all.
+ * The queues are reloaded on next use when customers, pets or staff change. When another
+ * terminal changes bookings, only the bookings stamped since the last sync are read again,
+ * plus the departures of those that moved out of the window.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingStatusQueues {
+
+    public static final Set<Booking.BookingStatus> OPEN_STATUSES = Collections.unmodifiableSet(EnumSet.of(
+            Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.IN_PROGRESS));
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * Days before today still queued. Matches how long departures are kept, so a
+     * booking moved out of the window is always noticed.
+     */
+    private static final int LOOKBACK_DAYS = 7;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    /**
+     * Regions whose changes may rename what the entries show.
+     */
+    private static final List<ChangeVersion.Region> NAME_REGIONS = List.of(
+            ChangeVersion.Region.CUSTOMERS, ChangeVersion.Region.PETS, ChangeVersion.Region.USERS);
+
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::bookingDate)
+            .thenComparing(Entry::bookingTime)
+            .thenComparing(Entry::bookingId);
+
+    private final BookingRepository bookingRepository;
+    private final BookingDepartureRepository departureRepository;
+    private final ChangeVersionService changeVersions;
+
+    // All fields below are guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Booking.BookingStatus, NavigableSet<Entry>> queues = new EnumMap<>(Booking.BookingStatus.class);
+    private final Map<Booking.BookingStatus, Map<LocalDate, Integer>> dayCounts = new EnumMap<>(Booking.BookingStatus.class);
+    private final Map<ChangeVersion.Region, Long> seenChanges = new EnumMap<>(ChangeVersion.Region.class);
+    private boolean loaded;
+    // Other terminals changed bookings since syncedVersion
+    private boolean stale;
+    private long syncedVersion;
+    private LocalDate windowStart;
+
+    /**
+     * Gets the first bookings of a status queue, optionally of one date only.
+     *
+     * @param dateStr ISO date, or null for all dates
+     * @param limit   most items to return, or null for the default (50)
+     */
+    public StatusQueueDTO getQueue(String status, String dateStr, Integer limit) {
+        Booking.BookingStatus queueStatus = Booking.BookingStatus.valueOf(status);
+        if (!OPEN_STATUSES.contains(queueStatus)) {
+            throw new IllegalArgumentException("Not a queued status: " + status);
+        }
+        LocalDate date = dateStr != null ? LocalDate.parse(dateStr, DATE_FORMATTER) : null;
+        int max = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        LocalDate from = LocalDate.now().minusDays(LOOKBACK_DAYS);
+        if (date != null && date.isBefore(from)) {
+            from = date;
+        }
+
+        lock.lock();
+        try {
+            ensureLoaded(from);
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (Booking.BookingStatus open : OPEN_STATUSES) {
+                counts.put(open.name(), count(open, date));
+            }
+            int total = count(queueStatus, date);
+            List<StatusQueueDTO.Item> items = new ArrayList<>(Math.min(max, total));
+            for (Entry entry : view(queueStatus, date)) {
+                if (items.size() == max) {
+                    break;
+                }
+                items.add(entry.toItem());
+            }
+            return StatusQueueDTO.builder()
+                    .status(queueStatus.name())
+                    .date(date)
+                    .total(total)
+                    .counts(counts)
+                    .items(items)
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a committed new booking.
+     */
+    public void recordCreated(Entry entry) {
+        lock.lock();
+        try {
+            if (loaded && inWindow(entry.bookingDate())) {
+                put(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a committed move of a booking to another date, time or staff member.
+     */
+    public void recordRescheduled(Long bookingId, LocalDate date, LocalTime time, Long staffId, String staffName) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(bookingId);
+            if (loaded && entry != null) {
+                if (inWindow(date)) {
+                    put(new Entry(bookingId, entry.status(), date, time, staffId, staffName,
+                            entry.customerName(), entry.petName()));
+                } else {
+                    remove(bookingId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a committed status change of one booking.
+     */
+    public void recordStatus(Long bookingId, Booking.BookingStatus status) {
+        recordStatus(List.of(bookingId), status);
+    }
+
+    /**
+     * Records a committed status change of several bookings, moving them between queues.
+     */
+    public void recordStatus(Collection<Long> bookingIds, Booking.BookingStatus status) {
+        lock.lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            for (Long bookingId : bookingIds) {
+                Entry entry = entries.get(bookingId);
+                if (entry != null) {
+                    put(entry.withStatus(status));
+                } else if (OPEN_STATUSES.contains(status)) {
+                    // Reopened booking: its names are not at hand, so read it on next use
+                    stale = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the queues so they are reloaded from the database on next use.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            loaded = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the queues for a catch-up read when another terminal changed bookings.
+     */
+    @EventListener
+    public void onRegionsChanged(ChangeVersionService.RegionsChanged event) {
+        if (event.regions().contains(ChangeVersion.Region.BOOKINGS)) {
+            lock.lock();
+            try {
+                stale = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void ensureLoaded(LocalDate from) {
+        if (!loaded || namesChanged() || from.isBefore(windowStart)) {
+            load(from);
+        } else if (stale) {
+            catchUp();
+        }
+    }
+
+    private void load(LocalDate from) {
+        // Counts are taken before loading, so a rename during the load triggers another one
+        Map<ChangeVersion.Region, Long> changes = new EnumMap<>(ChangeVersion.Region.class);
+        for (ChangeVersion.Region region : NAME_REGIONS) {
+            changes.put(region, changeVersions.knownChanges(region));
+        }
+        // Bookings stamped up to this version have committed, so the load sees them
+        long version = changeVersions.currentVersion(ChangeVersion.Region.BOOKINGS);
+
+        entries.clear();
+        queues.clear();
+        dayCounts.clear();
+        for (Booking.BookingStatus status : OPEN_STATUSES) {
+            queues.put(status, new TreeSet<>(ORDER));
+            dayCounts.put(status, new HashMap<>());
+        }
+        for (Object[] row : bookingRepository.findQueueRows(OPEN_STATUSES, from)) {
+            put(toEntry(row));
+        }
+        seenChanges.putAll(changes);
+        syncedVersion = version;
+        windowStart = from;
+        stale = false;
+        loaded = true;
+    }
+
+    /**
+     * Reads again the bookings of the window stamped since the last sync.
+     * Entries are replaced with their current state, so reading one twice is harmless.
+     */
+    private void catchUp() {
+        long version = changeVersions.currentVersion(ChangeVersion.Region.BOOKINGS);
+        Set<Long> seen = new HashSet<>();
+        for (Object[] row : bookingRepository.findQueueRowsChangedSince(windowStart, syncedVersion)) {
+            Entry entry = toEntry(row);
+            seen.add(entry.bookingId());
+            put(entry);
+        }
+        // Moved to a date before the window
+        for (Long bookingId : departureRepository.findDepartedIdsFrom(windowStart, syncedVersion)) {
+            if (!seen.contains(bookingId)) {
+                remove(bookingId);
+            }
+        }
+        syncedVersion = version;
+        stale = false;
+    }
+
+    private boolean namesChanged() {
+        for (ChangeVersion.Region region : NAME_REGIONS) {
+            if (changeVersions.knownChanges(region) != seenChanges.get(region)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean inWindow(LocalDate date) {
+        return !date.isBefore(windowStart);
+    }
+
+    /**
+     * Puts an entry in the queue of its status, replacing its previous version.
+     */
+    private void put(Entry entry) {
+        remove(entry.bookingId());
+        if (OPEN_STATUSES.contains(entry.status())) {
+            entries.put(entry.bookingId(), entry);
+            queues.get(entry.status()).add(entry);
+            dayCounts.get(entry.status()).merge(entry.bookingDate(), 1, Integer::sum);
+        }
+    }
+
+    private void remove(Long bookingId) {
+        Entry previous = entries.remove(bookingId);
+        if (previous != null) {
+            queues.get(previous.status()).remove(previous);
+            dayCounts.get(previous.status()).computeIfPresent(previous.bookingDate(),
+                    (date, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private int count(Booking.BookingStatus status, LocalDate date) {
+        return date == null ? queues.get(status).size() : dayCounts.get(status).getOrDefault(date, 0);
+    }
+
+    private static Entry toEntry(Object[] row) {
+        return new Entry((Long) row[0], (Booking.BookingStatus) row[1], (LocalDate) row[2], (LocalTime) row[3],
+                (Long) row[4], (String) row[5], (String) row[6], (String) row[7]);
+    }
+
+    private NavigableSet<Entry> view(Booking.BookingStatus status, LocalDate date) {
+        NavigableSet<Entry> queue = queues.get(status);
+        if (date == null) {
+            return queue;
+        }
+        return queue.subSet(Entry.firstOf(date), true, Entry.firstOf(date.plusDays(1)), false);
+    }
+
+    /**
+     * A queued booking.
+     */
+    public record Entry(Long bookingId, Booking.BookingStatus status, LocalDate bookingDate, LocalTime bookingTime,
+                        Long staffId, String staffName, String customerName, String petName) {
+
+        /**
+         * Search key sorting before every booking of the date.
+         */
+        static Entry firstOf(LocalDate date) {
+            return new Entry(Long.MIN_VALUE, null, date, LocalTime.MIN, null, null, null, null);
+        }
+
+        Entry withStatus(Booking.BookingStatus newStatus) {
+            return new Entry(bookingId, newStatus, bookingDate, bookingTime, staffId, staffName, customerName, petName);
+        }
+
+        StatusQueueDTO.Item toItem() {
+            return new StatusQueueDTO.Item(bookingId, bookingDate, bookingTime, staffId, staffName, customerName, petName);
+        }
+    }
+}
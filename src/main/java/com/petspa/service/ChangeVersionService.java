@@ -0,0 +1,239 @@
+package com.petspa.service;
+
+import com.petspa.model.ChangeVersion;
+import com.petspa.repository.ChangeVersionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change Version Service - Keeps in-memory caches coherent across terminals.
+ *
+ * Service-layer writes call markChanged(region); once the transaction commits the
+ * region's row in change_versions is bumped (once per transaction and region).
+ * Every second the instance reads all versions in one query; regions that moved
+ * by more than this instance's own bumps are announced with a RegionsChanged
+ * event, and caches listening for it drop only that region.
+ *
+ * Regions whose rows carry a change stamp (bookings) bump the version inside the
+ * writing transaction instead, see stamp(region).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeVersionService {
+
+    private static final String TX_REGIONS_KEY = ChangeVersionService.class.getName() + ".regions";
+    private static final String TX_STAMPS_KEY = ChangeVersionService.class.getName() + ".stamps";
+
+    private final ChangeVersionRepository versionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<ChangeVersion.Region, Long> seenVersions = new EnumMap<>(ChangeVersion.Region.class);
+    private final Map<ChangeVersion.Region, AtomicLong> ownBumps = new EnumMap<>(ChangeVersion.Region.class);
+    private final Map<ChangeVersion.Region, AtomicLong> knownChanges = new EnumMap<>(ChangeVersion.Region.class);
+    private volatile boolean pollFailing;
+
+    /**
+     * Published when other terminals changed data of the given regions.
+     */
+    public record RegionsChanged(Set<ChangeVersion.Region> regions) {}
+
+    @PostConstruct
+    void init() {
+        for (ChangeVersion.Region region : ChangeVersion.Region.values()) {
+            ownBumps.put(region, new AtomicLong());
+            knownChanges.put(region, new AtomicLong());
+            try {
+                versionRepository.ensureRegion(region.name());
+            } catch (Exception e) {
+                log.error("Failed to create change version row for {}", region, e);
+            }
+        }
+        try {
+            for (Object[] row : versionRepository.findVersions()) {
+                seenVersions.put((ChangeVersion.Region) row[0], (Long) row[1]);
+            }
+        } catch (Exception e) {
+            log.error("Failed to read change versions", e);
+        }
+    }
+
+    /**
+     * Records that the current transaction changes a region.
+     * The version is bumped after commit, or right away if there is no transaction.
+     */
+    public void markChanged(ChangeVersion.Region region) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(region);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<ChangeVersion.Region> regions = (Set<ChangeVersion.Region>) TransactionSynchronizationManager.getResource(TX_REGIONS_KEY);
+        if (regions == null) {
+            Set<ChangeVersion.Region> pending = EnumSet.noneOf(ChangeVersion.Region.class);
+            TransactionSynchronizationManager.bindResource(TX_REGIONS_KEY, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.forEach(ChangeVersionService.this::bump);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TX_REGIONS_KEY);
+                }
+            });
+            regions = pending;
+        }
+        regions.add(region);
+    }
+
+    /**
+     * Bumps a region's version inside the current transaction and returns it, for
+     * stamping the rows the transaction writes. Repeated calls in one transaction
+     * return the same stamp.
+     *
+     * The version row stays locked until commit, so stamps are handed out in commit
+     * order: once a reader has seen version V, no transaction can still commit rows
+     * stamped V or lower. Call it as late in the transaction as possible, but before
+     * the rows it stamps are locked or written: every writer then locks the version row
+     * before booking rows, and two writers cannot deadlock on them.
+     *
+     * The price is that writers of one region commit one at a time, on every
+     * terminal. This is accepted: the journal and the change feed rely on that
+     * order, and booking writes are short and few per second in one spa.
+     */
+    public long stamp(ChangeVersion.Region region) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Change stamps need a transaction");
+        }
+        @SuppressWarnings("unchecked")
+        Map<ChangeVersion.Region, Long> stamps = (Map<ChangeVersion.Region, Long>) TransactionSynchronizationManager.getResource(TX_STAMPS_KEY);
+        if (stamps == null) {
+            Map<ChangeVersion.Region, Long> issued = new EnumMap<>(ChangeVersion.Region.class);
+            TransactionSynchronizationManager.bindResource(TX_STAMPS_KEY, issued);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    issued.keySet().forEach(issuedRegion -> {
+                        ownBumps.get(issuedRegion).incrementAndGet();
+                        knownChanges.get(issuedRegion).incrementAndGet();
+                    });
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TX_STAMPS_KEY);
+                }
+            });
+            stamps = issued;
+        }
+        Long stamp = stamps.get(region);
+        if (stamp == null) {
+            versionRepository.incrementInTransaction(region.name());
+            stamp = versionRepository.findVersion(region.name());
+            stamps.put(region, stamp);
+        }
+        return stamp;
+    }
+
+    /**
+     * Reads a region's version and holds its row lock until the current transaction
+     * ends. Writers stamping the region wait for that lock and keep it until they
+     * commit, so data read after this call is exactly the state at this version.
+     */
+    public long lockVersion(ChangeVersion.Region region) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Locking a version needs a transaction");
+        }
+        Long version = versionRepository.lockVersion(region.name());
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * Overwrites a region's version inside the current transaction. Only for rows used
+     * as markers rather than change counters (ROSTER); call lockVersion first.
+     */
+    public void setVersion(ChangeVersion.Region region, long version) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Setting a version needs a transaction");
+        }
+        versionRepository.setVersion(region.name(), version);
+    }
+
+    /**
+     * Counts the changes of a region this instance knows about: its own committed
+     * writes and those of other terminals seen by poll. Needs no database access,
+     * so in-memory results can cheaply check they are still current.
+     */
+    public long knownChanges(ChangeVersion.Region region) {
+        return knownChanges.get(region).get();
+    }
+
+    /**
+     * Reads a region's current version.
+     */
+    public long currentVersion(ChangeVersion.Region region) {
+        Long version = versionRepository.findVersion(region.name());
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * Reads all versions and announces regions changed by other terminals.
+     */
+    @Scheduled(fixedDelay = 1_000, initialDelay = 1_000)
+    public void poll() {
+        Set<ChangeVersion.Region> changed = EnumSet.noneOf(ChangeVersion.Region.class);
+        try {
+            for (Object[] row : versionRepository.findVersions()) {
+                ChangeVersion.Region region = (ChangeVersion.Region) row[0];
+                long version = (Long) row[1];
+                Long seen = seenVersions.put(region, version);
+                if (seen == null || version == seen) {
+                    continue;
+                }
+                // Our own bumps are already reflected in our caches
+                long delta = version - seen;
+                AtomicLong own = ownBumps.get(region);
+                long ownDelta = Math.min(own.get(), delta);
+                own.addAndGet(-ownDelta);
+                if (delta > ownDelta) {
+                    changed.add(region);
+                    knownChanges.get(region).incrementAndGet();
+                }
+            }
+            pollFailing = false;
+        } catch (Exception e) {
+            if (!pollFailing) {
+                log.error("Failed to poll change versions", e);
+                pollFailing = true;
+            }
+            return;
+        }
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new RegionsChanged(changed));
+        }
+    }
+
+    private void bump(ChangeVersion.Region region) {
+        try {
+            versionRepository.bump(region.name());
+            ownBumps.get(region).incrementAndGet();
+            knownChanges.get(region).incrementAndGet();
+        } catch (Exception e) {
+            log.error("Failed to bump change version of {}", region, e);
+        }
+    }
+}
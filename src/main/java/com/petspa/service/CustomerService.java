@@ -1,8 +1,11 @@
 package com.petspa.service;
 
+import com.petspa.diagnostics.Monitored;
 import com.petspa.dto.CustomerDTO;
 import com.petspa.dto.PetDTO;
+import com.petspa.model.ChangeVersion;
 import com.petspa.model.Customer;
+import com.petspa.repository.BookingDepartureRepository;
 import com.petspa.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -14,24 +17,29 @@ import java.util.stream.Collectors;
 /**
  * Customer Service - Manages customer CRM data.
  */
+@Monitored
 @Service
 @RequiredArgsConstructor
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final BookingDepartureRepository departureRepository;
+    private final ChangeVersionService changeVersions;
 
     /**
      * Gets all customers.
      */
+    @Transactional(readOnly = true)
     public List<CustomerDTO> getAllCustomers() {
         return customerRepository.findAll().stream()
-                .map(this::toDTO)
+                .map(this::toListDTO)
                 .collect(Collectors.toList());
     }
 
     /**
      * Gets a customer by ID.
      */
+    @Transactional(readOnly = true)
     public CustomerDTO getCustomerById(Long id) {
         return customerRepository.findById(id)
                 .map(this::toDTO)
@@ -41,6 +49,7 @@ public class CustomerService {
     /**
      * Finds a customer by phone number.
      */
+    @Transactional(readOnly = true)
     public CustomerDTO findByPhoneNumber(String phoneNumber) {
         return customerRepository.findByPhoneNumber(phoneNumber)
                 .map(this::toDTO)
@@ -50,18 +59,20 @@ public class CustomerService {
     /**
      * Searches customers by phone number (partial match).
      */
+    @Transactional(readOnly = true)
     public List<CustomerDTO> searchByPhone(String phoneNumber) {
         return customerRepository.findByPhoneNumberContaining(phoneNumber).stream()
-                .map(this::toDTO)
+                .map(this::toListDTO)
                 .collect(Collectors.toList());
     }
 
     /**
      * Searches customers by name.
      */
+    @Transactional(readOnly = true)
     public List<CustomerDTO> searchByName(String name) {
         return customerRepository.findByFullNameContainingIgnoreCase(name).stream()
-                .map(this::toDTO)
+                .map(this::toListDTO)
                 .collect(Collectors.toList());
     }
 
@@ -82,6 +93,7 @@ public class CustomerService {
                 .build();
 
         Customer saved = customerRepository.save(customer);
+        changeVersions.markChanged(ChangeVersion.Region.CUSTOMERS);
         return toDTO(saved);
     }
 
@@ -99,6 +111,7 @@ public class CustomerService {
         customer.setAddress(dto.getAddress());
 
         Customer saved = customerRepository.save(customer);
+        changeVersions.markChanged(ChangeVersion.Region.CUSTOMERS);
         return toDTO(saved);
     }
 
@@ -110,13 +123,27 @@ public class CustomerService {
         if (!customerRepository.existsById(id)) {
             throw new RuntimeException("Customer not found: " + id);
         }
+        // Its bookings are deleted with it; day views syncing with deltas have to drop them
+        departureRepository.insertForCustomer(id, changeVersions.stamp(ChangeVersion.Region.BOOKINGS));
         customerRepository.deleteById(id);
+        changeVersions.markChanged(ChangeVersion.Region.CUSTOMERS);
     }
 
     /**
      * Converts Customer entity to CustomerDTO.
+     * Package-private so the JMH benchmarks can measure it.
+     */
+    CustomerDTO toDTO(Customer customer) {
+        CustomerDTO dto = toListDTO(customer);
+        dto.setAddress(customer.getAddress());
+        return dto;
+    }
+
+    /**
+     * Converts Customer entity to CustomerDTO for lists and search results,
+     * without the address (a lazy attribute that would cost a query per row).
      */
-    private CustomerDTO toDTO(Customer customer) {
+    private CustomerDTO toListDTO(Customer customer) {
         List<PetDTO> petDTOs = customer.getPets().stream()
                 .map(pet -> PetDTO.builder()
                         .id(pet.getId())
@@ -133,7 +160,6 @@ public class CustomerService {
                 .fullName(customer.getFullName())
                 .phoneNumber(customer.getPhoneNumber())
                 .email(customer.getEmail())
-                .address(customer.getAddress())
                 .createdAt(customer.getCreatedAt())
                 .pets(petDTOs)
                 .totalBookings(customer.getBookings() != null ? customer.getBookings().size() : 0)
@@ -0,0 +1,364 @@
+package com.petspa.service;
+
+import com.petspa.dto.DashboardSnapshotDTO;
+import com.petspa.model.Booking;
+import com.petspa.model.BookingDetail;
+import com.petspa.model.ChangeVersion;
+import com.petspa.repository.BookingDetailRepository;
+import com.petspa.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dashboard Metrics Service - In-memory per-day booking counters for the admin dashboard.
+ *
+ * A day's counters are seeded once from the database with three GROUP BY queries
+ * the first time the day is requested, then kept current by BookingService after
+ * each committed create, status change, cancel or reschedule. Counters are
+ * LongAdders, so concurrent updates never block and a snapshot is just a read.
+ *
+ * Every update carries the BOOKINGS change stamp of its transaction, and a seed
+ * reads its counts while holding the BOOKINGS version row lock, so they are exactly
+ * the state at the version it locked (booking writers wait a few milliseconds
+ * meanwhile). Updates stamped at or below the seeded version are already in the
+ * counts and are skipped; those arriving while a seed runs are also kept aside and
+ * replayed onto the new counters before they replace the old ones, so none is lost
+ * or counted twice.
+ *
+ * Writes made by other terminals are picked up through ChangeVersionService, which
+ * makes all loaded days re-seed; the periodic re-seed remains as a safety net.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardMetricsService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    /**
+     * Days older than this (relative to today) are dropped from memory.
+     */
+    private static final int RETAIN_DAYS = 7;
+
+    private final BookingRepository bookingRepository;
+    private final BookingDetailRepository bookingDetailRepository;
+    private final ChangeVersionService changeVersions;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<LocalDate, Day> days = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the dashboard counters for a date (seeding them on first use).
+     */
+    public DashboardSnapshotDTO getDashboardSnapshot(String dateStr) {
+        LocalDate date = dateStr != null ? LocalDate.parse(dateStr, DATE_FORMATTER) : LocalDate.now();
+        Day day = days.computeIfAbsent(date, key -> new Day());
+        DayCounters counters = day.counters();
+        if (counters == null) {
+            counters = seed(date, day);
+        }
+        return counters.snapshot(date);
+    }
+
+    /**
+     * Captures the counter-relevant facts of a booking.
+     * Must be called while the booking's details can still be loaded.
+     */
+    public BookingFacts factsOf(Booking booking) {
+        List<Long> serviceIds = new ArrayList<>(booking.getBookingDetails().size());
+        for (BookingDetail detail : booking.getBookingDetails()) {
+            serviceIds.add(detail.getService().getId());
+        }
+        return new BookingFacts(
+                booking.getBookingDate(),
+                booking.getStaff() != null ? booking.getStaff().getId() : null,
+                booking.getStatus(),
+                toMinorUnits(booking.getTotalPrice()),
+                serviceIds);
+    }
+
+    /**
+     * Captures the same facts from scalar columns, for bulk changes that do not load the bookings.
+     */
+    public BookingFacts factsOf(LocalDate date, Long staffId, Booking.BookingStatus status,
+                                BigDecimal totalPrice, List<Long> serviceIds) {
+        return new BookingFacts(date, staffId, status, toMinorUnits(totalPrice), serviceIds);
+    }
+
+    /**
+     * Records a new booking.
+     *
+     * @param stamp the BOOKINGS change stamp of the transaction that created it
+     */
+    public void recordCreated(long stamp, BookingFacts created) {
+        apply(stamp, created, 1);
+    }
+
+    /**
+     * Records a change of a booking (status, date or staff) as "remove old, add new".
+     *
+     * @param stamp the BOOKINGS change stamp of the transaction that changed it
+     */
+    public void recordChanged(long stamp, BookingFacts before, BookingFacts after) {
+        apply(stamp, before, -1);
+        apply(stamp, after, 1);
+    }
+
+    /**
+     * Forgets all loaded days so they are re-seeded from the database.
+     */
+    public void invalidateAll() {
+        days.clear();
+    }
+
+    /**
+     * Forgets loaded days when another terminal changed bookings.
+     */
+    @EventListener
+    public void onRegionsChanged(ChangeVersionService.RegionsChanged event) {
+        if (event.regions().contains(ChangeVersion.Region.BOOKINGS)) {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Re-seeds loaded days periodically so writes from other terminals show up,
+     * and drops days that are no longer of interest.
+     */
+    @Scheduled(fixedDelay = 300_000, initialDelay = 300_000)
+    public void reseed() {
+        LocalDate cutoff = LocalDate.now().minusDays(RETAIN_DAYS);
+        days.keySet().removeIf(date -> date.isBefore(cutoff));
+        for (Map.Entry<LocalDate, Day> entry : new ArrayList<>(days.entrySet())) {
+            try {
+                seed(entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                log.error("Failed to re-seed dashboard counters for {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    private void apply(long stamp, BookingFacts facts, int sign) {
+        // Days that are not loaded will be seeded from the committed state when requested
+        Day day = days.get(facts.date());
+        if (day != null) {
+            day.apply(new Update(stamp, facts, sign));
+        }
+    }
+
+    /**
+     * Seeds a day's counters from the database and publishes them.
+     */
+    private DayCounters seed(LocalDate date, Day day) {
+        day.beginSeed();
+        Seeded seeded = null;
+        try {
+            seeded = query(date);
+        } finally {
+            day.endSeed(seeded);
+        }
+        // A concurrent seed may have published newer counters
+        return day.counters();
+    }
+
+    /**
+     * Reads the day's counts at a fixed BOOKINGS version.
+     *
+     * Booking writes on every terminal wait while the counts are read. That is three
+     * grouped queries over one day's bookings, on first view of a day and every five
+     * minutes per loaded day, so the wait is accepted for counters that never miss
+     * or double-count a booking.
+     */
+    private Seeded query(LocalDate date) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            // Locked first, so no booking can commit until the counts are read
+            long version = changeVersions.lockVersion(ChangeVersion.Region.BOOKINGS);
+            return new Seeded(version, count(date));
+        });
+    }
+
+    private DayCounters count(LocalDate date) {
+        DayCounters counters = new DayCounters();
+
+        for (Object[] row : bookingRepository.countByStatusForDate(date)) {
+            Booking.BookingStatus status = (Booking.BookingStatus) row[0];
+            long count = (Long) row[1];
+            long revenue = toMinorUnits((BigDecimal) row[2]);
+            counters.byStatus.get(status).add(count);
+            if (status != Booking.BookingStatus.CANCELLED) {
+                counters.bookedRevenue.add(revenue);
+            }
+            if (status == Booking.BookingStatus.COMPLETED) {
+                counters.completedRevenue.add(revenue);
+            }
+        }
+
+        for (Object[] row : bookingRepository.countByStaffForDate(date, Booking.BookingStatus.CANCELLED)) {
+            counters.staffLoad.computeIfAbsent((Long) row[0], id -> new LongAdder()).add((Long) row[1]);
+        }
+
+        for (Object[] row : bookingDetailRepository.countByServiceForDate(date, Booking.BookingStatus.CANCELLED)) {
+            counters.serviceCounts.computeIfAbsent((Long) row[0], id -> new LongAdder()).add((Long) row[1]);
+        }
+
+        return counters;
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static BigDecimal fromMinorUnits(long amount) {
+        return BigDecimal.valueOf(amount, 2);
+    }
+
+    /**
+     * The parts of a booking that the counters depend on.
+     */
+    public record BookingFacts(LocalDate date, Long staffId, Booking.BookingStatus status,
+                               long totalMinorUnits, List<Long> serviceIds) {}
+
+    /**
+     * One counter update and the change stamp of the transaction it came from.
+     */
+    private record Update(long stamp, BookingFacts facts, int sign) {}
+
+    /**
+     * Counters read from the database at a BOOKINGS version.
+     */
+    private record Seeded(long version, DayCounters counters) {}
+
+    /**
+     * A loaded day: its current counters and the updates that arrive while it is seeded.
+     * Short, non-blocking critical sections, so plain synchronization is enough.
+     */
+    private static final class Day {
+
+        private DayCounters counters;
+        private long version = Long.MIN_VALUE;
+        private int seeding;
+        private final List<Update> pending = new ArrayList<>();
+
+        synchronized DayCounters counters() {
+            return counters;
+        }
+
+        synchronized void beginSeed() {
+            seeding++;
+        }
+
+        /**
+         * Publishes a seed (null if it failed) after replaying the updates it missed.
+         */
+        synchronized void endSeed(Seeded seeded) {
+            if (seeded != null && seeded.version() >= version) {
+                for (Update update : pending) {
+                    if (update.stamp() > seeded.version()) {
+                        seeded.counters().apply(update.facts(), update.sign());
+                    }
+                }
+                counters = seeded.counters();
+                version = seeded.version();
+            }
+            if (--seeding == 0) {
+                pending.clear();
+            }
+        }
+
+        synchronized void apply(Update update) {
+            if (seeding > 0) {
+                pending.add(update);
+            }
+            if (counters != null && update.stamp() > version) {
+                counters.apply(update.facts(), update.sign());
+            }
+        }
+    }
+
+    /**
+     * Counters of one day.
+     */
+    private static final class DayCounters {
+
+        private final Map<Booking.BookingStatus, LongAdder> byStatus = new EnumMap<>(Booking.BookingStatus.class);
+        private final LongAdder bookedRevenue = new LongAdder();
+        private final LongAdder completedRevenue = new LongAdder();
+        private final Map<Long, LongAdder> staffLoad = new ConcurrentHashMap<>();
+        private final Map<Long, LongAdder> serviceCounts = new ConcurrentHashMap<>();
+
+        DayCounters() {
+            // Fully populated up front so the EnumMap is never structurally modified
+            for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+        }
+
+        void apply(BookingFacts facts, int sign) {
+            byStatus.get(facts.status()).add(sign);
+            if (facts.status() == Booking.BookingStatus.CANCELLED) {
+                return;
+            }
+            bookedRevenue.add(sign * facts.totalMinorUnits());
+            if (facts.status() == Booking.BookingStatus.COMPLETED) {
+                completedRevenue.add(sign * facts.totalMinorUnits());
+            }
+            if (facts.staffId() != null) {
+                staffLoad.computeIfAbsent(facts.staffId(), id -> new LongAdder()).add(sign);
+            }
+            for (Long serviceId : facts.serviceIds()) {
+                serviceCounts.computeIfAbsent(serviceId, id -> new LongAdder()).add(sign);
+            }
+        }
+
+        DashboardSnapshotDTO snapshot(LocalDate date) {
+            Map<String, Long> statusCounts = new LinkedHashMap<>();
+            long total = 0;
+            for (Map.Entry<Booking.BookingStatus, LongAdder> entry : byStatus.entrySet()) {
+                long count = entry.getValue().sum();
+                statusCounts.put(entry.getKey().name(), count);
+                total += count;
+            }
+
+            return DashboardSnapshotDTO.builder()
+                    .date(date)
+                    .totalBookings(total)
+                    .bookingsByStatus(statusCounts)
+                    .bookedRevenue(fromMinorUnits(bookedRevenue.sum()))
+                    .completedRevenue(fromMinorUnits(completedRevenue.sum()))
+                    .staffLoad(sums(staffLoad))
+                    .serviceCounts(sums(serviceCounts))
+                    .build();
+        }
+
+        private static Map<Long, Long> sums(Map<Long, LongAdder> adders) {
+            Map<Long, Long> result = new LinkedHashMap<>();
+            adders.forEach((id, adder) -> {
+                long value = adder.sum();
+                if (value != 0) {
+                    result.put(id, value);
+                }
+            });
+            return result;
+        }
+    }
+}
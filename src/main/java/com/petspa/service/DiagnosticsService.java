@@ -0,0 +1,126 @@
+package com.petspa.service;
+
+import com.petspa.diagnostics.ConnectionPoolMonitor;
+import com.petspa.diagnostics.Monitored;
+import com.petspa.diagnostics.SlowQueryLog;
+import com.petspa.dto.DiagnosticsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.CollectionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Diagnostics Service - Collects the slow-query log, Hibernate statistics and
+ * connection pool state for the admin diagnostics page.
+ */
+@Monitored
+@Service
+public class DiagnosticsService {
+
+    /**
+     * Slowest queries listed on the page.
+     */
+    private static final int TOP_QUERIES = 20;
+
+    private final SlowQueryLog slowQueryLog;
+    private final ConnectionPoolMonitor poolMonitor;
+    private final Statistics statistics;
+
+    public DiagnosticsService(SlowQueryLog slowQueryLog, ConnectionPoolMonitor poolMonitor,
+                              EntityManagerFactory entityManagerFactory) {
+        this.slowQueryLog = slowQueryLog;
+        this.poolMonitor = poolMonitor;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public DiagnosticsDTO getDiagnostics() {
+        List<DiagnosticsDTO.QueryStat> queries = Arrays.stream(statistics.getQueries())
+                .map(query -> {
+                    QueryStatistics stats = statistics.getQueryStatistics(query);
+                    return new DiagnosticsDTO.QueryStat(query, stats.getExecutionCount(),
+                            stats.getExecutionAvgTime(), stats.getExecutionMaxTime(), stats.getExecutionRowCount());
+                })
+                .sorted(Comparator.comparingLong(DiagnosticsDTO.QueryStat::maxMillis).reversed())
+                .limit(TOP_QUERIES)
+                .toList();
+
+        List<DiagnosticsDTO.EntityStat> entities = Arrays.stream(statistics.getEntityNames())
+                .map(name -> {
+                    EntityStatistics stats = statistics.getEntityStatistics(name);
+                    return new DiagnosticsDTO.EntityStat(simpleName(name), stats.getLoadCount(), stats.getFetchCount());
+                })
+                .sorted(Comparator.comparingLong(DiagnosticsDTO.EntityStat::fetches).reversed())
+                .toList();
+
+        List<DiagnosticsDTO.CollectionStat> collections = Arrays.stream(statistics.getCollectionRoleNames())
+                .map(role -> {
+                    CollectionStatistics stats = statistics.getCollectionStatistics(role);
+                    return new DiagnosticsDTO.CollectionStat(simpleName(role), stats.getLoadCount(), stats.getFetchCount());
+                })
+                .sorted(Comparator.comparingLong(DiagnosticsDTO.CollectionStat::fetches).reversed())
+                .toList();
+
+        List<DiagnosticsDTO.CacheRegionStat> cacheRegions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .map(region -> {
+                    CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+                    return new DiagnosticsDTO.CacheRegionStat(region, stats.getHitCount(), stats.getMissCount(),
+                            ratio(stats.getHitCount(), stats.getMissCount()));
+                })
+                .toList();
+
+        return DiagnosticsDTO.builder()
+                .slowQueryThresholdMillis(slowQueryLog.thresholdMillis())
+                .slowQueries(slowQueryLog.recent())
+                .statisticsEnabled(statistics.isStatisticsEnabled())
+                .statisticsSince(LocalDateTime.ofInstant(statistics.getStart(), ZoneId.systemDefault()))
+                .entityLoads(statistics.getEntityLoadCount())
+                .entityFetches(statistics.getEntityFetchCount())
+                .collectionLoads(statistics.getCollectionLoadCount())
+                .collectionFetches(statistics.getCollectionFetchCount())
+                .queryExecutions(statistics.getQueryExecutionCount())
+                .queryExecutionMaxMillis(statistics.getQueryExecutionMaxTime())
+                .slowestQuery(statistics.getQueryExecutionMaxTimeQueryString())
+                .preparedStatements(statistics.getPrepareStatementCount())
+                .secondLevelCacheHits(statistics.getSecondLevelCacheHitCount())
+                .secondLevelCacheMisses(statistics.getSecondLevelCacheMissCount())
+                .secondLevelCachePuts(statistics.getSecondLevelCachePutCount())
+                .secondLevelCacheHitRatio(ratio(statistics.getSecondLevelCacheHitCount(),
+                        statistics.getSecondLevelCacheMissCount()))
+                .queries(queries)
+                .entities(entities)
+                .collections(collections)
+                .cacheRegions(cacheRegions)
+                .connectionPool(poolMonitor.snapshot())
+                .build();
+    }
+
+    /**
+     * Empties the slow-query log and restarts the statistics.
+     */
+    public void reset() {
+        slowQueryLog.clear();
+        statistics.clear();
+    }
+
+    private static Double ratio(long hits, long misses) {
+        return hits + misses > 0 ? (double) hits / (hits + misses) : null;
+    }
+
+    /**
+     * com.petspa.model.Booking.bookingDetails -> Booking.bookingDetails
+     */
+    private static String simpleName(String name) {
+        String prefix = "com.petspa.model.";
+        return name.startsWith(prefix) ? name.substring(prefix.length()) : name;
+    }
+}
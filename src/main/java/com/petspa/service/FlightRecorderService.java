@@ -0,0 +1,121 @@
+package com.petspa.service;
+
+import com.petspa.diagnostics.BridgeCallEvent;
+import com.petspa.diagnostics.Monitored;
+import com.petspa.diagnostics.ServiceCallEvent;
+import com.petspa.diagnostics.SqlStatementEvent;
+import com.petspa.dto.FlightRecordingDTO;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Flight Recorder Service - Starts, dumps and stops an on-demand JFR recording.
+ *
+ * The recording uses the JDK's "default" settings (low overhead, meant for
+ * production) plus the application's bridge, service and SQL events, and keeps
+ * the last MAX_AGE of data. Dumps are written to petspa.jfr.directory and can
+ * be opened in JDK Mission Control.
+ */
+@Monitored
+@Service
+public class FlightRecorderService {
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(30);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Value("${petspa.jfr.directory:recordings}")
+    private String directory;
+
+    private Recording recording;
+    private String lastFile;
+
+    /**
+     * Starts a recording, or returns the state of the one already running.
+     */
+    public synchronized FlightRecordingDTO start() throws Exception {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available in this JVM");
+        }
+        if (!isRunning()) {
+            Recording started = new Recording(Configuration.getConfiguration("default"));
+            started.setName("petspa-on-demand");
+            started.setMaxAge(MAX_AGE);
+            started.setToDisk(true);
+            started.enable(BridgeCallEvent.class);
+            started.enable(ServiceCallEvent.class);
+            started.enable(SqlStatementEvent.class).withStackTrace();
+            started.start();
+            recording = started;
+        }
+        return status();
+    }
+
+    /**
+     * Writes the data recorded so far to a new file; the recording keeps running.
+     */
+    public synchronized FlightRecordingDTO dump() throws Exception {
+        if (!isRunning()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.dump(newFile());
+        return status();
+    }
+
+    /**
+     * Stops the recording and writes it to a new file.
+     */
+    public synchronized FlightRecordingDTO stop() throws Exception {
+        if (!isRunning()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        try {
+            recording.stop();
+            recording.dump(newFile());
+        } finally {
+            recording.close();
+            recording = null;
+        }
+        return status();
+    }
+
+    public synchronized FlightRecordingDTO status() {
+        boolean running = isRunning();
+        return FlightRecordingDTO.builder()
+                .recording(running)
+                .startedAt(running ? LocalDateTime.ofInstant(recording.getStartTime(), ZoneId.systemDefault()) : null)
+                .file(lastFile)
+                .build();
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private Path newFile() throws Exception {
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+        Path file = dir.resolve("petspa-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr").toAbsolutePath();
+        lastFile = file.toString();
+        return file;
+    }
+}
@@ -1,8 +1,11 @@
 package com.petspa.service;
 
+import com.petspa.diagnostics.Monitored;
 import com.petspa.dto.PetDTO;
+import com.petspa.model.ChangeVersion;
 import com.petspa.model.Customer;
 import com.petspa.model.Pet;
+import com.petspa.repository.BookingDepartureRepository;
 import com.petspa.repository.CustomerRepository;
 import com.petspa.repository.PetRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,25 +18,30 @@ import java.util.stream.Collectors;
 /**
  * Pet Service - Manages pet data.
  */
+@Monitored
 @Service
 @RequiredArgsConstructor
 public class PetService {
 
     private final PetRepository petRepository;
+    private final BookingDepartureRepository departureRepository;
     private final CustomerRepository customerRepository;
+    private final ChangeVersionService changeVersions;
 
     /**
      * Gets all pets for a customer.
      */
+    @Transactional(readOnly = true)
     public List<PetDTO> getPetsByCustomerId(Long customerId) {
         return petRepository.findByOwnerId(customerId).stream()
-                .map(this::toDTO)
+                .map(this::toListDTO)
                 .collect(Collectors.toList());
     }
 
     /**
      * Gets a pet by ID.
      */
+    @Transactional(readOnly = true)
     public PetDTO getPetById(Long id) {
         return petRepository.findById(id)
                 .map(this::toDTO)
@@ -59,6 +67,7 @@ public class PetService {
                 .build();
 
         Pet saved = petRepository.save(pet);
+        changeVersions.markChanged(ChangeVersion.Region.PETS);
         return toDTO(saved);
     }
 
@@ -78,6 +87,7 @@ public class PetService {
         pet.setNotes(dto.getNotes());
 
         Pet saved = petRepository.save(pet);
+        changeVersions.markChanged(ChangeVersion.Region.PETS);
         return toDTO(saved);
     }
 
@@ -89,13 +99,25 @@ public class PetService {
         if (!petRepository.existsById(id)) {
             throw new RuntimeException("Pet not found: " + id);
         }
+        // Its bookings are deleted with it; day views syncing with deltas have to drop them
+        departureRepository.insertForPet(id, changeVersions.stamp(ChangeVersion.Region.BOOKINGS));
         petRepository.deleteById(id);
+        changeVersions.markChanged(ChangeVersion.Region.PETS);
     }
 
     /**
      * Converts Pet entity to PetDTO.
      */
     private PetDTO toDTO(Pet pet) {
+        PetDTO dto = toListDTO(pet);
+        dto.setNotes(pet.getNotes());
+        return dto;
+    }
+
+    /**
+     * Converts Pet entity to PetDTO for a customer's pet list, without the lazily loaded notes.
+     */
+    private PetDTO toListDTO(Pet pet) {
         return PetDTO.builder()
                 .id(pet.getId())
                 .ownerId(pet.getOwner().getId())
@@ -105,7 +127,6 @@ public class PetService {
                 .breed(pet.getBreed())
                 .age(pet.getAge())
                 .weight(pet.getWeight())
-                .notes(pet.getNotes())
                 .createdAt(pet.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,353 @@
+package com.petspa.service;
+
+import com.petspa.model.ChangeVersion;
+import com.petspa.model.PricingRule;
+import com.petspa.repository.PricingRuleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+
+/**
+ * Pricing Engine - Prices booking lines from the pricing rules, compiled into lookup tables.
+ *
+ * The active rules are loaded with one query and compiled on first use, and again on next
+ * use once they changed, here or on another terminal (see ChangeVersionService.knownChanges).
+ * SPECIES_WEIGHT rules become a table of adjustments per service, species and weight band,
+ * and TIME_OF_DAY rules a table per minute of the day, so pricing a booking is a few array
+ * lookups and BigDecimal operations per line.
+ *
+ * How the rules combine on a line:
+ * - the SPECIES_WEIGHT rules matching its service, the pet's species and weight band add up
+ * - of the COMBO rules whose services are all booked, the largest discount applies to
+ *   each service of the combo
+ * - the LOYALTY rule with the most visits the customer reaches applies
+ * - the TIME_OF_DAY rules whose window holds the start time add up; a window ending
+ *   at 00:00 runs to the end of the day, windows past midnight need two rules
+ *
+ * The line price is (catalogue price + amounts) * (100 + sum of percentages) / 100, rounded
+ * to cents and never below zero. Every adjustment lands on a line, so the lines still sum
+ * to the booking total (see Booking.recalculateTotalPrice).
+ */
+@Component
+@RequiredArgsConstructor
+public class PricingEngine {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal FREE = BigDecimal.ZERO.setScale(2);
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final PricingRuleRepository ruleRepository;
+    private final ChangeVersionService changeVersions;
+
+    private volatile Table table;
+
+    /**
+     * Prices the lines of a booking, in line order.
+     *
+     * @param weight the pet's weight in kg, may be null
+     * @param time   the booking's start time, may be null
+     * @param visits supplies the customer's completed bookings; only called if there are loyalty rules
+     */
+    public Quote price(List<ServiceCatalog.Entry> services, String species, Float weight,
+                       LocalTime time, LongSupplier visits) {
+        if (services.isEmpty()) {
+            return new Quote(List.of(), BigDecimal.ZERO);
+        }
+        Table current = current();
+
+        BigDecimal bookingPercent = BigDecimal.ZERO;
+        if (current.loyaltyVisits.length > 0) {
+            bookingPercent = bookingPercent.add(current.loyaltyPercent(visits.getAsLong()));
+        }
+        if (time != null) {
+            BigDecimal timePercent = current.percentByMinute[minuteOfDay(time)];
+            if (timePercent != null) {
+                bookingPercent = bookingPercent.add(timePercent);
+            }
+        }
+        boolean[] combosBooked = new boolean[current.combos.length];
+        for (int i = 0; i < current.combos.length; i++) {
+            combosBooked[i] = current.combos[i].bookedIn(services);
+        }
+
+        int cell = current.cellIndex(species, weight);
+        List<BigDecimal> linePrices = new ArrayList<>(services.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (ServiceCatalog.Entry service : services) {
+            Cell adjustment = current.cellsByService.getOrDefault(service.id(), current.anyService)[cell];
+            BigDecimal percent = bookingPercent.add(adjustment.percent());
+            for (int i = 0; i < current.combos.length; i++) {
+                if (combosBooked[i] && current.combos[i].includes(service.id())) {
+                    percent = percent.add(current.combos[i].percent());
+                    break;
+                }
+            }
+            BigDecimal price = adjust(service.price(), adjustment.amount(), percent);
+            linePrices.add(price);
+            total = total.add(price);
+        }
+        return new Quote(linePrices, total);
+    }
+
+    private static BigDecimal adjust(BigDecimal price, BigDecimal amount, BigDecimal percent) {
+        if (amount.signum() == 0 && percent.signum() == 0) {
+            return price;
+        }
+        BigDecimal adjusted = price.add(amount).multiply(HUNDRED.add(percent))
+                .movePointLeft(2).setScale(2, RoundingMode.HALF_UP);
+        return adjusted.signum() < 0 ? FREE : adjusted;
+    }
+
+    private Table current() {
+        // Read before loading, so a change during the load triggers another one
+        long changes = changeVersions.knownChanges(ChangeVersion.Region.PRICING);
+        Table current = table;
+        if (current != null && current.changes == changes) {
+            return current;
+        }
+        current = compile(changes, ruleRepository.findByActiveTrue());
+        table = current;
+        return current;
+    }
+
+    /**
+     * Compiles the active rules into lookup tables.
+     */
+    private static Table compile(long changes, List<PricingRule> rules) {
+        List<PricingRule> speciesWeight = new ArrayList<>();
+        List<Combo> combos = new ArrayList<>();
+        List<PricingRule> loyalty = new ArrayList<>();
+        BigDecimal[] percentByMinute = new BigDecimal[MINUTES_PER_DAY];
+        for (PricingRule rule : rules) {
+            switch (rule.getType()) {
+                case SPECIES_WEIGHT -> speciesWeight.add(rule);
+                case COMBO -> combos.add(new Combo(parseIds(rule.getComboServiceIds()), percentOf(rule)));
+                case LOYALTY -> loyalty.add(rule);
+                case TIME_OF_DAY -> {
+                    int end = endMinute(rule.getEndTime());
+                    for (int minute = minuteOfDay(rule.getStartTime()); minute < end; minute++) {
+                        BigDecimal percent = percentByMinute[minute];
+                        percentByMinute[minute] = percent == null ? percentOf(rule) : percent.add(percentOf(rule));
+                    }
+                }
+            }
+        }
+
+        // Species index 0 is any species no rule names; weight band 0 is an unknown weight
+        Map<String, Integer> speciesIndex = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        TreeSet<Float> bounds = new TreeSet<>();
+        for (PricingRule rule : speciesWeight) {
+            if (rule.getSpecies() != null && !speciesIndex.containsKey(rule.getSpecies())) {
+                speciesIndex.put(rule.getSpecies(), speciesIndex.size() + 1);
+            }
+            if (rule.getMinWeight() != null) {
+                bounds.add(rule.getMinWeight());
+            }
+            if (rule.getMaxWeight() != null) {
+                bounds.add(rule.getMaxWeight());
+            }
+        }
+        float[] weightBounds = new float[bounds.size()];
+        int b = 0;
+        for (Float bound : bounds) {
+            weightBounds[b++] = bound;
+        }
+        Table compiled = new Table(changes, speciesIndex, weightBounds);
+
+        Map<Long, List<PricingRule>> byService = new HashMap<>();
+        List<PricingRule> anyService = new ArrayList<>();
+        for (PricingRule rule : speciesWeight) {
+            if (rule.getServiceId() == null) {
+                anyService.add(rule);
+            } else {
+                byService.computeIfAbsent(rule.getServiceId(), id -> new ArrayList<>()).add(rule);
+            }
+        }
+        compiled.anyService = compiled.cells(anyService);
+        byService.forEach((serviceId, serviceRules) -> {
+            serviceRules.addAll(anyService);
+            compiled.cellsByService.put(serviceId, compiled.cells(serviceRules));
+        });
+
+        combos.sort(Comparator.comparing(Combo::percent));
+        compiled.combos = combos.toArray(new Combo[0]);
+
+        loyalty.sort(Comparator.comparingLong(PricingEngine::minVisitsOf).reversed());
+        compiled.loyaltyVisits = new long[loyalty.size()];
+        compiled.loyaltyPercents = new BigDecimal[loyalty.size()];
+        for (int i = 0; i < loyalty.size(); i++) {
+            compiled.loyaltyVisits[i] = minVisitsOf(loyalty.get(i));
+            compiled.loyaltyPercents[i] = percentOf(loyalty.get(i));
+        }
+        compiled.percentByMinute = percentByMinute;
+        return compiled;
+    }
+
+    /**
+     * Parses the comma-separated service IDs of a combo rule.
+     */
+    static long[] parseIds(String ids) {
+        if (ids == null || ids.isBlank()) {
+            return new long[0];
+        }
+        return Arrays.stream(ids.split(",")).map(String::trim).mapToLong(Long::parseLong).toArray();
+    }
+
+    /**
+     * Gets the minute of the day a time-of-day window ends at (exclusive);
+     * an end of 00:00 is the end of the day.
+     */
+    static int endMinute(LocalTime end) {
+        return end.equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : minuteOfDay(end);
+    }
+
+    static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static BigDecimal percentOf(PricingRule rule) {
+        return rule.getPercent() != null ? rule.getPercent() : BigDecimal.ZERO;
+    }
+
+    private static long minVisitsOf(PricingRule rule) {
+        return rule.getMinVisits() != null ? rule.getMinVisits() : 0;
+    }
+
+    /**
+     * Prices of a booking's lines, in line order, and their sum.
+     */
+    public record Quote(List<BigDecimal> linePrices, BigDecimal total) {}
+
+    /**
+     * Adjustment of one service for one species and weight band.
+     */
+    private record Cell(BigDecimal amount, BigDecimal percent) {
+
+        static final Cell NONE = new Cell(BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    private record Combo(long[] serviceIds, BigDecimal percent) {
+
+        boolean bookedIn(List<ServiceCatalog.Entry> services) {
+            if (serviceIds.length == 0) {
+                return false;
+            }
+            for (long serviceId : serviceIds) {
+                boolean booked = false;
+                for (ServiceCatalog.Entry service : services) {
+                    if (service.id() == serviceId) {
+                        booked = true;
+                        break;
+                    }
+                }
+                if (!booked) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean includes(long serviceId) {
+            for (long id : serviceIds) {
+                if (id == serviceId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The compiled rules of one rules version.
+     *
+     * Adjustment cells are laid out per service as [species index * bands + weight band].
+     * Weight band 0 is an unknown weight; band k > 0 lies between weightBounds[k - 2]
+     * (inclusive) and weightBounds[k - 1] (exclusive), open at both ends. Services
+     * without rules of their own use anyService.
+     */
+    private static final class Table {
+
+        final long changes;
+        final Map<String, Integer> speciesIndex;
+        final float[] weightBounds;
+        final int bands;
+        final Map<Long, Cell[]> cellsByService = new HashMap<>();
+        Cell[] anyService;
+        Combo[] combos;
+        long[] loyaltyVisits;
+        BigDecimal[] loyaltyPercents;
+        BigDecimal[] percentByMinute;
+
+        Table(long changes, Map<String, Integer> speciesIndex, float[] weightBounds) {
+            this.changes = changes;
+            this.speciesIndex = speciesIndex;
+            this.weightBounds = weightBounds;
+            this.bands = weightBounds.length + 2;
+        }
+
+        int cellIndex(String species, Float weight) {
+            Integer speciesAt = species != null ? speciesIndex.get(species) : null;
+            int band = 0;
+            if (weight != null) {
+                int at = Arrays.binarySearch(weightBounds, weight);
+                band = 1 + (at >= 0 ? at + 1 : -(at + 1));
+            }
+            return (speciesAt != null ? speciesAt : 0) * bands + band;
+        }
+
+        BigDecimal loyaltyPercent(long visits) {
+            for (int i = 0; i < loyaltyVisits.length; i++) {
+                if (visits >= loyaltyVisits[i]) {
+                    return loyaltyPercents[i];
+                }
+            }
+            return BigDecimal.ZERO;
+        }
+
+        Cell[] cells(List<PricingRule> rules) {
+            Cell[] cells = new Cell[(speciesIndex.size() + 1) * bands];
+            for (int species = 0; species <= speciesIndex.size(); species++) {
+                for (int band = 0; band < bands; band++) {
+                    BigDecimal amount = BigDecimal.ZERO;
+                    BigDecimal percent = BigDecimal.ZERO;
+                    for (PricingRule rule : rules) {
+                        if (matchesSpecies(rule, species) && matchesBand(rule, band)) {
+                            amount = rule.getAmount() != null ? amount.add(rule.getAmount()) : amount;
+                            percent = percent.add(percentOf(rule));
+                        }
+                    }
+                    cells[species * bands + band] = amount.signum() == 0 && percent.signum() == 0
+                            ? Cell.NONE : new Cell(amount, percent);
+                }
+            }
+            return cells;
+        }
+
+        private boolean matchesSpecies(PricingRule rule, int species) {
+            return rule.getSpecies() == null || speciesIndex.get(rule.getSpecies()) == species;
+        }
+
+        private boolean matchesBand(PricingRule rule, int band) {
+            if (band == 0) {
+                return rule.getMinWeight() == null && rule.getMaxWeight() == null;
+            }
+            // Every rule bound is a band bound, so a band lies wholly inside or outside a rule
+            float lower = band >= 2 ? weightBounds[band - 2] : Float.NEGATIVE_INFINITY;
+            float upper = band - 1 < weightBounds.length ? weightBounds[band - 1] : Float.POSITIVE_INFINITY;
+            return (rule.getMinWeight() == null || rule.getMinWeight() <= lower)
+                    && (rule.getMaxWeight() == null || upper <= rule.getMaxWeight());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.petspa.service;
+
+import com.petspa.diagnostics.Monitored;
+import com.petspa.dto.PricingRuleDTO;
+import com.petspa.model.ChangeVersion;
+import com.petspa.model.PricingRule;
+import com.petspa.repository.PricingRuleRepository;
+import com.petspa.repository.ServiceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Pricing Rule Service - Manages the pricing rules applied to new bookings.
+ *
+ * Every change bumps the PRICING region, so PricingEngine recompiles its tables
+ * on all terminals before the next booking is priced.
+ */
+@Monitored
+@Service
+@RequiredArgsConstructor
+public class PricingRuleService {
+
+    private static final BigDecimal MAX_PERCENT = BigDecimal.valueOf(100);
+
+    private final PricingRuleRepository ruleRepository;
+    private final ServiceRepository serviceRepository;
+    private final ChangeVersionService changeVersions;
+
+    /**
+     * Gets all rules, active or not, grouped by type.
+     */
+    public List<PricingRuleDTO> getAllRules() {
+        return ruleRepository.findAllByOrderByTypeAscIdAsc().stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a new rule.
+     */
+    @Transactional
+    public PricingRuleDTO createRule(PricingRuleDTO dto) {
+        PricingRule rule = new PricingRule();
+        apply(rule, dto);
+
+        PricingRule saved = ruleRepository.save(rule);
+        changeVersions.markChanged(ChangeVersion.Region.PRICING);
+        return toDTO(saved);
+    }
+
+    /**
+     * Updates an existing rule.
+     */
+    @Transactional
+    public PricingRuleDTO updateRule(PricingRuleDTO dto) {
+        PricingRule rule = ruleRepository.findById(dto.getId())
+                .orElseThrow(() -> new RuntimeException("Pricing rule not found: " + dto.getId()));
+        apply(rule, dto);
+
+        PricingRule saved = ruleRepository.save(rule);
+        changeVersions.markChanged(ChangeVersion.Region.PRICING);
+        return toDTO(saved);
+    }
+
+    /**
+     * Deletes a rule.
+     */
+    @Transactional
+    public void deleteRule(Long id) {
+        PricingRule rule = ruleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Pricing rule not found: " + id));
+
+        ruleRepository.delete(rule);
+        changeVersions.markChanged(ChangeVersion.Region.PRICING);
+    }
+
+    /**
+     * Checks a rule and copies it onto the entity. Fields that do not belong to
+     * the rule's type are cleared.
+     */
+    private void apply(PricingRule rule, PricingRuleDTO dto) {
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            throw new IllegalArgumentException("A pricing rule needs a name");
+        }
+        if (dto.getType() == null) {
+            throw new IllegalArgumentException("A pricing rule needs a type");
+        }
+        PricingRule.RuleType type = PricingRule.RuleType.valueOf(dto.getType());
+        BigDecimal percent = dto.getPercent();
+        if (percent != null && percent.abs().compareTo(MAX_PERCENT) > 0) {
+            throw new IllegalArgumentException("Percent must be between -" + MAX_PERCENT + " and " + MAX_PERCENT);
+        }
+        if (type != PricingRule.RuleType.SPECIES_WEIGHT && percent == null) {
+            throw new IllegalArgumentException("A " + type + " rule needs a percent");
+        }
+
+        rule.setName(dto.getName());
+        rule.setType(type);
+        rule.setPercent(percent);
+        rule.setActive(dto.getActive() == null || dto.getActive());
+        rule.setServiceId(null);
+        rule.setSpecies(null);
+        rule.setMinWeight(null);
+        rule.setMaxWeight(null);
+        rule.setComboServiceIds(null);
+        rule.setMinVisits(null);
+        rule.setStartTime(null);
+        rule.setEndTime(null);
+        rule.setAmount(null);
+
+        switch (type) {
+            case SPECIES_WEIGHT -> {
+                if (percent == null && dto.getAmount() == null) {
+                    throw new IllegalArgumentException("A SPECIES_WEIGHT rule needs a percent or an amount");
+                }
+                if (dto.getMinWeight() != null && dto.getMaxWeight() != null
+                        && dto.getMinWeight() >= dto.getMaxWeight()) {
+                    throw new IllegalArgumentException("Min weight must be below max weight");
+                }
+                if (dto.getServiceId() != null && !serviceRepository.existsById(dto.getServiceId())) {
+                    throw new RuntimeException("Service not found: " + dto.getServiceId());
+                }
+                rule.setServiceId(dto.getServiceId());
+                rule.setSpecies(dto.getSpecies() == null || dto.getSpecies().isBlank() ? null : dto.getSpecies().trim());
+                rule.setMinWeight(dto.getMinWeight());
+                rule.setMaxWeight(dto.getMaxWeight());
+                rule.setAmount(dto.getAmount());
+            }
+            case COMBO -> {
+                Set<Long> serviceIds = dto.getComboServiceIds() == null
+                        ? Set.of() : new LinkedHashSet<>(dto.getComboServiceIds());
+                if (serviceIds.size() < 2) {
+                    throw new IllegalArgumentException("A combo needs at least two services");
+                }
+                if (serviceRepository.findAllById(serviceIds).size() != serviceIds.size()) {
+                    throw new RuntimeException("Service not found in combo: " + serviceIds);
+                }
+                rule.setComboServiceIds(serviceIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            }
+            case LOYALTY -> {
+                if (dto.getMinVisits() == null || dto.getMinVisits() < 1) {
+                    throw new IllegalArgumentException("A loyalty rule needs at least one visit");
+                }
+                rule.setMinVisits(dto.getMinVisits());
+            }
+            case TIME_OF_DAY -> {
+                // An end of 00:00 is the end of the day
+                if (dto.getStartTime() == null || dto.getEndTime() == null
+                        || PricingEngine.minuteOfDay(dto.getStartTime()) >= PricingEngine.endMinute(dto.getEndTime())) {
+                    throw new IllegalArgumentException("A time-of-day rule needs a start time before its end time "
+                            + "(00:00 for the end of the day)");
+                }
+                rule.setStartTime(dto.getStartTime());
+                rule.setEndTime(dto.getEndTime());
+            }
+        }
+    }
+
+    /**
+     * Converts PricingRule entity to PricingRuleDTO.
+     */
+    private PricingRuleDTO toDTO(PricingRule rule) {
+        return PricingRuleDTO.builder()
+                .id(rule.getId())
+                .name(rule.getName())
+                .type(rule.getType().name())
+                .serviceId(rule.getServiceId())
+                .species(rule.getSpecies())
+                .minWeight(rule.getMinWeight())
+                .maxWeight(rule.getMaxWeight())
+                .comboServiceIds(rule.getComboServiceIds() != null
+                        ? Arrays.stream(PricingEngine.parseIds(rule.getComboServiceIds())).boxed().toList()
+                        : null)
+                .minVisits(rule.getMinVisits())
+                .startTime(rule.getStartTime())
+                .endTime(rule.getEndTime())
+                .percent(rule.getPercent())
+                .amount(rule.getAmount())
+                .active(rule.getActive())
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.petspa.service;
+
+import com.petspa.diagnostics.Monitored;
+import com.petspa.dto.ReportRowDTO;
+import com.petspa.model.Booking;
+import com.petspa.model.User;
+import com.petspa.repository.DailyBookingRollupRepository;
+import com.petspa.repository.DailyServiceRollupRepository;
+import com.petspa.repository.ServiceRepository;
+import com.petspa.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Report Service - Revenue and service-popularity reports read from the daily rollups.
+ * 
+ * Cancelled bookings are excluded from every grouping except "status".
+ */
+@Monitored
+@Service
+@RequiredArgsConstructor
+public class ReportService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private final DailyBookingRollupRepository bookingRollupRepository;
+    private final DailyServiceRollupRepository serviceRollupRepository;
+    private final UserRepository userRepository;
+    private final ServiceRepository serviceRepository;
+
+    /**
+     * Gets an aggregated report for a date range.
+     * 
+     * @param groupBy one of "day", "staff", "species", "status", "service"
+     */
+    public List<ReportRowDTO> getReport(String groupBy, String startDateStr, String endDateStr) {
+        LocalDate startDate = LocalDate.parse(startDateStr, DATE_FORMATTER);
+        LocalDate endDate = LocalDate.parse(endDateStr, DATE_FORMATTER);
+        Booking.BookingStatus cancelled = Booking.BookingStatus.CANCELLED;
+
+        switch (groupBy) {
+            case "day":
+                return toRows(bookingRollupRepository.sumByDay(startDate, endDate, cancelled), Map.of());
+            case "staff":
+                Map<String, String> staffNames = userRepository.findAll().stream()
+                        .collect(Collectors.toMap(user -> String.valueOf(user.getId()), User::getFullName));
+                return toRows(bookingRollupRepository.sumByStaff(startDate, endDate, cancelled), staffNames);
+            case "species":
+                return toRows(bookingRollupRepository.sumBySpecies(startDate, endDate, cancelled), Map.of());
+            case "status":
+                return toRows(bookingRollupRepository.sumByStatus(startDate, endDate), Map.of());
+            case "service":
+                Map<String, String> serviceNames = serviceRepository.findAll().stream()
+                        .collect(Collectors.toMap(service -> String.valueOf(service.getId()),
+                                com.petspa.model.Service::getName));
+                return toRows(serviceRollupRepository.sumByService(startDate, endDate, cancelled), serviceNames);
+            default:
+                throw new RuntimeException("Unknown report grouping: " + groupBy);
+        }
+    }
+
+    private List<ReportRowDTO> toRows(List<Object[]> rows, Map<String, String> labels) {
+        return rows.stream()
+                .map(row -> {
+                    String key = row[0] != null ? String.valueOf(row[0]) : null;
+                    return ReportRowDTO.builder()
+                            .key(key)
+                            .label(key != null ? labels.getOrDefault(key, key) : null)
+                            .count(((Number) row[1]).longValue())
+                            .revenue(row[2] != null ? (BigDecimal) row[2] : BigDecimal.ZERO)
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,46 @@
+package com.petspa.service;
+
+import com.petspa.diagnostics.Monitored;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Background job that rebuilds the rollups of days changed since the last run.
+ * 
+ * Each day is claimed before it is rebuilt, so several terminals running the
+ * job never rebuild the same day twice. A failed day is marked dirty again.
+ */
+@Slf4j
+@Monitored
+@Component
+@RequiredArgsConstructor
+public class RollupJob {
+
+    private final RollupService rollupService;
+
+    /**
+     * Processes dirty days every minute.
+     */
+    @Scheduled(fixedDelay = 60_000, initialDelay = 30_000)
+    public void processDirtyDays() {
+        try {
+            for (LocalDate date : rollupService.findDirtyDays()) {
+                if (!rollupService.claim(date)) {
+                    continue;
+                }
+                try {
+                    rollupService.rebuildDay(date);
+                } catch (Exception e) {
+                    log.error("Failed to rebuild rollups for {}", date, e);
+                    rollupService.markDirty(date);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Rollup job failed", e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.petspa.service;
+
+import com.petspa.diagnostics.Monitored;
+import com.petspa.dto.RollupReconciliationDTO;
+import com.petspa.repository.BookingRepository;
+import com.petspa.repository.DailyBookingRollupRepository;
+import com.petspa.repository.DailyServiceRollupRepository;
+import com.petspa.repository.RollupDirtyDayRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Rollup Service - Maintains the daily rollup tables used by reports.
+ * 
+ * Booking writes call markDirty for every date they touch, in the same
+ * transaction. RollupJob later claims each dirty day and rebuilds only that
+ * day's rollup rows with set-based INSERT ... SELECT statements.
+ */
+@Monitored
+@Service
+@RequiredArgsConstructor
+public class RollupService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    /**
+     * Maximum number of days processed per job run.
+     */
+    public static final int BATCH_DAYS = 100;
+
+    private final RollupDirtyDayRepository dirtyDayRepository;
+    private final DailyBookingRollupRepository bookingRollupRepository;
+    private final DailyServiceRollupRepository serviceRollupRepository;
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Marks a booking date for rollup rebuild.
+     */
+    public void markDirty(LocalDate date) {
+        dirtyDayRepository.markDirty(date);
+    }
+
+    /**
+     * Marks every date of a recurring series for rollup rebuild, in one statement.
+     */
+    public void markSeriesDirty(Long seriesId) {
+        dirtyDayRepository.markSeriesDirty(seriesId);
+    }
+
+    /**
+     * Marks every day with bookings in a range for rollup rebuild (e.g. initial backfill).
+     * 
+     * @return number of days marked
+     */
+    public int markRangeDirty(String startDateStr, String endDateStr) {
+        LocalDate startDate = LocalDate.parse(startDateStr, DATE_FORMATTER);
+        LocalDate endDate = LocalDate.parse(endDateStr, DATE_FORMATTER);
+        return dirtyDayRepository.markRangeDirty(startDate, endDate);
+    }
+
+    /**
+     * Gets the oldest dirty days, up to one job batch.
+     */
+    public List<LocalDate> findDirtyDays() {
+        return dirtyDayRepository.findDirtyDates(PageRequest.of(0, BATCH_DAYS));
+    }
+
+    /**
+     * Claims a dirty day. Returns false if another instance already claimed it.
+     */
+    public boolean claim(LocalDate date) {
+        return dirtyDayRepository.claim(date) == 1;
+    }
+
+    /**
+     * Replaces the rollup rows of a single day.
+     */
+    @Transactional
+    public void rebuildDay(LocalDate date) {
+        bookingRollupRepository.deleteByDate(date);
+        serviceRollupRepository.deleteByDate(date);
+        bookingRollupRepository.insertForDate(date);
+        serviceRollupRepository.insertForDate(date);
+    }
+
+    /**
+     * Compares per-day booking counts and revenue in the rollups against the raw
+     * bookings table and returns the days that disagree.
+     * 
+     * @param repair if true, mismatching days are marked dirty so the job rebuilds them
+     */
+    @Transactional
+    public List<RollupReconciliationDTO> reconcile(String startDateStr, String endDateStr, boolean repair) {
+        LocalDate startDate = LocalDate.parse(startDateStr, DATE_FORMATTER);
+        LocalDate endDate = LocalDate.parse(endDateStr, DATE_FORMATTER);
+
+        Map<LocalDate, Object[]> raw = byDate(bookingRepository.totalsByDay(startDate, endDate));
+        Map<LocalDate, Object[]> rolled = byDate(bookingRollupRepository.totalsByDay(startDate, endDate));
+
+        TreeSet<LocalDate> dates = new TreeSet<>(raw.keySet());
+        dates.addAll(rolled.keySet());
+
+        List<RollupReconciliationDTO> mismatches = new ArrayList<>();
+        for (LocalDate date : dates) {
+            long rawCount = count(raw.get(date));
+            long rollupCount = count(rolled.get(date));
+            BigDecimal rawRevenue = revenue(raw.get(date));
+            BigDecimal rollupRevenue = revenue(rolled.get(date));
+
+            if (rawCount != rollupCount || rawRevenue.compareTo(rollupRevenue) != 0) {
+                mismatches.add(RollupReconciliationDTO.builder()
+                        .date(date)
+                        .rawCount(rawCount)
+                        .rollupCount(rollupCount)
+                        .rawRevenue(rawRevenue)
+                        .rollupRevenue(rollupRevenue)
+                        .build());
+                if (repair) {
+                    markDirty(date);
+                }
+            }
+        }
+        return mismatches;
+    }
+
+    private Map<LocalDate, Object[]> byDate(List<Object[]> rows) {
+        Map<LocalDate, Object[]> result = new HashMap<>();
+        for (Object[] row : rows) {
+            result.put((LocalDate) row[0], row);
+        }
+        return result;
+    }
+
+    private long count(Object[] row) {
+        return row != null ? ((Number) row[1]).longValue() : 0L;
+    }
+
+    private BigDecimal revenue(Object[] row) {
+        return row != null && row[2] != null ? (BigDecimal) row[2] : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,57 @@
+package com.petspa.service;
+
+import com.petspa.diagnostics.Monitored;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalInt;
+
+/**
+ * Rebuilds the materialized staff roster at startup and every night.
+ * 
+ * Running nightly rolls the horizon forward by one day. Every terminal runs
+ * the job, but only the first one each day rebuilds; the others find the
+ * horizon already rolled. Failures are logged and never stop the application
+ * (e.g. before the roster table exists).
+ */
+@Slf4j
+@Monitored
+@Component
+@RequiredArgsConstructor
+public class RosterRefreshJob {
+
+    private final RosterService rosterService;
+
+    /**
+     * Materializes the roster at startup so it is ready before the first query.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rolls the horizon forward every night.
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void nightlyRefresh() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        try {
+            OptionalInt rows = rosterService.rollHorizon();
+            if (rows.isPresent()) {
+                log.info("Staff roster materialized: {} rows until {}", rows.getAsInt(), rosterService.horizonEnd());
+            } else {
+                log.info("Staff roster already materialized until {}", rosterService.horizonEnd());
+            }
+        } catch (Exception e) {
+            log.error("Failed to materialize staff roster", e);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.petspa.service;
+
+import com.petspa.diagnostics.Monitored;
+import com.petspa.dto.RosterEntryDTO;
+import com.petspa.dto.ScheduleOverrideDTO;
+import com.petspa.model.ChangeVersion;
+import com.petspa.model.ScheduleOverride;
+import com.petspa.model.ShiftType;
+import com.petspa.model.StaffRoster;
+import com.petspa.model.StaffSchedule;
+import com.petspa.model.User;
+import com.petspa.repository.ScheduleOverrideRepository;
+import com.petspa.repository.ShiftTypeRepository;
+import com.petspa.repository.StaffRosterRepository;
+import com.petspa.repository.StaffScheduleRepository;
+import com.petspa.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
+
+/**
+ * Roster Service - Materializes weekly StaffSchedule templates into date-specific roster rows.
+ * 
+ * The roster covers a rolling horizon starting today. Rows are rebuilt:
+ * - for one staff member whenever their weekly schedule changes
+ * - for one staff member and date whenever an override is added or removed
+ * - for everyone at startup and every night (RosterRefreshJob), which rolls the horizon forward
+ * - in place for every row of a shift type whose times were edited
+ * 
+ * Every rebuild first locks the ROSTER row of change_versions, so terminals sharing
+ * the database never rebuild the same rows at once. That row's version holds the
+ * epoch day of the last full rebuild, and rollHorizon() skips days already rolled
+ * by another terminal.
+ * 
+ * Availability queries for dates inside the horizon read the roster directly;
+ * dates outside it fall back to the weekly templates.
+ */
+@Monitored
+@Service
+@RequiredArgsConstructor
+public class RosterService {
+
+    /**
+     * Number of days (including today) kept materialized.
+     */
+    public static final int HORIZON_DAYS = 42;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private static final String INSERT_ROSTER_SQL =
+            "INSERT INTO staff_roster (staff_id, shift_type_id, work_date, start_time, end_time, source) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final StaffRosterRepository rosterRepository;
+    private final ScheduleOverrideRepository overrideRepository;
+    private final StaffScheduleRepository scheduleRepository;
+    private final ShiftTypeRepository shiftTypeRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeVersionService changeVersions;
+
+    /**
+     * Gets the first day of the materialized horizon.
+     */
+    public LocalDate horizonStart() {
+        return LocalDate.now();
+    }
+
+    /**
+     * Gets the last day of the materialized horizon.
+     */
+    public LocalDate horizonEnd() {
+        return horizonStart().plusDays(HORIZON_DAYS - 1);
+    }
+
+    /**
+     * Checks whether a date is covered by the materialized roster.
+     */
+    public boolean isMaterialized(LocalDate date) {
+        return !date.isBefore(horizonStart()) && !date.isAfter(horizonEnd());
+    }
+
+    /**
+     * Gets the roster for a specific date.
+     */
+    public List<RosterEntryDTO> getRosterByDate(String dateStr) {
+        LocalDate date = LocalDate.parse(dateStr, DATE_FORMATTER);
+        return rosterRepository.findActiveByWorkDate(date).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the roster entries of staff working at a specific date and time.
+     */
+    public List<StaffRoster> findAvailable(LocalDate date, LocalTime time) {
+        return rosterRepository.findAvailableStaff(date, time);
+    }
+
+    /**
+     * Rebuilds the whole horizon for every staff member.
+     * 
+     * @return number of roster rows written
+     */
+    @Transactional
+    public int refreshAll() {
+        int rows = materialize(null, horizonStart(), horizonEnd());
+        changeVersions.setVersion(ChangeVersion.Region.ROSTER, horizonStart().toEpochDay());
+        return rows;
+    }
+
+    /**
+     * Rebuilds the whole horizon unless a terminal already did so today.
+     * 
+     * @return number of roster rows written, or empty if the horizon was already current
+     */
+    @Transactional
+    public OptionalInt rollHorizon() {
+        long rebuiltFrom = changeVersions.lockVersion(ChangeVersion.Region.ROSTER);
+        if (rebuiltFrom >= horizonStart().toEpochDay()) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(refreshAll());
+    }
+
+    /**
+     * Rebuilds the horizon for one staff member.
+     * 
+     * @return number of roster rows written
+     */
+    @Transactional
+    public int refreshStaff(Long staffId) {
+        return materialize(staffId, horizonStart(), horizonEnd());
+    }
+
+    /**
+     * Rebuilds a single day for one staff member, if that day is inside the horizon.
+     */
+    @Transactional
+    public int refreshStaffDate(Long staffId, LocalDate date) {
+        if (!isMaterialized(date)) {
+            return 0;
+        }
+        return materialize(staffId, date, date);
+    }
+
+    /**
+     * Copies a shift type's new times onto its materialized rows.
+     * 
+     * @return number of roster rows updated
+     */
+    @Transactional
+    public int refreshShiftType(Integer shiftTypeId, LocalTime startTime, LocalTime endTime) {
+        changeVersions.lockVersion(ChangeVersion.Region.ROSTER);
+        return rosterRepository.updateShiftTimes(shiftTypeId, startTime, endTime);
+    }
+
+    /**
+     * Gets overrides for a staff member (or everyone if staffId is null) in a date range.
+     */
+    public List<ScheduleOverrideDTO> getOverrides(Long staffId, String startDateStr, String endDateStr) {
+        LocalDate startDate = LocalDate.parse(startDateStr, DATE_FORMATTER);
+        LocalDate endDate = LocalDate.parse(endDateStr, DATE_FORMATTER);
+        return overrideRepository.findInRange(staffId, startDate, endDate).stream()
+                .map(this::toOverrideDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds a leave or extra-shift override and refreshes the affected roster day.
+     */
+    @Transactional
+    public ScheduleOverrideDTO addOverride(ScheduleOverrideDTO dto) {
+        User staff = userRepository.findById(dto.getStaffId())
+                .orElseThrow(() -> new RuntimeException("Staff not found: " + dto.getStaffId()));
+
+        ScheduleOverride.OverrideType type = ScheduleOverride.OverrideType.valueOf(dto.getType());
+
+        ShiftType shiftType = null;
+        if (dto.getShiftTypeId() != null) {
+            shiftType = shiftTypeRepository.findById(dto.getShiftTypeId())
+                    .orElseThrow(() -> new RuntimeException("Shift type not found: " + dto.getShiftTypeId()));
+        } else if (type == ScheduleOverride.OverrideType.EXTRA_SHIFT) {
+            throw new RuntimeException("Extra shift override requires a shift type");
+        }
+
+        ScheduleOverride override = ScheduleOverride.builder()
+                .staff(staff)
+                .shiftType(shiftType)
+                .workDate(dto.getWorkDate())
+                .type(type)
+                .note(dto.getNote())
+                .build();
+
+        ScheduleOverride saved = overrideRepository.save(override);
+        refreshStaffDate(staff.getId(), saved.getWorkDate());
+        changeVersions.markChanged(ChangeVersion.Region.SCHEDULES);
+        return toOverrideDTO(saved);
+    }
+
+    /**
+     * Removes an override and refreshes the affected roster day.
+     */
+    @Transactional
+    public void removeOverride(Long overrideId) {
+        ScheduleOverride override = overrideRepository.findById(overrideId)
+                .orElseThrow(() -> new RuntimeException("Override not found: " + overrideId));
+
+        Long staffId = override.getStaff().getId();
+        LocalDate date = override.getWorkDate();
+        overrideRepository.delete(override);
+        overrideRepository.flush();
+        refreshStaffDate(staffId, date);
+        changeVersions.markChanged(ChangeVersion.Region.SCHEDULES);
+    }
+
+    /**
+     * Replaces roster rows for the given staff member (or everyone) and date range.
+     */
+    private int materialize(Long staffId, LocalDate startDate, LocalDate endDate) {
+        changeVersions.lockVersion(ChangeVersion.Region.ROSTER);
+        if (staffId != null) {
+            rosterRepository.deleteByStaffAndDateRange(staffId, startDate, endDate);
+        } else {
+            rosterRepository.deleteByDateRange(startDate, endDate);
+        }
+
+        // Weekly templates grouped by ISO day of week
+        Map<Integer, List<StaffSchedule>> templatesByDay = scheduleRepository.findActiveTemplates(staffId).stream()
+                .collect(Collectors.groupingBy(StaffSchedule::getDayOfWeek));
+
+        // Overrides grouped by date
+        Map<LocalDate, List<ScheduleOverride>> overridesByDate = overrideRepository
+                .findInRange(staffId, startDate, endDate).stream()
+                .collect(Collectors.groupingBy(ScheduleOverride::getWorkDate));
+
+        List<Object[]> rows = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            Map<RosterKey, Object[]> dayRows = new LinkedHashMap<>();
+
+            for (StaffSchedule template : templatesByDay.getOrDefault(date.getDayOfWeek().getValue(), List.of())) {
+                Long templateStaffId = template.getStaff().getId();
+                ShiftType shift = template.getShiftType();
+                dayRows.put(new RosterKey(templateStaffId, shift.getId()),
+                        rosterRow(templateStaffId, shift, date, StaffRoster.Source.TEMPLATE));
+            }
+
+            List<ScheduleOverride> overrides = overridesByDate.getOrDefault(date, List.of());
+            // Leave first, then extra shifts, so an extra shift on a leave day still counts
+            for (ScheduleOverride override : overrides) {
+                if (override.getType() == ScheduleOverride.OverrideType.LEAVE) {
+                    Long overrideStaffId = override.getStaff().getId();
+                    Integer shiftTypeId = override.getShiftType() != null ? override.getShiftType().getId() : null;
+                    dayRows.keySet().removeIf(key -> key.staffId().equals(overrideStaffId)
+                            && (shiftTypeId == null || key.shiftTypeId().equals(shiftTypeId)));
+                }
+            }
+            for (ScheduleOverride override : overrides) {
+                if (override.getType() == ScheduleOverride.OverrideType.EXTRA_SHIFT) {
+                    Long overrideStaffId = override.getStaff().getId();
+                    ShiftType shift = override.getShiftType();
+                    dayRows.put(new RosterKey(overrideStaffId, shift.getId()),
+                            rosterRow(overrideStaffId, shift, date, StaffRoster.Source.OVERRIDE));
+                }
+            }
+
+            rows.addAll(dayRows.values());
+        }
+
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ROSTER_SQL, rows);
+        }
+        return rows.size();
+    }
+
+    private Object[] rosterRow(Long staffId, ShiftType shift, LocalDate date, StaffRoster.Source source) {
+        return new Object[] {
+                staffId, shift.getId(), date, shift.getStartTime(), shift.getEndTime(), source.name()
+        };
+    }
+
+    private record RosterKey(Long staffId, Integer shiftTypeId) {}
+
+    /**
+     * Converts StaffRoster entity to DTO.
+     */
+    private RosterEntryDTO toDTO(StaffRoster roster) {
+        return RosterEntryDTO.builder()
+                .id(roster.getId())
+                .staffId(roster.getStaff().getId())
+                .staffName(roster.getStaff().getFullName())
+                .shiftTypeId(roster.getShiftType().getId())
+                .shiftName(roster.getShiftType().getName())
+                .workDate(roster.getWorkDate())
+                .startTime(roster.getStartTime())
+                .endTime(roster.getEndTime())
+                .source(roster.getSource().name())
+                .build();
+    }
+
+    /**
+     * Converts ScheduleOverride entity to DTO.
+     */
+    private ScheduleOverrideDTO toOverrideDTO(ScheduleOverride override) {
+        return ScheduleOverrideDTO.builder()
+                .id(override.getId())
+                .staffId(override.getStaff().getId())
+                .staffName(override.getStaff().getFullName())
+                .shiftTypeId(override.getShiftType() != null ? override.getShiftType().getId() : null)
+                .shiftName(override.getShiftType() != null ? override.getShiftType().getName() : null)
+                .workDate(override.getWorkDate())
+                .type(override.getType().name())
+                .note(override.getNote())
+                .build();
+    }
+}
@@ -1,8 +1,11 @@
 package com.petspa.service;
 
+import com.petspa.diagnostics.Monitored;
+import com.petspa.dto.RosterMatrixDTO;
 import com.petspa.dto.ShiftTypeDTO;
 import com.petspa.dto.StaffScheduleDTO;
 import com.petspa.dto.UserDTO;
+import com.petspa.model.ChangeVersion;
 import com.petspa.model.ShiftType;
 import com.petspa.model.StaffSchedule;
 import com.petspa.model.User;
@@ -10,6 +13,7 @@ import com.petspa.repository.ShiftTypeRepository;
 import com.petspa.repository.StaffScheduleRepository;
 import com.petspa.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,13 +22,20 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Schedule Service - Manages staff schedules and shifts.
  */
+@Monitored
 @Service
 @RequiredArgsConstructor
 public class ScheduleService {
@@ -32,9 +43,15 @@ public class ScheduleService {
     private final StaffScheduleRepository scheduleRepository;
     private final ShiftTypeRepository shiftTypeRepository;
     private final UserRepository userRepository;
+    private final RosterService rosterService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeVersionService changeVersions;
 
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ISO_LOCAL_TIME;
 
+    private static final String INSERT_SCHEDULE_SQL =
+            "INSERT INTO staff_schedule (staff_id, shift_type_id, day_of_week) VALUES (?, ?, ?)";
+
     /**
      * Gets all shift types.
      */
@@ -44,6 +61,31 @@ public class ScheduleService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Changes a shift type's name and times. Roster rows of the shift type take the
+     * new times right away, so availability follows without a rebuild.
+     */
+    @Transactional
+    public ShiftTypeDTO updateShiftType(ShiftTypeDTO dto) {
+        ShiftType shiftType = shiftTypeRepository.findById(dto.getId())
+                .orElseThrow(() -> new RuntimeException("Shift type not found: " + dto.getId()));
+        if (dto.getStartTime() == null || dto.getEndTime() == null
+                || !dto.getStartTime().isBefore(dto.getEndTime())) {
+            throw new RuntimeException("Shift must start before it ends");
+        }
+
+        if (dto.getName() != null) {
+            shiftType.setName(dto.getName());
+        }
+        shiftType.setStartTime(dto.getStartTime());
+        shiftType.setEndTime(dto.getEndTime());
+        ShiftType saved = shiftTypeRepository.save(shiftType);
+
+        rosterService.refreshShiftType(saved.getId(), saved.getStartTime(), saved.getEndTime());
+        changeVersions.markChanged(ChangeVersion.Region.SCHEDULES);
+        return toShiftTypeDTO(saved);
+    }
+
     /**
      * Gets schedule for a specific staff member.
      */
@@ -53,13 +95,64 @@ public class ScheduleService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Gets the weekly schedule of every active staff member as a compact matrix.
+     * 
+     * All staff and their cells come from a single query; shift types are sent
+     * once as a dictionary and each staff/day is a bitmask over that dictionary,
+     * split into 32-bit words so any number of shift types fits.
+     */
+    public RosterMatrixDTO getRosterMatrix() {
+        List<ShiftTypeDTO> shiftTypes = getAllShiftTypes();
+        Map<Integer, Integer> bitByShiftType = new HashMap<>();
+        for (int i = 0; i < shiftTypes.size(); i++) {
+            bitByShiftType.put(shiftTypes.get(i).getId(), i);
+        }
+
+        List<RosterMatrixDTO.StaffRef> staff = new ArrayList<>();
+        List<int[][]> masks = new ArrayList<>();
+        int words = Math.max(1, (shiftTypes.size() + Integer.SIZE - 1) / Integer.SIZE);
+        Long lastStaffId = null;
+        int[][] week = null;
+
+        for (Object[] row : scheduleRepository.findMatrixRows(User.Role.STAFF)) {
+            Long staffId = (Long) row[0];
+            if (!staffId.equals(lastStaffId)) {
+                staff.add(new RosterMatrixDTO.StaffRef(staffId, (String) row[1]));
+                week = new int[7][words];
+                masks.add(week);
+                lastStaffId = staffId;
+            }
+            Integer dayOfWeek = (Integer) row[2];
+            Integer bit = bitByShiftType.get((Integer) row[3]);
+            if (dayOfWeek != null && bit != null) {
+                week[dayOfWeek - 1][bit / Integer.SIZE] |= 1 << (bit % Integer.SIZE);
+            }
+        }
+
+        return RosterMatrixDTO.builder()
+                .shiftTypes(shiftTypes)
+                .staff(staff)
+                .masks(masks.toArray(new int[0][][]))
+                .build();
+    }
+
     /**
      * Gets available staff for a specific date and time.
+     * Dates inside the roster horizon are answered from the materialized roster
+     * (which includes leave and extra shifts); other dates use the weekly templates.
      */
     public List<UserDTO> getAvailableStaff(String dateStr, String timeStr) {
         LocalDate date = LocalDate.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE);
         LocalTime time = LocalTime.parse(timeStr, TIME_FORMATTER);
         
+        if (rosterService.isMaterialized(date)) {
+            return rosterService.findAvailable(date, time).stream()
+                    .map(roster -> toUserDTO(roster.getStaff()))
+                    .distinct()
+                    .collect(Collectors.toList());
+        }
+        
         // Get day of week (1 = Monday, 7 = Sunday)
         int dayOfWeek = date.getDayOfWeek().getValue();
         
@@ -103,18 +196,132 @@ public class ScheduleService {
                 .build();
 
         StaffSchedule saved = scheduleRepository.save(schedule);
+        rosterService.refreshStaff(staff.getId());
+        changeVersions.markChanged(ChangeVersion.Region.SCHEDULES);
         return toDTO(saved);
     }
 
+    /**
+     * Replaces the weekly grid of one staff member (or of every active staff member,
+     * as shown by getRosterMatrix, if staffId is null) with the desired cells. Rows of
+     * admins and inactive staff are never touched.
+     * 
+     * The desired cells are diffed against the current rows: missing cells are
+     * inserted in one JDBC batch and extra rows are deleted in one statement,
+     * all in a single transaction. Unchanged rows keep their IDs.
+     * 
+     * @param staffId the staff member whose grid is saved, or null for all staff
+     * @param desiredCells cells with staffId, dayOfWeek and shiftTypeId
+     * @return the new grid
+     */
+    @Transactional
+    public List<StaffScheduleDTO> saveWeeklyGrid(Long staffId, List<StaffScheduleDTO> desiredCells) {
+        Set<GridCell> desired = new HashSet<>();
+        for (StaffScheduleDTO cell : desiredCells) {
+            Long cellStaffId = cell.getStaffId() != null ? cell.getStaffId() : staffId;
+            if (cellStaffId == null) {
+                throw new RuntimeException("Grid cell is missing a staff ID");
+            }
+            if (staffId != null && !staffId.equals(cellStaffId)) {
+                throw new RuntimeException("Grid cell belongs to another staff member: " + cellStaffId);
+            }
+            if (cell.getDayOfWeek() == null || cell.getDayOfWeek() < 1 || cell.getDayOfWeek() > 7) {
+                throw new RuntimeException("Invalid day of week: " + cell.getDayOfWeek());
+            }
+            if (cell.getShiftTypeId() == null) {
+                throw new RuntimeException("Grid cell is missing a shift type ID");
+            }
+            desired.add(new GridCell(cellStaffId, cell.getDayOfWeek(), cell.getShiftTypeId()));
+        }
+
+        validateGridReferences(desired);
+
+        Map<GridCell, Long> current = scheduleRepository.findGrid(staffId, User.Role.STAFF).stream()
+                .collect(Collectors.toMap(
+                        schedule -> new GridCell(schedule.getStaff().getId(),
+                                schedule.getDayOfWeek(), schedule.getShiftType().getId()),
+                        StaffSchedule::getId));
+
+        List<Long> toDelete = current.entrySet().stream()
+                .filter(entry -> !desired.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+
+        List<Object[]> toInsert = new ArrayList<>();
+        for (GridCell cell : desired) {
+            if (!current.containsKey(cell)) {
+                toInsert.add(new Object[] { cell.staffId(), cell.shiftTypeId(), cell.dayOfWeek() });
+            }
+        }
+
+        if (!toDelete.isEmpty()) {
+            scheduleRepository.deleteAllByIdInBatch(toDelete);
+        }
+        if (!toInsert.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SCHEDULE_SQL, toInsert);
+        }
+
+        if (!toDelete.isEmpty() || !toInsert.isEmpty()) {
+            if (staffId != null) {
+                rosterService.refreshStaff(staffId);
+            } else {
+                rosterService.refreshAll();
+            }
+        }
+
+        changeVersions.markChanged(ChangeVersion.Region.SCHEDULES);
+        return scheduleRepository.findGrid(staffId, User.Role.STAFF).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks that every staff member referenced by the grid is an active STAFF user
+     * and every shift type exists, using one query per table.
+     */
+    private void validateGridReferences(Set<GridCell> cells) {
+        Set<Long> staffIds = cells.stream().map(GridCell::staffId).collect(Collectors.toSet());
+        Set<Integer> shiftTypeIds = cells.stream().map(GridCell::shiftTypeId).collect(Collectors.toSet());
+
+        Map<Long, User> staffById = userRepository.findAllById(staffIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        for (Long id : staffIds) {
+            User staff = staffById.get(id);
+            if (staff == null) {
+                throw new RuntimeException("Staff not found: " + id);
+            }
+            if (staff.getRole() != User.Role.STAFF || !Boolean.TRUE.equals(staff.getIsActive())) {
+                throw new RuntimeException("Not an active staff member: " + id);
+            }
+        }
+
+        Set<Integer> knownShiftTypes = shiftTypeRepository.findAllById(shiftTypeIds).stream()
+                .map(ShiftType::getId)
+                .collect(Collectors.toSet());
+        for (Integer id : shiftTypeIds) {
+            if (!knownShiftTypes.contains(id)) {
+                throw new RuntimeException("Shift type not found: " + id);
+            }
+        }
+    }
+
+    /**
+     * One cell of the staff x day x shift grid.
+     */
+    private record GridCell(Long staffId, Integer dayOfWeek, Integer shiftTypeId) {}
+
     /**
      * Removes a schedule entry.
      */
     @Transactional
     public void removeSchedule(Long scheduleId) {
-        if (!scheduleRepository.existsById(scheduleId)) {
-            throw new RuntimeException("Schedule not found: " + scheduleId);
-        }
-        scheduleRepository.deleteById(scheduleId);
+        StaffSchedule schedule = scheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new RuntimeException("Schedule not found: " + scheduleId));
+        Long staffId = schedule.getStaff().getId();
+        scheduleRepository.delete(schedule);
+        scheduleRepository.flush();
+        rosterService.refreshStaff(staffId);
+        changeVersions.markChanged(ChangeVersion.Region.SCHEDULES);
     }
 
     /**
@@ -123,6 +330,9 @@ public class ScheduleService {
     @Transactional
     public void clearStaffSchedule(Long staffId) {
         scheduleRepository.deleteByStaffId(staffId);
+        scheduleRepository.flush();
+        rosterService.refreshStaff(staffId);
+        changeVersions.markChanged(ChangeVersion.Region.SCHEDULES);
     }
 
     /**
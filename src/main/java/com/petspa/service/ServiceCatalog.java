@@ -0,0 +1,81 @@
+package com.petspa.service;
+
+import com.petspa.dto.BookingDetailDTO;
+import com.petspa.model.ChangeVersion;
+import com.petspa.repository.ServiceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service Catalog - In-memory price list of all services, for pricing new bookings.
+ *
+ * Loaded with one query on first use and reloaded on next use once the services
+ * changed, here or on another terminal (see ChangeVersionService.knownChanges).
+ * Creating a booking looks its services up here instead of one findById per line.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceCatalog {
+
+    private final ServiceRepository serviceRepository;
+    private final ChangeVersionService changeVersions;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Looks up the services of booking lines, in line order.
+     * Throws if one does not exist.
+     */
+    public List<Entry> resolve(List<BookingDetailDTO> details) {
+        if (details == null || details.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Entry> byId = current(false).byId();
+        for (BookingDetailDTO detail : details) {
+            if (!byId.containsKey(detail.getServiceId())) {
+                // Reload once, in case the service was written without a change bump (e.g. imported)
+                byId = current(true).byId();
+                break;
+            }
+        }
+        List<Entry> entries = new ArrayList<>(details.size());
+        for (BookingDetailDTO detail : details) {
+            Entry entry = byId.get(detail.getServiceId());
+            if (entry == null) {
+                throw new RuntimeException("Service not found: " + detail.getServiceId());
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private Snapshot current(boolean reload) {
+        // Read before loading, so a change during the load triggers another one
+        long changes = changeVersions.knownChanges(ChangeVersion.Region.SERVICES);
+        Snapshot current = snapshot;
+        if (!reload && current != null && current.changes() == changes) {
+            return current;
+        }
+        Map<Long, Entry> byId = new HashMap<>();
+        for (com.petspa.model.Service service : serviceRepository.findAll()) {
+            byId.put(service.getId(), new Entry(service.getId(), service.getName(),
+                    service.getPrice(), service.getDurationMinutes()));
+        }
+        current = new Snapshot(changes, Map.copyOf(byId));
+        snapshot = current;
+        return current;
+    }
+
+    /**
+     * What a booking line needs of a service.
+     */
+    public record Entry(Long id, String name, BigDecimal price, Integer durationMinutes) {}
+
+    private record Snapshot(long changes, Map<Long, Entry> byId) {}
+}
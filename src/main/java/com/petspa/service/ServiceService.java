@@ -1,6 +1,8 @@
 package com.petspa.service;
 
+import com.petspa.diagnostics.Monitored;
 import com.petspa.dto.ServiceDTO;
+import com.petspa.model.ChangeVersion;
 import com.petspa.model.Service;
 import com.petspa.repository.ServiceRepository;
 import lombok.RequiredArgsConstructor;
@@ -14,18 +16,20 @@ import java.util.stream.Collectors;
  * 
  * Note: Named "ServiceService" because "Service" is the entity name.
  */
+@Monitored
 @org.springframework.stereotype.Service
 @RequiredArgsConstructor
 public class ServiceService {
 
     private final ServiceRepository serviceRepository;
+    private final ChangeVersionService changeVersions;
 
     /**
      * Gets all services.
      */
     public List<ServiceDTO> getAllServices() {
         return serviceRepository.findAll().stream()
-                .map(this::toDTO)
+                .map(this::toListDTO)
                 .collect(Collectors.toList());
     }
 
@@ -34,13 +38,14 @@ public class ServiceService {
      */
     public List<ServiceDTO> getAllActiveServices() {
         return serviceRepository.findByIsActiveTrue().stream()
-                .map(this::toDTO)
+                .map(this::toListDTO)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Gets a service by ID.
+     * Gets a service by ID, with its description.
      */
+    @Transactional(readOnly = true)
     public ServiceDTO getServiceById(Long id) {
         return serviceRepository.findById(id)
                 .map(this::toDTO)
@@ -61,6 +66,7 @@ public class ServiceService {
                 .build();
 
         Service saved = serviceRepository.save(service);
+        changeVersions.markChanged(ChangeVersion.Region.SERVICES);
         return toDTO(saved);
     }
 
@@ -82,6 +88,7 @@ public class ServiceService {
         }
 
         Service saved = serviceRepository.save(service);
+        changeVersions.markChanged(ChangeVersion.Region.SERVICES);
         return toDTO(saved);
     }
 
@@ -95,16 +102,25 @@ public class ServiceService {
         
         service.setIsActive(false);
         serviceRepository.save(service);
+        changeVersions.markChanged(ChangeVersion.Region.SERVICES);
     }
 
     /**
      * Converts Service entity to ServiceDTO.
      */
     private ServiceDTO toDTO(Service service) {
+        ServiceDTO dto = toListDTO(service);
+        dto.setDescription(service.getDescription());
+        return dto;
+    }
+
+    /**
+     * Converts Service entity to ServiceDTO for lists, without the lazily loaded description.
+     */
+    private ServiceDTO toListDTO(Service service) {
         return ServiceDTO.builder()
                 .id(service.getId())
                 .name(service.getName())
-                .description(service.getDescription())
                 .price(service.getPrice())
                 .durationMinutes(service.getDurationMinutes())
                 .isActive(service.getIsActive())
@@ -1,6 +1,8 @@
 package com.petspa.service;
 
+import com.petspa.diagnostics.Monitored;
 import com.petspa.dto.UserDTO;
+import com.petspa.model.ChangeVersion;
 import com.petspa.model.User;
 import com.petspa.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,11 +15,13 @@ import java.util.stream.Collectors;
 /**
  * User Service - Manages Admin and Staff accounts.
  */
+@Monitored
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
+    private final ChangeVersionService changeVersions;
 
     /**
      * Gets all users.
@@ -74,6 +78,7 @@ public class UserService {
                 .build();
 
         User saved = userRepository.save(user);
+        changeVersions.markChanged(ChangeVersion.Region.USERS);
         return toDTO(saved);
     }
 
@@ -97,6 +102,7 @@ public class UserService {
         }
 
         User saved = userRepository.save(user);
+        changeVersions.markChanged(ChangeVersion.Region.USERS);
         return toDTO(saved);
     }
 
@@ -110,6 +116,7 @@ public class UserService {
         
         user.setIsActive(false);
         userRepository.save(user);
+        changeVersions.markChanged(ChangeVersion.Region.USERS);
     }
 
     /**
@@ -122,6 +129,7 @@ public class UserService {
         
         user.setIsActive(true);
         userRepository.save(user);
+        changeVersions.markChanged(ChangeVersion.Region.USERS);
     }
 
     /**
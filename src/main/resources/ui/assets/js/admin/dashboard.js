@@ -1,6 +1,7 @@
 let currentUser = null;
 let currentPage = 'dashboard';
 let componentsInitialized = false;
+let todayBookings = null;
 
 // Initialize when DOM is ready
 document.addEventListener('DOMContentLoaded', () => {
@@ -53,7 +54,8 @@ function handleNavigation(page) {
         'services': 'services.html',
         'clients': 'clients.html',
         'staff': 'staff.html',
-        'workshifts': 'workshifts.html'
+        'workshifts': 'workshifts.html',
+        'diagnostics': 'diagnostics.html'
     };
     
     const route = pageRoutes[page];
@@ -94,15 +96,20 @@ function updateUserDisplay() {
 
 async function loadDashboardData() {
     try {
-        // Load today's bookings
         const today = getTodayISO();
-        const bookingsResult = await callBridge('getBookingsByDate', today);
         
+        // Today's counters come pre-aggregated from the server
+        const snapshotResult = await callBridge('getDashboardSnapshot', today);
+        if (snapshotResult.success && snapshotResult.data) {
+            updateTodayCounters(snapshotResult.data);
+        }
+        
+        // Today's bookings for the schedule list; refreshes only fetch what changed
+        if (!todayBookings || todayBookings.date !== today) {
+            todayBookings = new BookingDayStore(today);
+        }
+        const bookingsResult = await todayBookings.refresh();
         if (bookingsResult.success) {
-            document.getElementById('todayBookings').textContent = 
-                bookingsResult.data ? bookingsResult.data.length : 0;
-            
-            // Update schedule display
             updateTodaySchedule(bookingsResult.data || []);
         }
         
@@ -131,6 +138,23 @@ async function loadDashboardData() {
     }
 }
 
+/**
+ * Updates today's counter cards from a dashboard snapshot.
+ * @param {Object} snapshot - DashboardSnapshotDTO for today
+ */
+function updateTodayCounters(snapshot) {
+    const setText = (id, value) => {
+        const el = document.getElementById(id);
+        if (el) el.textContent = value;
+    };
+    
+    const byStatus = snapshot.bookingsByStatus || {};
+    setText('todayBookings', snapshot.totalBookings - (byStatus.CANCELLED || 0));
+    setText('pendingBookings', byStatus.PENDING || 0);
+    setText('todayRevenue', formatCurrency(snapshot.bookedRevenue));
+    setText('busyStaff', Object.keys(snapshot.staffLoad || {}).length);
+}
+
 /**
  * Updates today's schedule display.
  * @param {Array} bookings - List of bookings for today
@@ -0,0 +1,281 @@
+/**
+ * PetSpa Admin - Diagnostics
+ * Shows the slow-query log and Hibernate statistics
+ */
+
+let currentUser = null;
+let componentsInitialized = false;
+
+// =============================================================================
+// INITIALIZATION
+// =============================================================================
+
+document.addEventListener('DOMContentLoaded', () => {
+    initDiagnosticsPage();
+});
+
+document.addEventListener('bridgeReady', () => {
+    initDiagnosticsPage();
+});
+
+async function initDiagnosticsPage() {
+    if (componentsInitialized) return;
+    if (!window.javaBridge) return;
+    
+    componentsInitialized = true;
+    
+    try {
+        // Load sidebar and header components
+        await loadComponents([
+            { 
+                path: '../components/admin_sidebar.html', 
+                target: 'sidebar',
+                callback: () => initSidebarNavigation('diagnostics', handleNavigation)
+            },
+            { 
+                path: '../components/admin_header.html', 
+                target: 'header'
+            }
+        ]);
+        
+        // Set page title
+        const pageTitle = document.getElementById('pageTitle');
+        if (pageTitle) {
+            pageTitle.textContent = 'Diagnostics';
+        }
+        
+        // Initialize page
+        await initializePage();
+        setupEventListeners();
+        
+    } catch (error) {
+        console.error('Error initializing diagnostics page:', error);
+    }
+}
+
+async function initializePage() {
+    try {
+        await waitForBridge();
+        
+        // Get current user
+        const userResult = await callBridge('getCurrentUser');
+        if (userResult.success) {
+            currentUser = userResult.data;
+            updateUserDisplay();
+        } else {
+            window.javaBridge.navigateTo('index.html');
+            return;
+        }
+        
+        await loadDiagnostics();
+        
+    } catch (error) {
+        console.error('Page initialization error:', error);
+    }
+}
+
+function updateUserDisplay() {
+    const userNameEl = document.getElementById('currentUserName');
+    if (userNameEl && currentUser) {
+        userNameEl.textContent = currentUser.fullName;
+    }
+}
+
+// =============================================================================
+// NAVIGATION
+// =============================================================================
+
+function handleNavigation(page) {
+    const pageRoutes = {
+        'dashboard': 'dashboard.html',
+        'bookings': 'bookings.html',
+        'pets': 'pets.html',
+        'services': 'services.html',
+        'clients': 'clients.html',
+        'staff': 'staff.html',
+        'workshifts': 'workshifts.html',
+        'diagnostics': 'diagnostics.html'
+    };
+    
+    const route = pageRoutes[page];
+    if (route && window.javaBridge) {
+        window.javaBridge.navigateTo(`admin/${route}`);
+    }
+}
+
+// =============================================================================
+// DIAGNOSTICS
+// =============================================================================
+
+async function loadDiagnostics() {
+    try {
+        const result = await callBridge('getDiagnostics');
+        if (result.success && result.data) {
+            renderDiagnostics(result.data);
+        } else {
+            alert('Error: ' + result.message);
+        }
+    } catch (error) {
+        console.error('Error loading diagnostics:', error);
+    }
+}
+
+function renderDiagnostics(data) {
+    setText('statisticsSince', data.statisticsEnabled
+        ? `Hibernate statistics since ${formatTimestamp(data.statisticsSince)}.`
+        : 'Hibernate statistics are turned off (petspa.hibernate-statistics).');
+    setText('entityLoads', data.entityLoads);
+    setText('entityFetches', data.entityFetches);
+    setText('collectionFetches', data.collectionFetches);
+    setText('preparedStatements', data.preparedStatements);
+    setText('queryExecutions', data.queryExecutions);
+    setText('queryExecutionMax', data.queryExecutionMaxMillis + ' ms');
+    setText('cacheHitRatio', data.secondLevelCacheHitRatio == null
+        ? '-'
+        : Math.round(data.secondLevelCacheHitRatio * 100) + '%');
+    setText('slowQueryCount', data.slowQueries.length);
+    setText('slowQueryThreshold', data.slowQueryThresholdMillis);
+
+    renderConnectionPool(data.connectionPool);
+
+    renderRows('slowQueriesBody', data.slowQueries, query => `
+        <td class="px-6 py-4 text-sm text-text-muted whitespace-nowrap">${formatTimestamp(query.executedAt)}</td>
+        <td class="px-6 py-4 text-sm font-bold text-text-main dark:text-white">${escapeHtml(query.caller || '-')}</td>
+        <td class="px-6 py-4 text-xs text-text-muted font-mono break-all">${escapeHtml(query.sql)}</td>
+        <td class="px-6 py-4 text-sm text-text-muted">${query.bindCount}</td>
+        <td class="px-6 py-4 text-sm font-bold text-text-main dark:text-white">${query.durationMillis} ms</td>
+    `, 'No slow queries logged.');
+
+    renderRows('queriesBody', data.queries, query => `
+        <td class="px-6 py-4 text-xs text-text-muted font-mono break-all">${escapeHtml(query.query)}</td>
+        <td class="px-6 py-4 text-sm text-text-muted">${query.executions}</td>
+        <td class="px-6 py-4 text-sm text-text-muted">${query.averageMillis} ms</td>
+        <td class="px-6 py-4 text-sm font-bold text-text-main dark:text-white">${query.maxMillis} ms</td>
+        <td class="px-6 py-4 text-sm text-text-muted">${query.rows}</td>
+    `, 'No queries executed yet.');
+
+    const fetches = data.entities.map(entity => ({ name: entity.entity, loads: entity.loads, fetches: entity.fetches }))
+        .concat(data.collections.map(collection => ({ name: collection.role, loads: collection.loads, fetches: collection.fetches })))
+        .filter(row => row.loads > 0 || row.fetches > 0)
+        .sort((a, b) => b.fetches - a.fetches);
+    renderRows('fetchesBody', fetches, row => `
+        <td class="px-6 py-4 text-sm font-bold text-text-main dark:text-white">${escapeHtml(row.name)}</td>
+        <td class="px-6 py-4 text-sm text-text-muted">${row.loads}</td>
+        <td class="px-6 py-4 text-sm text-text-muted">${row.fetches}</td>
+    `, 'Nothing loaded yet.');
+}
+
+function renderConnectionPool(pool) {
+    if (!pool) {
+        setText('poolMode', 'The DataSource is not a Hikari pool.');
+        renderRows('acquireHistogramBody', [], null, 'No pool statistics.');
+        return;
+    }
+    setText('poolActive', pool.active);
+    setText('poolIdle', pool.idle);
+    setText('poolPending', pool.pending);
+    setText('poolSize', `${pool.total} / ${pool.maximumPoolSize}`);
+    setText('poolAcquisitions', pool.acquisitions);
+    setText('poolAcquireMax', pool.acquireMaxMillis + ' ms');
+    setText('poolTimeouts', pool.timeouts);
+    setText('poolCreated', pool.connectionsCreated);
+    setText('poolMode', `Pool ${pool.poolName}: minimum idle ${pool.minimumIdle}, `
+        + (pool.adaptive ? 'sized adaptively from acquire times.' : 'fixed size.'));
+
+    renderRows('acquireHistogramBody', pool.acquireHistogram.filter(bucket => bucket.count > 0), bucket => `
+        <td class="px-6 py-4 text-sm font-bold text-text-main dark:text-white">${bucket.label}</td>
+        <td class="px-6 py-4 text-sm text-text-muted">${bucket.count}</td>
+        <td class="px-6 py-4 text-sm text-text-muted">${Math.round(bucket.count * 100 / pool.acquisitions)}%</td>
+    `, 'No connections borrowed yet.');
+}
+
+function renderRows(tbodyId, rows, renderCells, emptyText) {
+    const tbody = document.getElementById(tbodyId);
+    if (!tbody) return;
+    
+    if (!rows || rows.length === 0) {
+        tbody.innerHTML = `<tr><td class="px-6 py-4 text-sm text-text-muted" colspan="5">${emptyText}</td></tr>`;
+        return;
+    }
+    tbody.innerHTML = rows.map(row =>
+        `<tr class="hover:bg-slate-50 dark:hover:bg-gray-800/50 transition-colors">${renderCells(row)}</tr>`
+    ).join('');
+}
+
+async function resetDiagnostics() {
+    if (!confirm('Clear the slow-query log and restart the statistics?')) {
+        return;
+    }
+    try {
+        const result = await callBridge('resetDiagnostics');
+        if (result.success) {
+            await loadDiagnostics();
+        } else {
+            alert('Error: ' + result.message);
+        }
+    } catch (error) {
+        console.error('Error resetting diagnostics:', error);
+    }
+}
+
+// =============================================================================
+// EVENT LISTENERS
+// =============================================================================
+
+function setupEventListeners() {
+    const refreshBtn = document.getElementById('refreshBtn');
+    if (refreshBtn) {
+        refreshBtn.addEventListener('click', loadDiagnostics);
+    }
+    
+    const resetBtn = document.getElementById('resetBtn');
+    if (resetBtn) {
+        resetBtn.addEventListener('click', resetDiagnostics);
+    }
+    
+    setupLogout();
+}
+
+// =============================================================================
+// LOGOUT
+// =============================================================================
+
+function setupLogout() {
+    const logoutBtn = document.getElementById('logoutBtn');
+    if (logoutBtn) {
+        logoutBtn.addEventListener('click', async (e) => {
+            e.preventDefault();
+            try {
+                await callBridge('logout');
+                window.javaBridge.navigateTo('index.html');
+            } catch (error) {
+                console.error('Logout error:', error);
+            }
+        });
+    }
+}
+
+// =============================================================================
+// UTILITIES
+// =============================================================================
+
+function setText(elementId, value) {
+    const element = document.getElementById(elementId);
+    if (element) {
+        element.textContent = value;
+    }
+}
+
+function formatTimestamp(value) {
+    if (!value) return '-';
+    return value.replace('T', ' ').substring(0, 19);
+}
+
+function escapeHtml(text) {
+    if (!text) return '';
+    const div = document.createElement('div');
+    div.textContent = text;
+    return div.innerHTML;
+}
+
+console.log('Diagnostics Admin JS loaded');
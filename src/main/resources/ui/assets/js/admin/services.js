@@ -95,7 +95,8 @@ function handleNavigation(page) {
         'services': 'services.html',
         'clients': 'clients.html',
         'staff': 'staff.html',
-        'workshifts': 'workshifts.html'
+        'workshifts': 'workshifts.html',
+        'diagnostics': 'diagnostics.html'
     };
     
     const route = pageRoutes[page];
@@ -350,9 +351,9 @@ async function handleServiceSubmit(e) {
         let result;
         if (serviceId) {
             serviceData.id = serviceId;
-            result = await callBridge('updateService', JSON.stringify(serviceData));
+            result = await callBridge('updateService', serviceData);
         } else {
-            result = await callBridge('createService', JSON.stringify(serviceData));
+            result = await callBridge('createService', serviceData);
         }
         
         if (result.success) {
@@ -369,9 +370,12 @@ async function handleServiceSubmit(e) {
 
 async function editService(id) {
     const service = services.find(s => s.id == id);
-    if (service) {
-        openServiceModal(service);
+    if (!service) {
+        return;
     }
+    // The list leaves descriptions out; load the full service for the form
+    const result = await callBridge('getService', service.id);
+    openServiceModal(result.success ? result.data : service);
 }
 
 async function deleteService(id) {
@@ -4,9 +4,9 @@
  */
 
 let currentUser = null;
-let schedules = [];
 let staffList = [];
 let shiftTypes = [];
+let rosterMasks = [];   // rosterMasks[staffIndex][isoDay - 1] = bitmask words over shiftTypes
 let componentsInitialized = false;
 
 // Current calendar state
@@ -74,11 +74,7 @@ async function initializePage() {
             return;
         }
         
-        // Load initial data
-        await loadStaffList();
-        await loadShiftTypes();
-        
-        // Render calendar
+        // Render calendar, then fill it from a single roster matrix call
         renderCalendar();
         await loadSchedules();
         
@@ -106,7 +102,8 @@ function handleNavigation(page) {
         'services': 'services.html',
         'clients': 'clients.html',
         'staff': 'staff.html',
-        'workshifts': 'workshifts.html'
+        'workshifts': 'workshifts.html',
+        'diagnostics': 'diagnostics.html'
     };
     
     const route = pageRoutes[page];
@@ -119,59 +116,19 @@ function handleNavigation(page) {
 // DATA LOADING
 // =============================================================================
 
-async function loadStaffList() {
+/**
+ * Loads staff, shift types and the weekly schedule in one bridge call.
+ */
+async function loadSchedules() {
     try {
-        const result = await callBridge('getAllUsers');
+        const result = await callBridge('getRosterMatrix');
         if (result.success && result.data) {
-            // Filter only active staff members
-            staffList = result.data.filter(u => u.role === 'STAFF' && u.isActive !== false);
+            staffList = result.data.staff || [];
+            shiftTypes = result.data.shiftTypes || [];
+            rosterMasks = result.data.masks || [];
             populateStaffSelect();
-        }
-    } catch (error) {
-        console.error('Error loading staff list:', error);
-    }
-}
-
-async function loadShiftTypes() {
-    try {
-        const result = await callBridge('getAllShiftTypes');
-        if (result.success && result.data) {
-            shiftTypes = result.data;
             populateShiftTypeSelect();
         }
-    } catch (error) {
-        console.error('Error loading shift types:', error);
-        // Fallback default shift types
-        shiftTypes = [
-            { id: 1, name: 'Morning', startTime: '08:00', endTime: '12:00' },
-            { id: 2, name: 'Afternoon', startTime: '13:00', endTime: '17:00' },
-            { id: 3, name: 'Full Day', startTime: '08:00', endTime: '17:00' }
-        ];
-        populateShiftTypeSelect();
-    }
-}
-
-async function loadSchedules() {
-    try {
-        // Load schedules for current month
-        const startDate = new Date(currentYear, currentMonth, 1);
-        const endDate = new Date(currentYear, currentMonth + 1, 0);
-        
-        // For now, we'll load all staff schedules
-        // You may need to add a bridge method for date range filtering
-        schedules = [];
-        
-        for (const staff of staffList) {
-            const result = await callBridge('getStaffSchedule', staff.id);
-            if (result.success && result.data) {
-                result.data.forEach(schedule => {
-                    schedules.push({
-                        ...schedule,
-                        staffName: staff.fullName
-                    });
-                });
-            }
-        }
         
         renderSchedulesOnCalendar();
         
@@ -286,23 +243,26 @@ function renderSchedulesOnCalendar() {
         container.innerHTML = '';
     });
     
-    // Group schedules by date
-    schedules.forEach(schedule => {
-        if (!schedule.workDate) return;
-        
-        const scheduleDate = new Date(schedule.workDate);
-        if (scheduleDate.getFullYear() !== currentYear || scheduleDate.getMonth() !== currentMonth) {
-            return;
-        }
-        
-        const day = scheduleDate.getDate();
-        const containers = document.querySelectorAll(`.shifts-container[data-day="${day}"]`);
+    // Expand the weekly matrix onto this month's days
+    document.querySelectorAll('.calendar-day[data-other-month="false"] .shifts-container').forEach(container => {
+        const day = parseInt(container.dataset.day);
+        const jsDay = new Date(currentYear, currentMonth, day).getDay();
+        const isoDayIndex = (jsDay + 6) % 7; // Monday = 0 ... Sunday = 6
         
-        containers.forEach(container => {
-            if (container.closest('.calendar-day').dataset.otherMonth === 'true') return;
+        rosterMasks.forEach((week, staffIndex) => {
+            const mask = week[isoDayIndex];
+            if (!mask || mask.every(word => word === 0)) return;
             
-            const shiftBadge = createShiftBadge(schedule);
-            container.appendChild(shiftBadge);
+            shiftTypes.forEach((shift, bit) => {
+                if ((mask[bit >> 5] >>> (bit & 31)) & 1) {
+                    const badge = createShiftBadge({
+                        staffName: staffList[staffIndex].fullName,
+                        shiftTypeName: shift.name
+                    });
+                    badge.addEventListener('click', () => removeShift(staffIndex, isoDayIndex + 1, shift));
+                    container.appendChild(badge);
+                }
+            });
         });
     });
 }
@@ -341,7 +301,7 @@ function setupEventListeners() {
             currentYear--;
         }
         renderCalendar();
-        loadSchedules();
+        renderSchedulesOnCalendar();
     });
     
     document.getElementById('nextMonthBtn')?.addEventListener('click', () => {
@@ -351,7 +311,7 @@ function setupEventListeners() {
             currentYear++;
         }
         renderCalendar();
-        loadSchedules();
+        renderSchedulesOnCalendar();
     });
     
     document.getElementById('todayBtn')?.addEventListener('click', () => {
@@ -359,7 +319,7 @@ function setupEventListeners() {
         currentYear = today.getFullYear();
         currentMonth = today.getMonth();
         renderCalendar();
-        loadSchedules();
+        renderSchedulesOnCalendar();
     });
     
     // Modal controls
@@ -427,19 +387,21 @@ async function saveShift() {
     }
     
     try {
-        const scheduleData = {
+        // Shifts are weekly: the chosen date selects the ISO day of week
+        const jsDay = new Date(`${shiftDate}T00:00:00`).getDay();
+        const cell = {
             staffId: parseInt(staffId),
             shiftTypeId: parseInt(shiftTypeId),
-            workDate: shiftDate
+            dayOfWeek: jsDay === 0 ? 7 : jsDay
         };
         
-        const result = await callBridge('assignShift', JSON.stringify(scheduleData));
+        const cells = weekCells(cell.staffId);
+        if (!cells.some(c => c.dayOfWeek === cell.dayOfWeek && c.shiftTypeId === cell.shiftTypeId)) {
+            cells.push(cell);
+        }
         
-        if (result.success) {
+        if (await saveWeek(cell.staffId, cells)) {
             closeShiftModal();
-            await loadSchedules();
-        } else {
-            alert('Error: ' + result.message);
         }
     } catch (error) {
         console.error('Error saving shift:', error);
@@ -447,6 +409,52 @@ async function saveShift() {
     }
 }
 
+/**
+ * Removes one weekly shift of a staff member after confirmation.
+ */
+async function removeShift(staffIndex, dayOfWeek, shift) {
+    const staff = staffList[staffIndex];
+    const dayNames = ['Monday', 'Tuesday', 'Wednesday', 'Thursday', 'Friday', 'Saturday', 'Sunday'];
+    if (!confirm(`Remove ${staff.fullName}'s ${shift.name} shift on ${dayNames[dayOfWeek - 1]}s?`)) {
+        return;
+    }
+    
+    const cells = weekCells(staff.id)
+        .filter(c => !(c.dayOfWeek === dayOfWeek && c.shiftTypeId === shift.id));
+    await saveWeek(staff.id, cells);
+}
+
+/**
+ * Reads a staff member's weekly cells out of the roster matrix.
+ */
+function weekCells(staffId) {
+    const staffIndex = staffList.findIndex(staff => staff.id === staffId);
+    const cells = [];
+    if (staffIndex < 0) return cells;
+    
+    (rosterMasks[staffIndex] || []).forEach((mask, dayIndex) => {
+        shiftTypes.forEach((shift, bit) => {
+            if (mask && (mask[bit >> 5] >>> (bit & 31)) & 1) {
+                cells.push({ staffId, dayOfWeek: dayIndex + 1, shiftTypeId: shift.id });
+            }
+        });
+    });
+    return cells;
+}
+
+/**
+ * Saves a staff member's whole week in one call and reloads the matrix.
+ */
+async function saveWeek(staffId, cells) {
+    const result = await callBridge('saveWeeklyGrid', staffId, cells);
+    if (!result.success) {
+        alert('Error: ' + result.message);
+        return false;
+    }
+    await loadSchedules();
+    return true;
+}
+
 // =============================================================================
 // LOGOUT
 // =============================================================================
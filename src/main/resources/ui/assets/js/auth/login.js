@@ -84,8 +84,9 @@ function handleLogin(event) {
         
         try {
             // Call the login method and get JSON response
-            const responseJson = javaBridge.login(email, password);
-            const response = JSON.parse(responseJson);
+            // Small responses arrive as objects, larger ones as JSON strings
+            const result = javaBridge.login(email, password);
+            const response = typeof result === 'string' ? JSON.parse(result) : result;
             
             if (response.success && response.data) {
                 const user = response.data;
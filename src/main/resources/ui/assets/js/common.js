@@ -36,6 +36,16 @@ function waitForBridge() {
 // API HELPERS
 // =============================================================================
 
+/**
+ * Turns a JavaBridge result into a response object.
+ * Small responses already arrive as objects; larger ones arrive as JSON strings.
+ * @param {string|Object} result - Value returned by a javaBridge method
+ * @returns {{success: boolean, message: string, data: any}}
+ */
+function parseBridgeResult(result) {
+    return typeof result === 'string' ? JSON.parse(result) : result;
+}
+
 /**
  * Calls a JavaBridge method and parses the JSON response.
  * @param {Function} bridgeMethod - The method to call on javaBridge
@@ -46,8 +56,7 @@ async function callBridge(methodName, ...args) {
     try {
         await waitForBridge();
         
-        const result = window.javaBridge[methodName](...args);
-        const parsed = JSON.parse(result);
+        const parsed = parseBridgeResult(window.javaBridge[methodName](...args));
         
         if (!parsed.success) {
             console.error(`Bridge call failed: ${parsed.message}`);
@@ -64,6 +73,54 @@ async function callBridge(methodName, ...args) {
     }
 }
 
+/**
+ * Local store of one day view's bookings, kept current with booking deltas.
+ * The first refresh loads the whole day; later ones only fetch what changed.
+ */
+class BookingDayStore {
+    /**
+     * @param {string} date - Date in ISO format
+     * @param {number|null} staffId - Restricts the view to one staff member
+     */
+    constructor(date, staffId = null) {
+        this.date = date;
+        this.staffId = staffId;
+        this.version = null;
+        this.bookings = new Map();
+    }
+
+    /**
+     * Fetches the changes since the last refresh and applies them.
+     * @returns {Promise<{success: boolean, message: string, data: Object[]}>} The day's bookings by time
+     */
+    async refresh() {
+        const result = this.staffId != null
+            ? await callBridge('getStaffBookingChangesSince', this.staffId, this.date, this.version)
+            : await callBridge('getBookingChangesSince', this.date, this.version);
+        if (!result.success || !result.data) {
+            return result;
+        }
+
+        const changes = result.data;
+        if (changes.full) {
+            this.bookings.clear();
+        }
+        changes.changed.forEach(booking => this.bookings.set(booking.id, booking));
+        changes.removed.forEach(id => this.bookings.delete(id));
+        this.version = changes.version;
+
+        return { success: true, message: result.message, data: this.list() };
+    }
+
+    /**
+     * @returns {Object[]} The stored bookings sorted by time
+     */
+    list() {
+        return Array.from(this.bookings.values())
+            .sort((a, b) => String(a.bookingTime).localeCompare(String(b.bookingTime)));
+    }
+}
+
 // =============================================================================
 // UI HELPERS
 // =============================================================================
@@ -322,8 +379,7 @@ async function loadComponent(componentPath, targetElement, callback) {
             const filename = getComponentFilename(componentPath);
             
             // Use JavaBridge to load component
-            const result = window.javaBridge.loadComponent(filename);
-            const parsed = JSON.parse(result);
+            const parsed = parseBridgeResult(window.javaBridge.loadComponent(filename));
             
             if (!parsed.success) {
                 throw new Error(parsed.message);
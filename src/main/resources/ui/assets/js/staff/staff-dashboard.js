@@ -8,6 +8,7 @@
 
 let currentUser = null;
 let currentPage = 'my-tasks';
+let taskBookings = null;
 
 // =============================================================================
 // INITIALIZATION
@@ -79,7 +80,11 @@ async function loadMyTasks() {
     const date = dateInput ? dateInput.value : getTodayISO();
     
     try {
-        const result = await callBridge('getBookingsByStaff', currentUser.id, date);
+        // Refreshes of the same day only fetch what changed
+        if (!taskBookings || taskBookings.date !== date) {
+            taskBookings = new BookingDayStore(date, currentUser.id);
+        }
+        const result = await taskBookings.refresh();
         
         const tasksListEl = document.getElementById('tasksList');
         if (!tasksListEl) return;
@@ -0,0 +1,169 @@
+package com.petspa.service;
+
+import com.petspa.SpringBootApp;
+import com.petspa.diagnostics.QueryMonitor;
+import com.petspa.diagnostics.QueryStats;
+import com.petspa.dto.BookingDTO;
+import com.petspa.dto.BookingDetailDTO;
+import com.petspa.model.Customer;
+import com.petspa.model.Pet;
+import com.petspa.model.User;
+import com.petspa.repository.CustomerRepository;
+import com.petspa.repository.PetRepository;
+import com.petspa.repository.ServiceRepository;
+import com.petspa.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the booking reads used by the calendar run a fixed number of
+ * statements, however many bookings a day has.
+ *
+ * Each booking of a day has its own customer, pet, staff member and service, so a lazy
+ * association loaded row by row shows up as extra statements. Budgets fail
+ * instead of warning (petspa.query-budget.fail), so going over @QueryBudget
+ * also fails the test.
+ */
+@SpringBootTest(classes = SpringBootApp.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:budget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "petspa.query-budget.fail=true"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingQueryBudgetTest {
+
+    private static final int BUDGET = 3;
+
+    private static final LocalDate ONE_BOOKING_DAY = LocalDate.now().plusDays(3);
+    private static final LocalDate BUSY_DAY = LocalDate.now().plusDays(4);
+    private static final int BUSY_DAY_BOOKINGS = 6;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private QueryMonitor queryMonitor;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    private Long staffId;
+
+    @BeforeAll
+    void createBookings() {
+        book(ONE_BOOKING_DAY, 1);
+        book(BUSY_DAY, BUSY_DAY_BOOKINGS);
+    }
+
+    @Test
+    void getBookingsByDateDoesNotGrowWithBookings() {
+        assertFlat(date -> bookingService.getBookingsByDate(date.toString()).size());
+    }
+
+    @Test
+    void getBookingsByStaffAndDateDoesNotGrowWithBookings() {
+        assertFlat(date -> bookingService.getBookingsByStaffAndDate(staffId, date.toString()).size());
+    }
+
+    @Test
+    void getBookingChangesSinceDoesNotGrowWithBookings() {
+        assertFlat(date -> bookingService.getBookingChangesSince(date.toString(), null, null).getChanged().size());
+        assertFlat(date -> bookingService.getBookingChangesSince(date.toString(), staffId, 0L).getChanged().size());
+    }
+
+    /**
+     * Runs a read for a day with one booking and a busy day, and checks both stay
+     * within the budget with the same statements.
+     */
+    private void assertFlat(Function<LocalDate, Integer> read) {
+        QueryStats one = measure(() -> read.apply(ONE_BOOKING_DAY));
+        QueryStats busy = measure(() -> read.apply(BUSY_DAY));
+
+        assertTrue(one.statements() <= BUDGET, "one booking ran " + one.statements() + " statements");
+        assertTrue(busy.statements() <= BUDGET, "busy day ran " + busy.statements() + " statements");
+        assertEquals(one.statements(), busy.statements(), "statements grew with the bookings of the day");
+        assertTrue(busy.repeated().isEmpty(), "repeated queries: " + busy.repeated());
+    }
+
+    private QueryStats measure(Supplier<Integer> read) {
+        int[] rows = new int[1];
+        QueryStats stats = queryMonitor.measure(() -> rows[0] = read.get());
+        assertTrue(rows[0] > 0, "the read returned no bookings");
+        return stats;
+    }
+
+    /**
+     * Books count bookings on a date, each with a new customer, pet, staff member
+     * and service. The first booking of every day goes to the same staff member,
+     * so the per-staff read finds bookings on both days.
+     */
+    private void book(LocalDate date, int count) {
+        if (staffId == null) {
+            staffId = staff("budget-a@petspa.test", "Staff A");
+        }
+
+        for (int i = 0; i < count; i++) {
+            Long bookingStaffId = i == 0
+                    ? staffId : staff("budget-" + date + "-" + i + "@petspa.test", "Staff " + date + " " + i);
+            Long serviceId = service("Service " + date + " " + i, "150000", 30 + 15 * i);
+            Customer customer = customerRepository.save(Customer.builder()
+                    .fullName("Customer " + date + " " + i)
+                    .phoneNumber("09" + date.getDayOfMonth() + i)
+                    .build());
+            Pet pet = petRepository.save(Pet.builder()
+                    .owner(customer)
+                    .name("Pet " + i)
+                    .species(i % 2 == 0 ? "Dog" : "Cat")
+                    .build());
+            bookingService.createBooking(BookingDTO.builder()
+                    .customerId(customer.getId())
+                    .petId(pet.getId())
+                    .staffId(bookingStaffId)
+                    .bookingDate(date)
+                    .bookingTime(LocalTime.of(8 + i, 0))
+                    .services(List.of(BookingDetailDTO.builder().serviceId(serviceId).build()))
+                    .build());
+        }
+    }
+
+    private Long staff(String email, String fullName) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .password("secret")
+                .fullName(fullName)
+                .role(User.Role.STAFF)
+                .build()).getId();
+    }
+
+    private Long service(String name, String price, int durationMinutes) {
+        return serviceRepository.save(com.petspa.model.Service.builder()
+                .name(name)
+                .price(new BigDecimal(price))
+                .durationMinutes(durationMinutes)
+                .build()).getId();
+    }
+}
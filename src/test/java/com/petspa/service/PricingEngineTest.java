@@ -0,0 +1,138 @@
+package com.petspa.service;
+
+import com.petspa.model.ChangeVersion;
+import com.petspa.model.PricingRule;
+import com.petspa.repository.PricingRuleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks how PricingEngine combines the rules on a booking's lines: weight band
+ * edges, the best combo, the loyalty tier and the per-minute time-of-day table.
+ *
+ * Every service costs 100.00, so a line price reads as the applied percentage.
+ */
+class PricingEngineTest {
+
+    private static final ServiceCatalog.Entry BATH = service(1L);
+    private static final ServiceCatalog.Entry CUT = service(2L);
+    private static final ServiceCatalog.Entry NAILS = service(3L);
+
+    @Test
+    void weightBandIncludesItsMinimumAndExcludesItsMaximum() {
+        PricingEngine engine = engine(PricingRule.builder()
+                .type(PricingRule.RuleType.SPECIES_WEIGHT)
+                .species("Dog").minWeight(10f).maxWeight(20f)
+                .amount(new BigDecimal("50.00"))
+                .build());
+
+        assertEquals(price("100.00"), linePrice(engine, "Dog", 9.99f));
+        assertEquals(price("150.00"), linePrice(engine, "Dog", 10f));
+        assertEquals(price("150.00"), linePrice(engine, "dog", 19.99f));
+        assertEquals(price("100.00"), linePrice(engine, "Dog", 20f));
+        assertEquals(price("100.00"), linePrice(engine, "Dog", null));
+        assertEquals(price("100.00"), linePrice(engine, "Cat", 15f));
+    }
+
+    @Test
+    void largestBookedComboDiscountApplies() {
+        PricingEngine engine = engine(
+                combo("1,2", "-10"),
+                combo("1,2,3", "-15"));
+
+        assertEquals(List.of(price("85.00"), price("85.00"), price("85.00")),
+                engine.price(List.of(BATH, CUT, NAILS), null, null, null, () -> 0).linePrices());
+        assertEquals(List.of(price("90.00"), price("90.00")),
+                engine.price(List.of(BATH, CUT), null, null, null, () -> 0).linePrices());
+        assertEquals(List.of(price("100.00"), price("100.00")),
+                engine.price(List.of(BATH, NAILS), null, null, null, () -> 0).linePrices());
+    }
+
+    @Test
+    void highestLoyaltyTierReachedApplies() {
+        PricingEngine engine = engine(
+                loyalty(3, "-5"),
+                loyalty(10, "-10"),
+                loyalty(null, "-1"));
+
+        assertEquals(price("99.00"), loyaltyPrice(engine, 2));
+        assertEquals(price("95.00"), loyaltyPrice(engine, 3));
+        assertEquals(price("95.00"), loyaltyPrice(engine, 9));
+        assertEquals(price("90.00"), loyaltyPrice(engine, 10));
+    }
+
+    @Test
+    void timeOfDaySurchargeCoversWindowToTheMinute() {
+        PricingEngine engine = engine(
+                timeOfDay(LocalTime.of(18, 0), LocalTime.MIDNIGHT, "20"),
+                timeOfDay(LocalTime.of(18, 0), LocalTime.of(19, 0), "5"));
+
+        assertEquals(price("100.00"), timePrice(engine, LocalTime.of(17, 59)));
+        assertEquals(price("125.00"), timePrice(engine, LocalTime.of(18, 0)));
+        assertEquals(price("125.00"), timePrice(engine, LocalTime.of(18, 59)));
+        assertEquals(price("120.00"), timePrice(engine, LocalTime.of(19, 0)));
+        assertEquals(price("120.00"), timePrice(engine, LocalTime.of(23, 59)));
+        assertEquals(price("100.00"), timePrice(engine, LocalTime.MIDNIGHT));
+        assertEquals(price("100.00"), timePrice(engine, null));
+    }
+
+    private static PricingEngine engine(PricingRule... rules) {
+        PricingRuleRepository repository = mock(PricingRuleRepository.class);
+        ChangeVersionService changeVersions = mock(ChangeVersionService.class);
+        when(repository.findByActiveTrue()).thenReturn(List.of(rules));
+        when(changeVersions.knownChanges(ChangeVersion.Region.PRICING)).thenReturn(0L);
+        return new PricingEngine(repository, changeVersions);
+    }
+
+    private static BigDecimal linePrice(PricingEngine engine, String species, Float weight) {
+        return engine.price(List.of(BATH), species, weight, null, () -> 0).total();
+    }
+
+    private static BigDecimal loyaltyPrice(PricingEngine engine, long visits) {
+        return engine.price(List.of(BATH), null, null, null, () -> visits).total();
+    }
+
+    private static BigDecimal timePrice(PricingEngine engine, LocalTime time) {
+        return engine.price(List.of(BATH), null, null, time, () -> 0).total();
+    }
+
+    private static PricingRule combo(String serviceIds, String percent) {
+        return PricingRule.builder()
+                .type(PricingRule.RuleType.COMBO)
+                .comboServiceIds(serviceIds)
+                .percent(new BigDecimal(percent))
+                .build();
+    }
+
+    private static PricingRule loyalty(Integer minVisits, String percent) {
+        return PricingRule.builder()
+                .type(PricingRule.RuleType.LOYALTY)
+                .minVisits(minVisits)
+                .percent(new BigDecimal(percent))
+                .build();
+    }
+
+    private static PricingRule timeOfDay(LocalTime start, LocalTime end, String percent) {
+        return PricingRule.builder()
+                .type(PricingRule.RuleType.TIME_OF_DAY)
+                .startTime(start)
+                .endTime(end)
+                .percent(new BigDecimal(percent))
+                .build();
+    }
+
+    private static ServiceCatalog.Entry service(long id) {
+        return new ServiceCatalog.Entry(id, "Service " + id, price("100.00"), 30);
+    }
+
+    private static BigDecimal price(String value) {
+        return new BigDecimal(value);
+    }
+}